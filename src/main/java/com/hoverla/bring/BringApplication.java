@@ -2,21 +2,46 @@ package com.hoverla.bring;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
+import com.hoverla.bring.cds.CdsReport;
+import com.hoverla.bring.cds.CdsTrainer;
 import com.hoverla.bring.context.ApplicationContext;
 import com.hoverla.bring.context.DefaultApplicationContextImpl;
+import com.hoverla.bring.context.StartupListener;
+import com.hoverla.bring.context.StartupPhase;
+import com.hoverla.bring.context.aot.AotContext;
+import com.hoverla.bring.context.aot.AotContextProcessor;
 import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
 import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyResolutionPlan;
+import com.hoverla.bring.context.bean.index.BeanIndex;
 import com.hoverla.bring.context.bean.initializer.BeanInitializer;
+import com.hoverla.bring.context.bean.initializer.ParallelBeanInitializer;
+import com.hoverla.bring.context.bean.initializer.PipelinedBeanInstantiator;
+import com.hoverla.bring.context.bean.instantiation.InstantiationStrategy;
+import com.hoverla.bring.context.bean.postprocessor.BeanPostProcessor;
+import com.hoverla.bring.context.bean.postprocessor.BeanPostProcessorRegistry;
 import com.hoverla.bring.context.bean.scanner.BeanAnnotationScanner;
 import com.hoverla.bring.context.bean.scanner.BeanScanner;
+import com.hoverla.bring.context.bean.scanner.BytecodeBeanScanner;
 import com.hoverla.bring.context.bean.scanner.ConfigurationBeanScanner;
+import com.hoverla.bring.context.bean.scanner.IndexedBeanScanner;
+import com.hoverla.bring.context.bean.scanner.ScanSession;
+import com.hoverla.bring.context.bean.snapshot.WiringPlanSnapshot;
 import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * <pre>
@@ -39,32 +64,173 @@ import java.util.List;
  * }
  *
  * It is necessary to provide packages to be scanned to define bean definition configs.
+ * If the compile-time {@link BeanIndex} is present on the classpath, bean classes of the packages it covers are read
+ * from it instead of scanning the classpath, the other packages are scanned.
  */
+@Slf4j
 @UtilityClass
 public class BringApplication {
 
     private static final CharSequence[] ILLEGAL_SYMBOLS = {"^","!","@","#","$","%","^","&","*","(",")","?","~","+","-","<",">","/",","};
 
     public static ApplicationContext loadContext(String... packagesToScan) {
-        return createContext(packagesToScan);
+        return createContext(new ContextSettings(new ApplicationContextBuilder().packagesToScan(packagesToScan)));
     }
 
-    private ApplicationContext createContext(String... packagesToScan) {
+    /**
+     * Creates the context on a separate thread, so the caller can prepare the rest of the application meanwhile.
+     *
+     * @return future of the context, completed exceptionally if the context can't be created
+     */
+    public static CompletableFuture<ApplicationContext> loadContextAsync(String... packagesToScan) {
+        return loadContextAsync(StartupListener.NONE, packagesToScan);
+    }
+
+    /**
+     * @param startupListener listener notified of every {@link StartupPhase} on the thread creating the context
+     * @see #loadContextAsync(String...)
+     */
+    public static CompletableFuture<ApplicationContext> loadContextAsync(StartupListener startupListener,
+                                                                        String... packagesToScan) {
+        return new ApplicationContextBuilder()
+            .packagesToScan(packagesToScan)
+            .startupListener(startupListener)
+            .buildAsync();
+    }
+
+    private ApplicationContext createContext(ContextSettings settings) {
+        String[] packagesToScan = settings.packagesToScan;
         validatePackagesToScan(packagesToScan);
 
-        List<BeanScanner> scanners = createBeanScanners(packagesToScan);
+        var classLoader = getClassLoader();
         var dependencyNameResolver = new BeanDependencyNameResolver();
-        var initializer = new BeanInitializer(dependencyNameResolver);
+        var initializer = settings.parallelInitialization
+            ? new ParallelBeanInitializer(dependencyNameResolver, settings.initializationExecutor)
+            : new BeanInitializer(dependencyNameResolver);
+        var postProcessorRegistry = BeanPostProcessorRegistry.withDefaults()
+            .registerServiceProviders(classLoader);
+        settings.postProcessors.forEach(postProcessorRegistry::register);
+        List<BeanPostProcessor> postProcessors = postProcessorRegistry.getPostProcessors();
+
+        if (settings.aot) {
+            Optional<ApplicationContext> aotContext = AotContext.load(classLoader, postProcessors, packagesToScan);
+            if (aotContext.isPresent()) {
+                return aotContext.get();
+            }
+        }
+
+        var beanDefinitionMapper = new BeanDefinitionMapper(settings.instantiationStrategy);
+        if (settings.wiringPlanSnapshotFile != null) {
+            return createContextWithSnapshot(settings, beanDefinitionMapper, classLoader, initializer, postProcessors);
+        }
+        return createScannedContext(settings, beanDefinitionMapper, classLoader, initializer, postProcessors);
+    }
+
+    /**
+     * Creates the context from the dependencies restored from the wiring plan snapshot if it matches the classpath,
+     * otherwise scans the packages and writes the snapshot of the created context
+     */
+    private ApplicationContext createContextWithSnapshot(ContextSettings settings,
+                                                         BeanDefinitionMapper beanDefinitionMapper,
+                                                         ClassLoader classLoader, BeanInitializer initializer,
+                                                         List<BeanPostProcessor> postProcessors) {
+        String[] packagesToScan = settings.packagesToScan;
+        OptionalLong fingerprint = WiringPlanSnapshot.fingerprint(classLoader, packagesToScan);
+        if (fingerprint.isEmpty()) {
+            return createScannedContext(settings, beanDefinitionMapper, classLoader, initializer, postProcessors);
+        }
+        Optional<BeanDependencyResolutionPlan> restoredPlan = WiringPlanSnapshot.restore(settings.wiringPlanSnapshotFile,
+            fingerprint.getAsLong(), beanDefinitionMapper, classLoader, packagesToScan);
+        if (restoredPlan.isPresent()) {
+            return new DefaultApplicationContextImpl(restoredPlan.get(), initializer, postProcessors,
+                settings.backgroundExecutor, settings.startupListener);
+        }
+        DefaultApplicationContextImpl context = createScannedContext(settings, beanDefinitionMapper, classLoader,
+            initializer, postProcessors);
+        WiringPlanSnapshot.save(settings.wiringPlanSnapshotFile, context.getBeanDefinitions(),
+            fingerprint.getAsLong(), packagesToScan);
+        return context;
+    }
+
+    /**
+     * Packages with entries in the compile-time {@link BeanIndex} are read from it, the other packages are scanned
+     * with the configured scanner, e.g. the packages of a library built without the index
+     */
+    private DefaultApplicationContextImpl createScannedContext(ContextSettings settings,
+                                                               BeanDefinitionMapper beanDefinitionMapper,
+                                                               ClassLoader classLoader, BeanInitializer initializer,
+                                                               List<BeanPostProcessor> postProcessors) {
+        List<BeanScanner> scanners = new ArrayList<>();
+        String[] packagesToScan = settings.packagesToScan;
+        Optional<BeanIndex> beanIndex = BeanIndex.load(classLoader);
+        if (beanIndex.isPresent()) {
+            String[] indexedPackages = Arrays.stream(packagesToScan)
+                .filter(beanIndex.get()::covers)
+                .toArray(String[]::new);
+            if (indexedPackages.length > 0) {
+                warnIfScanOptionsIgnored(settings, indexedPackages);
+                scanners.add(new IndexedBeanScanner(beanDefinitionMapper, beanIndex.get(), classLoader,
+                    indexedPackages));
+            }
+            packagesToScan = Arrays.stream(packagesToScan)
+                .filter(packageName -> !beanIndex.get().covers(packageName))
+                .toArray(String[]::new);
+            if (packagesToScan.length == 0) {
+                return createScanningContext(scanners, initializer, postProcessors, settings);
+            }
+            log.debug("Packages {} have no entries in the bean index and are scanned", Arrays.toString(packagesToScan));
+        }
+        if (settings.bytecodeScanning) {
+            scanners.add(new BytecodeBeanScanner(beanDefinitionMapper, classLoader, packagesToScan));
+            return createScanningContext(scanners, initializer, postProcessors, settings);
+        }
+
+        try (var scanSession = new ScanSession(settings.parallelism, settings.scanCacheFile, packagesToScan)) {
+            scanners.add(new BeanAnnotationScanner(beanDefinitionMapper, scanSession, packagesToScan));
+            scanners.add(new ConfigurationBeanScanner(beanDefinitionMapper, scanSession, packagesToScan));
+
+            return createScanningContext(scanners, initializer, postProcessors, settings);
+        }
+    }
 
-        return new DefaultApplicationContextImpl(scanners, initializer);
+    private static void warnIfScanOptionsIgnored(ContextSettings settings, String... indexedPackages) {
+        if (settings.bytecodeScanning || settings.scanCacheFile != null || settings.parallelism > 1) {
+            log.warn("Packages {} are read from the bean index, bytecode scanning, scan cache and parallel scanning " +
+                "are not applied to them", Arrays.toString(indexedPackages));
+        }
+    }
+
+    private DefaultApplicationContextImpl createScanningContext(List<BeanScanner> scanners,
+                                                                BeanInitializer initializer,
+                                                                List<BeanPostProcessor> postProcessors,
+                                                                ContextSettings settings) {
+        if (!settings.pipelinedStartup) {
+            return new DefaultApplicationContextImpl(scanners, initializer, postProcessors,
+                settings.backgroundExecutor, settings.startupListener);
+        }
+        try (var pipeline = new PipelinedBeanInstantiator(settings.initializationExecutor)) {
+            return new DefaultApplicationContextImpl(scanners, initializer, postProcessors,
+                settings.backgroundExecutor, settings.startupListener, pipeline);
+        }
     }
 
-    private List<BeanScanner> createBeanScanners(String[] packagesToScan) {
-        var beanDefinitionMapper = new BeanDefinitionMapper();
-        var beanAnnotationScanner = new BeanAnnotationScanner(beanDefinitionMapper, packagesToScan);
-        var beanConfigurationClassScanner = new ConfigurationBeanScanner(beanDefinitionMapper, packagesToScan);
+    private CompletableFuture<ApplicationContext> createContextAsync(ContextSettings settings,
+                                                                    Executor executor) {
+        if (executor != null) {
+            return CompletableFuture.supplyAsync(() -> createContext(settings), executor);
+        }
+        ClassLoader classLoader = getClassLoader();
+        return CompletableFuture.supplyAsync(() -> createContext(settings), runnable -> {
+            var thread = new Thread(runnable, "bring-startup");
+            thread.setContextClassLoader(classLoader);
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
 
-        return List.of(beanAnnotationScanner, beanConfigurationClassScanner);
+    private ClassLoader getClassLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : BringApplication.class.getClassLoader();
     }
 
     private static void validatePackagesToScan(String... packagesToScan) {
@@ -81,6 +247,18 @@ public class BringApplication {
         }
     }
 
+    /**
+     * Training mode: creates the context for the packages in a separate JVM, records the loaded classes and
+     * dumps them into an AppCDS archive in the output directory together with a launcher using the archive.
+     *
+     * @return report with the archive location and the cold start time with and without the archive
+     * @see CdsTrainer
+     */
+    public static CdsReport trainCds(Path outputDirectory, String... packagesToScan) {
+        validatePackagesToScan(packagesToScan);
+        return new CdsTrainer(outputDirectory).train(packagesToScan);
+    }
+
     public ApplicationContextBuilder getContextBuilder() {
         return new ApplicationContextBuilder();
     }
@@ -89,6 +267,18 @@ public class BringApplication {
 
         private Level logLevel;
         private String[] packagesToScan;
+        private int parallelism = 1;
+        private Path scanCacheFile;
+        private boolean bytecodeScanning;
+        private boolean aot;
+        private InstantiationStrategy instantiationStrategy = InstantiationStrategy.reflective();
+        private boolean parallelInitialization;
+        private Executor initializationExecutor;
+        private Executor backgroundExecutor;
+        private StartupListener startupListener = StartupListener.NONE;
+        private boolean pipelinedStartup;
+        private Path wiringPlanSnapshotFile;
+        private final List<BeanPostProcessor> postProcessors = new ArrayList<>();
 
         public ApplicationContextBuilder logLevel(Level logLevel) {
             this.logLevel = logLevel;
@@ -100,10 +290,198 @@ public class BringApplication {
             return this;
         }
 
+        /**
+         * Enables parallel scanning. Classpath entries of the packages to scan are scanned and bean definitions
+         * are created on a fork-join pool with the given number of threads. The order of bean definitions
+         * is the same as with sequential scanning.
+         */
+        public ApplicationContextBuilder parallelScanning(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Argument [parallelism] must be greater than 0");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Enables the persistent scan cache. Scan results are stored in the file per classpath entry, and entries
+         * which haven't changed since the previous start are not scanned again.
+         */
+        public ApplicationContextBuilder scanCache(Path scanCacheFile) {
+            this.scanCacheFile = scanCacheFile;
+            return this;
+        }
+
+        /**
+         * Enables bytecode scanning. Class files of the packages to scan are read directly and only classes
+         * annotated with {@link com.hoverla.bring.annotation.Bean} or {@link com.hoverla.bring.annotation.Configuration}
+         * are loaded. Has no effect on the packages covered by the compile-time {@link BeanIndex}.
+         *
+         * @see BytecodeBeanScanner
+         */
+        public ApplicationContextBuilder bytecodeScanning(boolean bytecodeScanning) {
+            this.bytecodeScanning = bytecodeScanning;
+            return this;
+        }
+
+        /**
+         * Enables the ahead-of-time context. If {@link AotContextProcessor} has generated a context for the package
+         * to scan, it is created instead of scanning the package and resolving dependencies at runtime.
+         */
+        public ApplicationContextBuilder aot(boolean aot) {
+            this.aot = aot;
+            return this;
+        }
+
+        /**
+         * Sets the strategy beans are created and injected with, {@link InstantiationStrategy#reflective()}
+         * by default. Has no effect on the ahead-of-time context, which creates beans directly.
+         */
+        public ApplicationContextBuilder instantiationStrategy(InstantiationStrategy instantiationStrategy) {
+            this.instantiationStrategy = Objects.requireNonNull(instantiationStrategy);
+            return this;
+        }
+
+        /**
+         * Enables parallel initialization. Beans which don't depend on each other are instantiated concurrently,
+         * on virtual threads when they are available.
+         *
+         * @see ParallelBeanInitializer
+         */
+        public ApplicationContextBuilder parallelInitialization(boolean parallelInitialization) {
+            this.parallelInitialization = parallelInitialization;
+            return this;
+        }
+
+        /**
+         * Enables parallel initialization on the given executor, which is not shut down by Bring.
+         */
+        public ApplicationContextBuilder parallelInitialization(Executor initializationExecutor) {
+            this.parallelInitialization = true;
+            this.initializationExecutor = Objects.requireNonNull(initializationExecutor);
+            return this;
+        }
+
+        /**
+         * Sets the executor {@link com.hoverla.bring.annotation.Background} beans are created on once the context
+         * is ready, which is not shut down by Bring. By default a virtual thread per bean is used on Java 21 and
+         * later, otherwise a pool with a thread per processor.
+         */
+        public ApplicationContextBuilder backgroundExecutor(Executor backgroundExecutor) {
+            this.backgroundExecutor = Objects.requireNonNull(backgroundExecutor);
+            return this;
+        }
+
+        /**
+         * Registers a custom post-processor. It is applied together with the built-in ones and the ones provided
+         * through {@link java.util.ServiceLoader}, according to {@link BeanPostProcessor#getOrder()}.
+         */
+        public ApplicationContextBuilder postProcessor(BeanPostProcessor postProcessor) {
+            this.postProcessors.add(Objects.requireNonNull(postProcessor));
+            return this;
+        }
+
+        /**
+         * Enables pipelined startup. Beans without dependencies are instantiated as soon as they are scanned,
+         * on the executor of the parallel initialization if it is set. The other beans are initialized once the
+         * scan is finished. Instantiation overlaps with reading the classes only with the bytecode scanning.
+         * Unlike the default startup, these beans may be created before the problems between bean definitions,
+         * e.g. duplicate names, are reported. Has no effect on the ahead-of-time context.
+         *
+         * @see PipelinedBeanInstantiator
+         */
+        public ApplicationContextBuilder pipelinedStartup(boolean pipelinedStartup) {
+            this.pipelinedStartup = pipelinedStartup;
+            return this;
+        }
+
+        /**
+         * Enables the wiring plan snapshot. The bean classes, {@link com.hoverla.bring.annotation.Bean} methods and
+         * resolved dependencies of the context are stored in the file, and while the classpath entries of
+         * the packages to scan don't change, the next starts create the beans from it without scanning
+         * the packages. Has no effect if the ahead-of-time context is created.
+         *
+         * @see WiringPlanSnapshot
+         */
+        public ApplicationContextBuilder wiringPlanSnapshot(Path wiringPlanSnapshotFile) {
+            this.wiringPlanSnapshotFile = wiringPlanSnapshotFile;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified of every {@link StartupPhase} of the context, on the thread creating it.
+         * Phases are not reported for the ahead-of-time context.
+         */
+        public ApplicationContextBuilder startupListener(StartupListener startupListener) {
+            this.startupListener = Objects.requireNonNull(startupListener);
+            return this;
+        }
+
         public ApplicationContext build() {
+            setLogLevel();
+            return createContext(new ContextSettings(this));
+        }
+
+        /**
+         * Creates the context on a new daemon thread. The settings are copied first, so changing the builder
+         * afterwards doesn't affect the context.
+         *
+         * @return future of the context, completed exceptionally if the context can't be created
+         */
+        public CompletableFuture<ApplicationContext> buildAsync() {
+            setLogLevel();
+            return createContextAsync(new ContextSettings(this), null);
+        }
+
+        /**
+         * Creates the context on the given executor.
+         *
+         * @return future of the context, completed exceptionally if the context can't be created
+         */
+        public CompletableFuture<ApplicationContext> buildAsync(Executor executor) {
+            setLogLevel();
+            return createContextAsync(new ContextSettings(this), Objects.requireNonNull(executor));
+        }
+
+        private void setLogLevel() {
             Logger logger = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
             logger.setLevel(logLevel != null ? logLevel : Level.INFO);
-            return createContext(packagesToScan);
+        }
+    }
+
+    /**
+     * Settings of {@link ApplicationContextBuilder} copied when the context is built, so the builder can be changed
+     * while the context is created on another thread
+     */
+    private static final class ContextSettings {
+        private final String[] packagesToScan;
+        private final int parallelism;
+        private final Path scanCacheFile;
+        private final boolean bytecodeScanning;
+        private final boolean aot;
+        private final InstantiationStrategy instantiationStrategy;
+        private final boolean parallelInitialization;
+        private final Executor initializationExecutor;
+        private final Executor backgroundExecutor;
+        private final StartupListener startupListener;
+        private final boolean pipelinedStartup;
+        private final Path wiringPlanSnapshotFile;
+        private final List<BeanPostProcessor> postProcessors;
+
+        private ContextSettings(ApplicationContextBuilder builder) {
+            this.packagesToScan = builder.packagesToScan != null ? builder.packagesToScan.clone() : null;
+            this.parallelism = builder.parallelism;
+            this.scanCacheFile = builder.scanCacheFile;
+            this.bytecodeScanning = builder.bytecodeScanning;
+            this.aot = builder.aot;
+            this.instantiationStrategy = builder.instantiationStrategy;
+            this.parallelInitialization = builder.parallelInitialization;
+            this.initializationExecutor = builder.initializationExecutor;
+            this.backgroundExecutor = builder.backgroundExecutor;
+            this.startupListener = builder.startupListener;
+            this.pipelinedStartup = builder.pipelinedStartup;
+            this.wiringPlanSnapshotFile = builder.wiringPlanSnapshotFile;
+            this.postProcessors = List.copyOf(builder.postProcessors);
         }
     }
 }
@@ -0,0 +1,30 @@
+package com.hoverla.bring.annotation;
+
+import com.hoverla.bring.context.ApplicationContext;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Annotation which is used to mark a {@link Bean} class or a {@link Bean} method of a {@link Configuration}
+ * which is created in the background once {@link ApplicationContext} is ready.
+ * <p>
+ * Until it is created the bean behaves as a {@link Lazy} one: other beans get a proxy of it and a lookup from
+ * {@link ApplicationContext} waits only for this bean. {@link ApplicationContext#getReadiness()} completes
+ * when all the background beans are created.
+ * <p>
+ * Usage:
+ * {@link Bean}
+ * {@link Background}
+ * class CacheWarmer {}
+ * <p>
+ * @see Bean
+ */
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+public @interface Background {
+}
@@ -0,0 +1,29 @@
+package com.hoverla.bring.annotation;
+
+import com.hoverla.bring.context.ApplicationContext;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Annotation which is used to mark a {@link Bean} class or a {@link Bean} method of a {@link Configuration}
+ * which is created on first use instead of the start of {@link ApplicationContext}.
+ * <p>
+ * The bean is created by the first lookup from {@link ApplicationContext} or by the first call through the proxy
+ * injected into other beans. Beans of final classes can't be proxied, they are created when they are injected.
+ * <p>
+ * Usage:
+ * {@link Bean}
+ * {@link Lazy}
+ * class ReportService {}
+ * <p>
+ * @see Bean
+ */
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+public @interface Lazy {
+}
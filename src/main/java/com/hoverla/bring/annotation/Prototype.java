@@ -0,0 +1,29 @@
+package com.hoverla.bring.annotation;
+
+import com.hoverla.bring.context.ApplicationContext;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Annotation which is used to mark a {@link Bean} class or a {@link Bean} method of a {@link Configuration}
+ * whose new instance is created every time it is requested from {@link ApplicationContext} or injected.
+ * <p>
+ * Dependencies of a prototype bean are resolved once, when the context is created. Post-processors are applied
+ * to every created instance.
+ * <p>
+ * Usage:
+ * {@link Bean}
+ * {@link Prototype}
+ * class Request {}
+ * <p>
+ * @see Bean
+ */
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+public @interface Prototype {
+}
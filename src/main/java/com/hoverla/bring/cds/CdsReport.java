@@ -0,0 +1,30 @@
+package com.hoverla.bring.cds;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Result of the AppCDS training made by {@link CdsTrainer}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CdsReport {
+    private final Path classListFile;
+    private final Path archiveFile;
+    private final Path launcherFile;
+    private final String classPath;
+    private final int loadedClassCount;
+    private final Duration startWithoutArchive;
+    private final Duration startWithArchive;
+
+    @Override
+    public String toString() {
+        return String.format("%d classes have been archived to %s%n" +
+                "Context start without the archive: %d ms, with the archive: %d ms%n" +
+                "Start the application with %s <main class> [arguments]",
+            loadedClassCount, archiveFile, startWithoutArchive.toMillis(), startWithArchive.toMillis(), launcherFile);
+    }
+}
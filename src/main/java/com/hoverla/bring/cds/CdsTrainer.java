@@ -0,0 +1,232 @@
+package com.hoverla.bring.cds;
+
+import com.hoverla.bring.exception.CdsTrainingException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static com.hoverla.bring.common.StringConstants.CDS_TRAINING_STEP_EXCEPTION;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link CdsTrainer} prepares an AppCDS archive of the classes loaded while the context is created, so that
+ * production starts map pre-parsed classes instead of loading them from jars.
+ * <p>
+ * The training consists of the following steps, each one is run in a separate JVM:
+ * <ol>
+ *     <li>the context is created with {@code -XX:DumpLoadedClassList}, which records the loaded classes</li>
+ *     <li>the archive is dumped with {@code -Xshare:dump} from the recorded class list</li>
+ *     <li>the context is created with and without the archive to measure the cold start</li>
+ * </ol>
+ * The JVM doesn't archive classes loaded from directories, so directories of the classpath are packed into jars
+ * in the output directory first. The archive can only be used with the same classpath, which is why a launcher
+ * script using that classpath is written as well.
+ *
+ * @see CdsReport
+ */
+@Slf4j
+public class CdsTrainer {
+    public static final String CLASS_LIST_FILE = "bring.classlist";
+    public static final String ARCHIVE_FILE = "bring.jsa";
+    public static final String LAUNCHER_FILE = "bring-cds.sh";
+    private static final String CLASSPATH_DIRECTORY = "classpath";
+
+    private final Path outputDirectory;
+    private final String classPath;
+    private final String javaCommand;
+    private final int timingRuns;
+
+    /**
+     * Trains the archive for the classpath of the current JVM.
+     */
+    public CdsTrainer(Path outputDirectory) {
+        this(outputDirectory, System.getProperty("java.class.path"), 3);
+    }
+
+    /**
+     * @param timingRuns number of starts with and without the archive, the fastest one is reported
+     */
+    public CdsTrainer(Path outputDirectory, String classPath, int timingRuns) {
+        if (timingRuns < 1) {
+            throw new IllegalArgumentException("Argument [timingRuns] must be greater than 0");
+        }
+        this.outputDirectory = outputDirectory.toAbsolutePath();
+        this.classPath = classPath;
+        this.javaCommand = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        this.timingRuns = timingRuns;
+    }
+
+    /**
+     * Usage: {@code java -cp <application classpath> com.hoverla.bring.cds.CdsTrainer <output directory> <packages>}
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: CdsTrainer <output directory> <packages to scan>");
+        }
+        CdsReport report = new CdsTrainer(Paths.get(args[0])).train(Arrays.copyOfRange(args, 1, args.length));
+        log.info("{}", report);
+    }
+
+    public CdsReport train(String... packagesToScan) {
+        try {
+            Files.createDirectories(outputDirectory);
+            String archiveClassPath = prepareClassPath();
+            Path classListFile = outputDirectory.resolve(CLASS_LIST_FILE);
+            Path archiveFile = outputDirectory.resolve(ARCHIVE_FILE);
+
+            log.info("Recording classes loaded while creating the context for packages {}",
+                Arrays.toString(packagesToScan));
+            run("training", archiveClassPath, packagesToScan,
+                "-Xshare:off", "-XX:DumpLoadedClassList=" + classListFile);
+            int loadedClassCount = countClasses(classListFile);
+
+            log.info("Dumping {} classes to archive {}", loadedClassCount, archiveFile);
+            run("dump", archiveClassPath, null,
+                "-Xshare:dump", "-XX:SharedClassListFile=" + classListFile, "-XX:SharedArchiveFile=" + archiveFile);
+
+            Path launcherFile = writeLauncher(archiveClassPath, archiveFile);
+
+            Duration startWithoutArchive = measureStart(archiveClassPath, packagesToScan);
+            Duration startWithArchive = measureStart(archiveClassPath, packagesToScan,
+                "-XX:SharedArchiveFile=" + archiveFile, "-Xshare:auto");
+            log.info("Context start without the archive: {} ms, with the archive: {} ms",
+                startWithoutArchive.toMillis(), startWithArchive.toMillis());
+
+            return new CdsReport(classListFile, archiveFile, launcherFile, archiveClassPath, loadedClassCount,
+                startWithoutArchive, startWithArchive);
+        } catch (IOException e) {
+            throw new UncheckedIOException("AppCDS training in " + outputDirectory + " has failed", e);
+        }
+    }
+
+    /**
+     * @return classpath where every directory is replaced with a jar of its content
+     */
+    private String prepareClassPath() throws IOException {
+        List<String> entries = Arrays.stream(classPath.split(File.pathSeparator))
+            .filter(entry -> !entry.isBlank())
+            .collect(toList());
+        List<String> archiveEntries = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Path entry = Paths.get(entries.get(i)).toAbsolutePath();
+            if (Files.isDirectory(entry)) {
+                Path jar = outputDirectory.resolve(CLASSPATH_DIRECTORY).resolve(i + "-" + entry.getFileName() + ".jar");
+                packDirectory(entry, jar);
+                archiveEntries.add(jar.toString());
+            } else if (Files.isRegularFile(entry)) {
+                archiveEntries.add(entry.toString());
+            }
+        }
+        return String.join(File.pathSeparator, archiveEntries);
+    }
+
+    private static void packDirectory(Path directory, Path jar) throws IOException {
+        log.debug("Packing classpath directory {} into {}", directory, jar);
+        Files.createDirectories(jar.getParent());
+        try (var output = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted().collect(toList())) {
+                if (path.equals(directory)) {
+                    continue;
+                }
+                String entryName = directory.relativize(path).toString().replace(File.separatorChar, '/');
+                if (Files.isDirectory(path)) {
+                    output.putNextEntry(new JarEntry(entryName + "/"));
+                } else {
+                    output.putNextEntry(new JarEntry(entryName));
+                    Files.copy(path, output);
+                }
+                output.closeEntry();
+            }
+        }
+    }
+
+    private static int countClasses(Path classListFile) throws IOException {
+        try (Stream<String> lines = Files.lines(classListFile)) {
+            return (int) lines
+                .filter(line -> !line.isBlank() && !line.startsWith("#") && !line.startsWith("@"))
+                .count();
+        }
+    }
+
+    private Path writeLauncher(String archiveClassPath, Path archiveFile) throws IOException {
+        Path launcherFile = outputDirectory.resolve(LAUNCHER_FILE);
+        String launcher = "#!/bin/sh\n" +
+            "# Generated by " + getClass().getName() + ", the archive can only be used with this classpath\n" +
+            "exec " + quote(javaCommand) + " -XX:SharedArchiveFile=" + quote(archiveFile.toString()) +
+            " -Xshare:auto -cp " + quote(archiveClassPath) + " \"$@\"\n";
+        Files.writeString(launcherFile, launcher, StandardCharsets.UTF_8);
+        if (!launcherFile.toFile().setExecutable(true)) {
+            log.warn("Launcher {} can't be made executable", launcherFile);
+        }
+        return launcherFile;
+    }
+
+    private Duration measureStart(String archiveClassPath, String[] packagesToScan, String... jvmOptions)
+        throws IOException {
+        Duration fastestStart = null;
+        for (int i = 0; i < timingRuns; i++) {
+            long startTime = System.nanoTime();
+            run("timing", archiveClassPath, packagesToScan, jvmOptions);
+            Duration start = Duration.ofNanos(System.nanoTime() - startTime);
+            if (fastestStart == null || start.compareTo(fastestStart) < 0) {
+                fastestStart = start;
+            }
+        }
+        return fastestStart;
+    }
+
+    /**
+     * Runs a JVM with the options, the output is written to the {@code <step>.log} file of the output directory.
+     *
+     * @param packagesToScan packages the context is created for, {@code null} if no main class is run
+     */
+    private void run(String step, String archiveClassPath, String[] packagesToScan, String... jvmOptions)
+        throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(javaCommand);
+        command.addAll(List.of(jvmOptions));
+        command.add("-cp");
+        command.add(archiveClassPath);
+        if (packagesToScan != null) {
+            command.add(CdsTrainingMain.class.getName());
+            command.addAll(List.of(packagesToScan));
+        }
+        log.debug("Running {}", String.join(" ", command));
+
+        Path logFile = outputDirectory.resolve(step + ".log");
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile())
+            .start();
+        try {
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new CdsTrainingException(format(CDS_TRAINING_STEP_EXCEPTION, step, exitCode, logFile));
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new CdsTrainingException(format(CDS_TRAINING_STEP_EXCEPTION, step, -1, logFile), e);
+        }
+    }
+
+    private static String quote(String value) {
+        return Stream.of(value.split("'", -1)).collect(joining("'\\''", "'", "'"));
+    }
+}
@@ -0,0 +1,14 @@
+package com.hoverla.bring.cds;
+
+import com.hoverla.bring.BringApplication;
+
+/**
+ * Entry point of the JVM started by {@link CdsTrainer}: creates the context for the given packages and exits,
+ * so the JVM records and archives exactly the classes loaded during the context creation.
+ */
+public class CdsTrainingMain {
+
+    public static void main(String[] packagesToScan) {
+        BringApplication.loadContext(packagesToScan);
+    }
+}
@@ -11,6 +11,7 @@ public class StringConstants {
     public static final String BEAN_CLASS_ERROR_MESSAGE = "Bean class cannot be null";
     public static final String CONFIGURATION_CLASS_INSTANCE_ERROR_MESSAGE = "Configuration class instance can't be null";
     public static final String CONFIGURATION_BEAN_METHOD_ERROR_MESSAGE = "Configuration bean method can't be null";
+    public static final String BEAN_INSTANCE_ERROR_MESSAGE = "Bean instance can't be null";
 
     //Error from Reflection API
     //Create messages to give more detail about throwing exception from Reflection library
@@ -28,6 +29,10 @@ public class StringConstants {
     public static final String NO_SUCH_BEAN_EXCEPTION_BY_TYPE = "Bean with type %s not found";
     public static final String NO_SUCH_BEAN_EXCEPTION_BY_NAME_TYPE = "Bean with name %s and type %s not found";
 
+    //PrototypeBeanRefException
+    public static final String PROTOTYPE_BEAN_REF_EXCEPTION = "Bean '%s' is a prototype, a handle would keep a " +
+        "single instance of it, look it up with getBean(...) instead";
+
     //MissingDependencyException
     public static final String MISSING_DEPENDENCY_EXCEPTION = "Dependency of type %s and name %s hasn't been found for [%s] bean";
 
@@ -42,11 +47,29 @@ public class StringConstants {
     public static final String BEAN_INSTANCE_CREATION_EXCEPTION = "Bean with name '%s' can't be instantiated";
     public static final String BEAN_INSTANCE_CREATION_SAME_CANDIDATE_EXCEPTION = "Bean named `%s` has a supertype and one of its subtypes" +
             " in dependencies and they have the same candidate for injection";
+    public static final String BEAN_INSTANTIATION_PREPARATION_EXCEPTION = "%s can't be prepared for bean instantiation";
 
     //BeanInitializePhaseException
     public static final String CAN_NOT_INITIALIZE_BEANS_EXCEPTION = "Can't initialize beans";
 
+    //BeanDefinitionValidationException
+    public static final String INVALID_BEAN_DEFINITIONS_EXCEPTION = "%d problems have been found in bean definitions:%s";
+    public static final String DUPLICATE_BEAN_NAME_EXCEPTION = "Bean name '%s' is used by more than one bean: %s";
+    public static final String ABSTRACT_BEAN_CLASS_EXCEPTION = "Bean '%s' can't be instantiated, %s is abstract";
+
+    //CircularDependencyException
+    public static final String CIRCULAR_DEPENDENCY_EXCEPTION = "Beans can't be initialized because of circular dependencies: %s";
+    public static final String LAZY_BEAN_IN_CREATION_EXCEPTION = "Lazy bean '%s' is looked up while it is being created";
+
+    //AotContextCreationException
+    public static final String AOT_CONTEXT_CREATION_EXCEPTION = "Ahead-of-time context %s can't be created";
+    public static final String AOT_FIELD_INJECTION_EXCEPTION = "Field %s of bean instance of type %s can't be set";
+
+    //CdsTrainingException
+    public static final String CDS_TRAINING_STEP_EXCEPTION = "AppCDS %s step has failed with exit code %d, see %s";
+
     //BeanDependencyInjectionException
     public static final String BEAN_HAS_NO_MATCHES_DEPENDENCY_EXCEPTION = "'%s' bean has no dependency that matches parameter '%s'";
     public static final String BEAN_DEPENDENCY_INJECTION_EXCEPTION = "Field injection failed for bean instance of type %s. Unresolved fields: %s";
+    public static final String LAZY_PROXY_CREATION_EXCEPTION = "Proxy of lazy bean of type %s can't be created";
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.hoverla.bring.context;
 
+import com.hoverla.bring.annotation.Background;
 import com.hoverla.bring.exception.NoSuchBeanException;
+import com.hoverla.bring.exception.PrototypeBeanRefException;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * ApplicationContext it's main API for working with bean's at runtime.
@@ -37,4 +40,37 @@ public interface ApplicationContext {
      * @param <T> Bean type
      */
     <T> Map<String, T> getAllBeans(Class<T> beanType);
-}
\ No newline at end of file
+
+    /**
+     * @param beanType bean type(class.getClass())
+     * @return Handle of the single bean by bean type, resolved once. If a bean doesn't find will be thrown
+     * {@link NoSuchBeanException}, for a prototype bean {@link PrototypeBeanRefException}
+     * @param <T> Bean type
+     * @see BeanRef
+     */
+    <T> BeanRef<T> beanRef(Class<T> beanType);
+
+    /**
+     * @param name Class name
+     * @param beanType bean type(class.getClass())
+     * @return Handle of the single bean by name and bean type, resolved once. If a bean doesn't find will be thrown
+     * {@link NoSuchBeanException}, for a prototype bean {@link PrototypeBeanRefException}
+     * @param <T> Bean type
+     * @see BeanRef
+     */
+    <T> BeanRef<T> beanRef(String name, Class<T> beanType);
+
+    /**
+     * @return Future completed when all the {@link Background} beans are created, completed exceptionally
+     * if any of them fails
+     */
+    default CompletableFuture<Void> getReadiness() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Adds the listener notified when each {@link Background} bean is created or fails
+     */
+    default void addBeanReadyListener(BeanReadyListener listener) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.hoverla.bring.context;
+
+import com.hoverla.bring.annotation.Background;
+
+/**
+ * Listener of the {@link Background} beans of {@link ApplicationContext}, notified once for every bean
+ * on the thread which has created it, or right away if the bean has been created before the listener is added.
+ *
+ * @see ApplicationContext#addBeanReadyListener(BeanReadyListener)
+ */
+@FunctionalInterface
+public interface BeanReadyListener {
+    void onBeanReady(String beanName, Object bean);
+
+    default void onBeanFailed(String beanName, Throwable failure) {
+    }
+}
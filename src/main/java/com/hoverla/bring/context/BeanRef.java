@@ -0,0 +1,40 @@
+package com.hoverla.bring.context;
+
+import java.util.Objects;
+
+/**
+ * {@link BeanRef} is a typed handle of a bean resolved once by {@link ApplicationContext#beanRef(Class)}.
+ * <p>
+ * The bean is kept in a final field, so {@link #get()} is a plain field read without lookups, allocations or casts,
+ * and is inlined by the JIT. Keep the handle in a (preferably static) final field of the hot code instead of
+ * calling {@link ApplicationContext#getBean(Class)} on every request. A handle would keep a single instance, so
+ * prototype beans have no handles and are looked up every time.
+ * <p>
+ * Usage:
+ * {@code
+ *     private final BeanRef<UserService> userService = context.beanRef(UserService.class);
+ *     ...
+ *     userService.get().findUser(id);
+ * }
+ *
+ * @param <T> Bean type
+ */
+public final class BeanRef<T> {
+    private final T bean;
+
+    BeanRef(T bean) {
+        this.bean = Objects.requireNonNull(bean);
+    }
+
+    /**
+     * @return the bean resolved when the handle was created
+     */
+    public T get() {
+        return bean;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanRef[" + bean.getClass().getName() + "]";
+    }
+}
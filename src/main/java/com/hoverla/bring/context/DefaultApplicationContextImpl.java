@@ -1,32 +1,45 @@
 package com.hoverla.bring.context;
 
+import com.hoverla.bring.annotation.Background;
 import com.hoverla.bring.annotation.Bean;
 import com.hoverla.bring.annotation.Primary;
 import com.hoverla.bring.context.bean.definition.BeanDefinition;
 import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
+import com.hoverla.bring.context.bean.definition.FrozenBeanRegistry;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyResolutionPlan;
+import com.hoverla.bring.context.bean.initializer.BackgroundBeanInitializer;
 import com.hoverla.bring.context.bean.initializer.BeanInitializer;
+import com.hoverla.bring.context.bean.initializer.PipelinedBeanInstantiator;
 import com.hoverla.bring.context.bean.postprocessor.BeanPostProcessor;
+import com.hoverla.bring.context.bean.postprocessor.BeanPostProcessorRegistry;
 import com.hoverla.bring.context.bean.scanner.BeanScanner;
-import com.hoverla.bring.exception.DefaultConstructorNotFoundException;
+import com.hoverla.bring.context.bean.validation.BeanDefinitionValidator;
 import com.hoverla.bring.exception.NoSuchBeanException;
 import com.hoverla.bring.exception.NoUniqueBeanException;
+import com.hoverla.bring.exception.PrototypeBeanRefException;
 import lombok.extern.slf4j.Slf4j;
-import org.reflections.Reflections;
 
-import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
-import static com.hoverla.bring.common.StringConstants.BASE_BRING_PACKAGE;
-import static com.hoverla.bring.common.StringConstants.DEFAULT_CONSTRUCTOR_NOT_FOUND_EXCEPTION;
 import static com.hoverla.bring.common.StringConstants.NO_SUCH_BEAN_EXCEPTION_BY_NAME_TYPE;
 import static com.hoverla.bring.common.StringConstants.NO_SUCH_BEAN_EXCEPTION_BY_TYPE;
 import static com.hoverla.bring.common.StringConstants.NO_UNIQUE_BEAN_EXCEPTION;
 import static com.hoverla.bring.common.StringConstants.NO_UNIQUE_PRIMARY_BEAN_EXCEPTION;
+import static com.hoverla.bring.common.StringConstants.PROTOTYPE_BEAN_REF_EXCEPTION;
+import static com.hoverla.bring.context.StartupPhase.POST_PROCESSING;
+import static com.hoverla.bring.context.StartupPhase.SCANNING;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
@@ -39,18 +52,130 @@ import static java.util.stream.Collectors.toMap;
  */
 @Slf4j
 public class DefaultApplicationContextImpl implements ApplicationContext {
-    private final List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
-    private final BeanDefinitionContainer container;
+    private final List<BeanPostProcessor> beanPostProcessors;
+    /**
+     * Post-processors supporting the class, computed once for every class of the processed instances
+     */
+    private final Map<Class<?>, BeanPostProcessor[]> postProcessorsByClass = new ConcurrentHashMap<>();
+    /**
+     * Beans are looked up in the registry frozen right after they are created, bean ids follow the initialization order
+     */
+    private final FrozenBeanRegistry registry;
+    private final BackgroundBeanInitializer backgroundBeans;
 
+    /**
+     * Applies the built-in post-processors and the ones provided through {@link java.util.ServiceLoader}.
+     */
     public DefaultApplicationContextImpl(List<BeanScanner> scanners, BeanInitializer initializer) {
-        List<BeanDefinition> beanDefinitions = scanPackagesForBeanDefinitions(scanners);
-        //TODO add validation for bean definitions
-        container = new BeanDefinitionContainer(beanDefinitions);
-        initializer.initialize(container);
-        postProcess();
+        this(scanners, initializer, BeanPostProcessorRegistry.withDefaults()
+            .registerServiceProviders(DefaultApplicationContextImpl.class.getClassLoader())
+            .getPostProcessors());
+    }
+
+    /**
+     * @param beanPostProcessors post-processors applied to every bean in the given order
+     * @see BeanPostProcessorRegistry
+     */
+    public DefaultApplicationContextImpl(List<BeanScanner> scanners, BeanInitializer initializer,
+                                         List<BeanPostProcessor> beanPostProcessors) {
+        this(scanners, initializer, beanPostProcessors, null, StartupListener.NONE);
+    }
+
+    /**
+     * @param backgroundExecutor executor {@link Background} beans are created on, {@code null} to use the default one
+     * @param startupListener listener notified of every {@link StartupPhase}
+     * @see BackgroundBeanInitializer
+     */
+    public DefaultApplicationContextImpl(List<BeanScanner> scanners, BeanInitializer initializer,
+                                         List<BeanPostProcessor> beanPostProcessors, Executor backgroundExecutor,
+                                         StartupListener startupListener) {
+        this(scanners, initializer, beanPostProcessors, backgroundExecutor, startupListener, null);
+    }
+
+    /**
+     * @param pipeline instantiator of the beans without dependencies during the scan, {@code null} to instantiate
+     *                 all the beans after it
+     * @see PipelinedBeanInstantiator
+     */
+    public DefaultApplicationContextImpl(List<BeanScanner> scanners, BeanInitializer initializer,
+                                         List<BeanPostProcessor> beanPostProcessors, Executor backgroundExecutor,
+                                         StartupListener startupListener, PipelinedBeanInstantiator pipeline) {
+        this(scanners, null, initializer, beanPostProcessors, backgroundExecutor, startupListener, pipeline);
+    }
+
+    /**
+     * Creates the beans of dependencies resolved before, e.g. restored from
+     * {@link com.hoverla.bring.context.bean.snapshot.WiringPlanSnapshot}, without scanning, validating and
+     * resolving them again
+     *
+     * @param resolutionPlan dependencies of every bean, without problems
+     */
+    public DefaultApplicationContextImpl(BeanDependencyResolutionPlan resolutionPlan, BeanInitializer initializer,
+                                         List<BeanPostProcessor> beanPostProcessors, Executor backgroundExecutor,
+                                         StartupListener startupListener) {
+        this(null, resolutionPlan, initializer, beanPostProcessors, backgroundExecutor, startupListener, null);
+    }
+
+    /**
+     * Either the scanners or the resolution plan is given
+     */
+    private DefaultApplicationContextImpl(List<BeanScanner> scanners, BeanDependencyResolutionPlan resolvedPlan,
+                                          BeanInitializer initializer, List<BeanPostProcessor> beanPostProcessors,
+                                          Executor backgroundExecutor, StartupListener startupListener,
+                                          PipelinedBeanInstantiator pipeline) {
+        this.beanPostProcessors = List.copyOf(beanPostProcessors);
+        BeanDependencyResolutionPlan resolutionPlan;
+        if (scanners == null) {
+            resolutionPlan = resolvedPlan;
+            resolutionPlan.getContainer().getBeanDefinitions().forEach(this::interceptInstances);
+        } else {
+            resolutionPlan = scanAndValidate(scanners, startupListener, pipeline);
+        }
+        BeanDefinitionContainer container = resolutionPlan.getContainer();
+        List<Object> createdOnDemand = collectCreatedOnDemand(container.getBeanDefinitions());
+        if (pipeline != null) {
+            pipeline.awaitInstantiated();
+        }
+        List<BeanDefinition> initializationOrder = initializer.initialize(resolutionPlan, startupListener);
+        registry = FrozenBeanRegistry.freeze(container, initializationOrder);
+        startupListener.onPhaseStarted(POST_PROCESSING);
+        long postProcessingStart = System.nanoTime();
+        postProcess(createdOnDemand);
+        startupListener.onPhaseCompleted(POST_PROCESSING, Duration.ofNanos(System.nanoTime() - postProcessingStart));
+        backgroundBeans = BackgroundBeanInitializer.start(initializationOrder, backgroundExecutor);
         log.info("Application context initialization has been finished");
     }
 
+    /**
+     * Scans the beans, passing the instantiable ones to the pipeline as soon as they are scanned, and validates them
+     *
+     * @return dependencies resolved by the validation
+     */
+    private BeanDependencyResolutionPlan scanAndValidate(List<BeanScanner> scanners, StartupListener startupListener,
+                                                         PipelinedBeanInstantiator pipeline) {
+        startupListener.onPhaseStarted(SCANNING);
+        long scanningStart = System.nanoTime();
+        var validator = new BeanDefinitionValidator(new BeanDependencyNameResolver());
+        List<BeanDefinition> beanDefinitions;
+        if (pipeline == null) {
+            beanDefinitions = scanPackagesForBeanDefinitions(scanners);
+            beanDefinitions.forEach(this::interceptInstances);
+        } else {
+            beanDefinitions = scanPackagesForBeanDefinitions(scanners, beanDefinition -> {
+                interceptInstances(beanDefinition);
+                if (validator.isInstantiable(beanDefinition)) {
+                    pipeline.offer(beanDefinition);
+                }
+            });
+        }
+        startupListener.onPhaseCompleted(SCANNING, Duration.ofNanos(System.nanoTime() - scanningStart));
+        return validator.validate(beanDefinitions);
+    }
+
+    private void interceptInstances(BeanDefinition beanDefinition) {
+        beanDefinition.setInstanceInterceptor(bean -> processBeforeInitialization(bean, beanDefinition.name()));
+    }
+
     /**
      * @see BeanDefinition
      */
@@ -61,13 +186,35 @@ public class DefaultApplicationContextImpl implements ApplicationContext {
                 .collect(toList());
     }
 
+    /**
+     * Passes every bean definition to the consumer as soon as it is scanned
+     */
+    private List<BeanDefinition> scanPackagesForBeanDefinitions(List<BeanScanner> scanners,
+                                                                Consumer<BeanDefinition> discovered) {
+        return scanners.stream()
+                .map(scanner -> scanner.scan(discovered))
+                .flatMap(List::stream)
+                .collect(toList());
+    }
+
     /**
      * @return Bean instance by bean type
      * If a bean doesn't find will be thrown {@link NoSuchBeanException}
      */
     @Override
     public <T> T getBean(Class<T> beanType) {
-        List<BeanDefinition> beanDefinitions = container.getBeansAssignableFromType(beanType);
+        Object bean = registry.getBean(beanType);
+        if (bean != null) {
+            return beanType.cast(bean);
+        }
+        return resolveBean(beanType);
+    }
+
+    /**
+     * Resolves the bean types the registry has no single bean for, throwing the lookup exceptions
+     */
+    private <T> T resolveBean(Class<T> beanType) {
+        List<BeanDefinition> beanDefinitions = registry.getBeanDefinitions(beanType);
 
         if (beanDefinitions.size() > 1) {
             return getPrimaryBean(beanDefinitions, beanType);
@@ -87,13 +234,50 @@ public class DefaultApplicationContextImpl implements ApplicationContext {
      */
     @Override
     public <T> T getBean(String name, Class<T> beanType) {
-        return container.getBeanDefinitionByName(name)
-                .filter(potentialBean -> beanType.isAssignableFrom(potentialBean.getInstance().getClass()))
-                .map(BeanDefinition::getInstance)
-                .map(beanType::cast)
-                .orElseThrow(() -> new NoSuchBeanException(
-                        format(NO_SUCH_BEAN_EXCEPTION_BY_NAME_TYPE, name, beanType.getSimpleName())
-                ));
+        int beanId = registry.getBeanId(name);
+        Object bean = beanId < 0 ? null : registry.getInstance(beanId);
+        if (!beanType.isInstance(bean)) {
+            throw new NoSuchBeanException(format(NO_SUCH_BEAN_EXCEPTION_BY_NAME_TYPE, name, beanType.getSimpleName()));
+        }
+        return beanType.cast(bean);
+    }
+
+    /**
+     * @throws PrototypeBeanRefException if the bean returned by {@link #getBean(Class)} is a prototype
+     */
+    @Override
+    public <T> BeanRef<T> beanRef(Class<T> beanType) {
+        List<BeanDefinition> beanDefinitions = registry.getBeanDefinitions(beanType);
+        if (beanDefinitions.size() > 1) {
+            beanDefinitions = beanDefinitions.stream()
+                .filter(beanDefinition -> beanDefinition.type().isAnnotationPresent(Primary.class))
+                .collect(toList());
+        }
+        if (beanDefinitions.size() == 1) {
+            checkNotPrototype(beanDefinitions.get(0));
+        }
+        return new BeanRef<>(getBean(beanType));
+    }
+
+    /**
+     * @throws PrototypeBeanRefException if the bean is a prototype
+     */
+    @Override
+    public <T> BeanRef<T> beanRef(String name, Class<T> beanType) {
+        int beanId = registry.getBeanId(name);
+        if (beanId >= 0) {
+            checkNotPrototype(registry.getBeanDefinition(beanId));
+        }
+        return new BeanRef<>(getBean(name, beanType));
+    }
+
+    /**
+     * A handle keeps a single instance, so it would silently turn a prototype into a singleton
+     */
+    private static void checkNotPrototype(BeanDefinition beanDefinition) {
+        if (beanDefinition.isPrototype()) {
+            throw new PrototypeBeanRefException(format(PROTOTYPE_BEAN_REF_EXCEPTION, beanDefinition.name()));
+        }
     }
 
     /**
@@ -101,43 +285,110 @@ public class DefaultApplicationContextImpl implements ApplicationContext {
      */
     @Override
     public <T> Map<String, T> getAllBeans(Class<T> beanType) {
-        return container.getBeansAssignableFromType(beanType)
-                .stream()
-                .collect(toMap(BeanDefinition::name, beanDefinition -> beanType.cast(beanDefinition.getInstance())));
+        return registry.getBeans(beanType);
     }
 
     /**
-     * This method configures additional settings for beans and applies those settings to them.
+     * @return definitions of all the beans in the initialization order, with resolved dependencies
+     */
+    public List<BeanDefinition> getBeanDefinitions() {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>(registry.size());
+        for (int beanId = 0; beanId < registry.size(); beanId++) {
+            beanDefinitions.add(registry.getBeanDefinition(beanId));
+        }
+        return beanDefinitions;
+    }
+
+    @Override
+    public CompletableFuture<Void> getReadiness() {
+        return backgroundBeans.getReadiness();
+    }
+
+    @Override
+    public void addBeanReadyListener(BeanReadyListener listener) {
+        backgroundBeans.addListener(listener);
+    }
+
+    /**
+     * Instances of prototype and lazy beans created before the context is ready, e.g. injected into other beans
+     * or called by them, are collected to be post-processed later
+     */
+    private List<Object> collectCreatedOnDemand(Collection<BeanDefinition> beanDefinitions) {
+        List<Object> createdOnDemand = Collections.synchronizedList(new ArrayList<>());
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            if (isCreatedOnDemand(beanDefinition)) {
+                beanDefinition.setInstancePostProcessor(createdOnDemand::add);
+            }
+        }
+        return createdOnDemand;
+    }
+
+    /**
+     * Applies the post-processors supporting the class of the bean right after it is created,
+     * each of them gets the bean returned by the previous one
      *
-     * @see BeanPostProcessor
-     * @see Bean
+     * @return the bean or its replacement
      */
-    private void postProcess() {
-        initPostProcessors();
-        Collection<Object> beanInstances = container.getBeanDefinitions().stream()
-                .map(BeanDefinition::getInstance).collect(toList());
-        for (Object beanInstance : beanInstances) {
-            beanPostProcessors.forEach(beanPostProcessor -> beanPostProcessor.process(beanInstance, this));
+    private Object processBeforeInitialization(Object bean, String beanName) {
+        Object processedBean = bean;
+        for (BeanPostProcessor beanPostProcessor : getPostProcessors(bean.getClass())) {
+            Object replacement = beanPostProcessor.processBeforeInitialization(processedBean, beanName);
+            if (replacement != null && replacement != processedBean) {
+                log.debug("Bean '{}' of type {} has been replaced with an instance of {} by {}", beanName,
+                    processedBean.getClass().getName(), replacement.getClass().getName(),
+                    beanPostProcessor.getClass().getName());
+                processedBean = replacement;
+            }
         }
+        return processedBean;
     }
 
     /**
-     * Method for registering additional configuration for beans.
+     * This method configures additional settings for beans and applies those settings to them.
+     * Singleton beans are processed in the order they have been initialized, then the prototype and lazy instances
+     * created so far. Every prototype or lazy instance created afterwards is processed right away.
+     * A bean replaced by {@link BeanPostProcessor#processBeforeInitialization(Object, String)} is processed as it
+     * has been created, so its fields and setters are injected rather than those of the replacement.
      *
      * @see BeanPostProcessor
      * @see Bean
      */
-    private void initPostProcessors() {
-        var processorClasses = new Reflections(BASE_BRING_PACKAGE).getSubTypesOf(BeanPostProcessor.class);
-        for (Class<? extends BeanPostProcessor> postProcessor : processorClasses) {
-            try {
-                beanPostProcessors.add(postProcessor.getDeclaredConstructor().newInstance());
-            } catch (NoSuchMethodException | InstantiationException | IllegalAccessException |
-                     InvocationTargetException e) {
-                throw new DefaultConstructorNotFoundException(
-                        format(DEFAULT_CONSTRUCTOR_NOT_FOUND_EXCEPTION, postProcessor.getSimpleName()));
+    private void postProcess(List<Object> createdOnDemand) {
+        for (int beanId = 0; beanId < registry.size(); beanId++) {
+            if (!isCreatedOnDemand(registry.getBeanDefinition(beanId))) {
+                postProcessBean(registry.getBeanDefinition(beanId).getTargetInstance());
+            }
+        }
+        for (int beanId = 0; beanId < registry.size(); beanId++) {
+            BeanDefinition beanDefinition = registry.getBeanDefinition(beanId);
+            if (isCreatedOnDemand(beanDefinition)) {
+                beanDefinition.setInstancePostProcessor(this::postProcessBean);
             }
         }
+        List.copyOf(createdOnDemand).forEach(this::postProcessBean);
+    }
+
+    private static boolean isCreatedOnDemand(BeanDefinition beanDefinition) {
+        return beanDefinition.isPrototype() || beanDefinition.isLazy();
+    }
+
+    private void postProcessBean(Object beanInstance) {
+        for (BeanPostProcessor beanPostProcessor : getPostProcessors(beanInstance.getClass())) {
+            beanPostProcessor.process(beanInstance, this);
+        }
+    }
+
+    /**
+     * @return post-processors in their order which support the bean class, so the others never see its beans
+     */
+    private BeanPostProcessor[] getPostProcessors(Class<?> beanClass) {
+        BeanPostProcessor[] postProcessors = postProcessorsByClass.get(beanClass);
+        if (postProcessors != null) {
+            return postProcessors;
+        }
+        return postProcessorsByClass.computeIfAbsent(beanClass, type -> beanPostProcessors.stream()
+            .filter(beanPostProcessor -> beanPostProcessor.supports(type))
+            .toArray(BeanPostProcessor[]::new));
     }
 
     /**
@@ -0,0 +1,20 @@
+package com.hoverla.bring.context;
+
+import java.time.Duration;
+
+/**
+ * Listener of the progress of the creation of {@link DefaultApplicationContextImpl}, notified on the thread
+ * creating the context. A phase which fails is started but not completed.
+ *
+ * @see StartupPhase
+ */
+public interface StartupListener {
+    StartupListener NONE = new StartupListener() {
+    };
+
+    default void onPhaseStarted(StartupPhase phase) {
+    }
+
+    default void onPhaseCompleted(StartupPhase phase, Duration duration) {
+    }
+}
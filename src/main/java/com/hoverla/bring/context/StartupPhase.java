@@ -0,0 +1,25 @@
+package com.hoverla.bring.context;
+
+/**
+ * Phases of the creation of {@link DefaultApplicationContextImpl}, in the order they are run
+ *
+ * @see StartupListener
+ */
+public enum StartupPhase {
+    /**
+     * Bean definitions are created for the classes found in the packages to scan
+     */
+    SCANNING,
+    /**
+     * Dependencies of every bean are resolved and ordered, circular dependencies are detected
+     */
+    DEPENDENCY_RESOLUTION,
+    /**
+     * Beans are instantiated and injected
+     */
+    INITIALIZATION,
+    /**
+     * Post-processors are applied to the created beans
+     */
+    POST_PROCESSING
+}
@@ -0,0 +1,112 @@
+package com.hoverla.bring.context.aot;
+
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.bean.postprocessor.BeanPostProcessor;
+import com.hoverla.bring.exception.AotContextCreationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import static com.hoverla.bring.common.StringConstants.AOT_CONTEXT_CREATION_EXCEPTION;
+import static com.hoverla.bring.common.StringConstants.AOT_FIELD_INJECTION_EXCEPTION;
+import static java.lang.String.format;
+
+/**
+ * {@link AotContext} finds and creates the {@link ApplicationContext} generated at compile time
+ * by {@link AotContextProcessor}.
+ * <p>
+ * Generated contexts are listed in the {@value #REGISTRY_LOCATION} resources: every line maps the package
+ * a context was generated for to the name of the generated class. All such resources on the classpath are merged.
+ *
+ * @see AotContextProcessor
+ */
+@Slf4j
+public final class AotContext {
+    public static final String REGISTRY_LOCATION = "META-INF/bring/aot-contexts";
+    public static final String CONTEXT_CLASS_NAME = "BringAotContext";
+
+    private AotContext() {
+    }
+
+    /**
+     * @param postProcessors post-processors the generated context applies to the beans
+     * @return context generated for the package or empty if there is no context generated for exactly
+     * this single package
+     */
+    public static Optional<ApplicationContext> load(ClassLoader classLoader, List<BeanPostProcessor> postProcessors,
+                                                    String... packagesToScan) {
+        if (packagesToScan.length != 1) {
+            log.warn("Ahead-of-time context can be used for a single package only, packages {} are scanned instead",
+                Arrays.toString(packagesToScan));
+            return Optional.empty();
+        }
+        Optional<String> contextClassName = findContextClassName(classLoader, packagesToScan[0]);
+        if (contextClassName.isEmpty()) {
+            log.warn("Ahead-of-time context hasn't been generated for package '{}', it is scanned instead",
+                packagesToScan[0]);
+            return Optional.empty();
+        }
+        log.info("Creating ahead-of-time context {}", contextClassName.get());
+        return Optional.of(createContext(classLoader, contextClassName.get(), postProcessors));
+    }
+
+    /**
+     * Sets a field which can't be assigned directly by the generated code.
+     */
+    @SuppressWarnings("java:S3011")
+    public static void injectField(Object bean, Class<?> declaringClass, String fieldName, Object value) {
+        try {
+            Field field = declaringClass.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(bean, value);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new AotContextCreationException(
+                format(AOT_FIELD_INJECTION_EXCEPTION, fieldName, bean.getClass().getName()), e);
+        }
+    }
+
+    private static ApplicationContext createContext(ClassLoader classLoader, String contextClassName,
+                                                    List<BeanPostProcessor> postProcessors) {
+        try {
+            return (ApplicationContext) Class.forName(contextClassName, true, classLoader)
+                .getConstructor(List.class)
+                .newInstance(postProcessors);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new AotContextCreationException(format(AOT_CONTEXT_CREATION_EXCEPTION, contextClassName), e);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new AotContextCreationException(format(AOT_CONTEXT_CREATION_EXCEPTION, contextClassName), e);
+        }
+    }
+
+    private static Optional<String> findContextClassName(ClassLoader classLoader, String packageName) {
+        try {
+            Enumeration<URL> registryUrls = classLoader.getResources(REGISTRY_LOCATION);
+            while (registryUrls.hasMoreElements()) {
+                Properties registry = new Properties();
+                try (InputStream inputStream = registryUrls.nextElement().openStream()) {
+                    registry.load(inputStream);
+                }
+                String contextClassName = registry.getProperty(packageName);
+                if (contextClassName != null) {
+                    return Optional.of(contextClassName);
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read ahead-of-time contexts from " + REGISTRY_LOCATION, e);
+        }
+    }
+}
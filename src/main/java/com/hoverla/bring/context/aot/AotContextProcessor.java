@@ -0,0 +1,463 @@
+package com.hoverla.bring.context.aot;
+
+import com.hoverla.bring.annotation.Autowired;
+import com.hoverla.bring.annotation.Background;
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Configuration;
+import com.hoverla.bring.annotation.Lazy;
+import com.hoverla.bring.annotation.Primary;
+import com.hoverla.bring.annotation.Prototype;
+import com.hoverla.bring.context.ApplicationContext;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Annotation processor which resolves the bean graph at compile time and generates an {@link ApplicationContext}
+ * calling constructors and {@link Bean} methods directly, in the order of dependencies.
+ * <p>
+ * The processor is active only when the {@value #PACKAGE_OPTION} option is set. It generates the
+ * {@value AotContext#CONTEXT_CLASS_NAME} class in that package for the classes annotated with {@link Bean} and
+ * {@link Configuration} within the package and its subpackages, and registers it in the
+ * {@value AotContext#REGISTRY_LOCATION} resource. Dependencies are resolved the same way as at runtime; a missing,
+ * ambiguous or circular dependency fails the compilation, so does a {@link Prototype}, {@link Lazy}
+ * or {@link Background} bean.
+ * <p>
+ * Autowired fields which can't be assigned from the generated package (e.g. private ones) are set through
+ * {@link AotContext#injectField}. Post-processors are still applied to the created beans at runtime.
+ * <p>
+ * Usage (maven-compiler-plugin):
+ * {@code
+ *     <annotationProcessors>
+ *         <annotationProcessor>com.hoverla.bring.context.aot.AotContextProcessor</annotationProcessor>
+ *     </annotationProcessors>
+ *     <compilerArgs>
+ *         <arg>-Abring.aot.package=com.example.app</arg>
+ *     </compilerArgs>
+ * }
+ *
+ * @see AotContext
+ */
+@SupportedOptions(AotContextProcessor.PACKAGE_OPTION)
+@SupportedAnnotationTypes({"com.hoverla.bring.annotation.Bean", "com.hoverla.bring.annotation.Configuration"})
+public class AotContextProcessor extends AbstractProcessor {
+    public static final String PACKAGE_OPTION = "bring.aot.package";
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        String contextPackage = processingEnv.getOptions().get(PACKAGE_OPTION);
+        if (contextPackage == null || generated || roundEnv.processingOver()) {
+            return false;
+        }
+        generated = true;
+
+        Map<String, BeanModel> beans = collectBeans(roundEnv, contextPackage);
+        List<BeanModel> orderedBeans = resolveDependencies(beans.values());
+        if (orderedBeans != null) {
+            writeContext(contextPackage, orderedBeans);
+        }
+        return false;
+    }
+
+    /**
+     * @return beans of the package by name, sorted by the name of the declaring class and method
+     */
+    private Map<String, BeanModel> collectBeans(RoundEnvironment roundEnv, String contextPackage) {
+        Map<String, TypeElement> beanClasses = new TreeMap<>();
+        Map<String, TypeElement> configurationClasses = new TreeMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(Bean.class)) {
+            if (element.getKind() == ElementKind.CLASS && isInPackage((TypeElement) element, contextPackage)) {
+                beanClasses.put(binaryName((TypeElement) element), (TypeElement) element);
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(Configuration.class)) {
+            if (element.getKind() == ElementKind.CLASS && isInPackage((TypeElement) element, contextPackage)) {
+                configurationClasses.put(binaryName((TypeElement) element), (TypeElement) element);
+            }
+        }
+
+        Map<String, BeanModel> beans = new LinkedHashMap<>();
+        beanClasses.values().forEach(beanClass -> createClassBean(beanClass, contextPackage)
+            .ifPresent(bean -> addBean(beans, bean)));
+        configurationClasses.values().forEach(configurationClass ->
+            createMethodBeans(configurationClass, contextPackage).forEach(bean -> addBean(beans, bean)));
+        return beans;
+    }
+
+    private void addBean(Map<String, BeanModel> beans, BeanModel bean) {
+        if (bean.element.getAnnotation(Prototype.class) != null) {
+            error(bean.element, "Prototype bean '%s' can't be created ahead of time", bean.name);
+        }
+        if (bean.element.getAnnotation(Lazy.class) != null) {
+            error(bean.element, "Lazy bean '%s' can't be created ahead of time", bean.name);
+        }
+        if (bean.element.getAnnotation(Background.class) != null) {
+            error(bean.element, "Background bean '%s' can't be created ahead of time", bean.name);
+        }
+        if (beans.putIfAbsent(bean.name, bean) != null) {
+            error(bean.element, "Bean with name '%s' is declared more than once", bean.name);
+        }
+    }
+
+    private Optional<BeanModel> createClassBean(TypeElement beanClass, String contextPackage) {
+        if (beanClass.getModifiers().contains(Modifier.ABSTRACT)
+            || (beanClass.getNestingKind().isNested() && !beanClass.getModifiers().contains(Modifier.STATIC))) {
+            error(beanClass, "Bean class %s can't be instantiated", beanClass.getQualifiedName());
+            return Optional.empty();
+        }
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(beanClass.getEnclosedElements())
+            .stream()
+            .filter(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC))
+            .collect(toList());
+        Optional<ExecutableElement> constructor = constructors.stream()
+            .filter(candidate -> candidate.getAnnotation(Autowired.class) != null)
+            .findFirst()
+            .or(() -> constructors.stream().findFirst());
+        if (constructor.isEmpty() || !isAccessible(beanClass, contextPackage)) {
+            error(beanClass, "Bean class %s must be accessible from package %s and have a public constructor",
+                beanClass.getQualifiedName(), contextPackage);
+            return Optional.empty();
+        }
+
+        String beanName = beanClass.getAnnotation(Bean.class).value();
+        var bean = new BeanModel(beanName.isBlank() ? binaryName(beanClass) : beanName, beanClass.asType(),
+            beanClass.getAnnotation(Primary.class) != null, beanClass);
+        bean.parameterTypes.addAll(parameterTypes(constructor.get()));
+        for (VariableElement field : ElementFilter.fieldsIn(beanClass.getEnclosedElements())) {
+            if (field.getAnnotation(Autowired.class) != null) {
+                bean.fields.add(field);
+            }
+        }
+        return Optional.of(bean);
+    }
+
+    private List<BeanModel> createMethodBeans(TypeElement configurationClass, String contextPackage) {
+        boolean hasDefaultConstructor = ElementFilter.constructorsIn(configurationClass.getEnclosedElements())
+            .stream()
+            .anyMatch(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC)
+                && constructor.getParameters().isEmpty());
+        if (!hasDefaultConstructor || !isAccessible(configurationClass, contextPackage)) {
+            error(configurationClass, "Configuration class %s must be accessible from package %s and have " +
+                "a public no-arg constructor", configurationClass.getQualifiedName(), contextPackage);
+            return List.of();
+        }
+
+        List<BeanModel> beans = new ArrayList<>();
+        ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(configurationClass))
+            .stream()
+            .filter(method -> method.getModifiers().contains(Modifier.PUBLIC))
+            .filter(method -> method.getAnnotation(Bean.class) != null)
+            .sorted(Comparator.comparing((ExecutableElement method) -> method.getSimpleName().toString())
+                .thenComparing(Object::toString))
+            .forEach(method -> {
+                String beanName = method.getAnnotation(Bean.class).value();
+                var bean = new BeanModel(beanName.isBlank() ? method.getSimpleName().toString() : beanName,
+                    method.getReturnType(), method.getAnnotation(Primary.class) != null, method);
+                bean.configurationClass = configurationClass;
+                bean.parameterTypes.addAll(parameterTypes(method));
+                beans.add(bean);
+            });
+        return beans;
+    }
+
+    /**
+     * Resolves dependencies of every bean and sorts the beans so that every bean follows its dependencies.
+     *
+     * @return sorted beans or {@code null} if some dependency can't be resolved
+     */
+    private List<BeanModel> resolveDependencies(Iterable<BeanModel> beans) {
+        List<BeanModel> allBeans = new ArrayList<>();
+        beans.forEach(allBeans::add);
+        boolean resolved = true;
+        for (BeanModel bean : allBeans) {
+            for (TypeMirror parameterType : bean.parameterTypes) {
+                BeanModel argument = resolveDependency(parameterType, bean, allBeans);
+                resolved &= argument != null;
+                bean.arguments.add(argument);
+            }
+            for (VariableElement field : bean.fields) {
+                BeanModel fieldValue = resolveDependency(field.asType(), bean, allBeans);
+                resolved &= fieldValue != null;
+                bean.fieldValues.add(fieldValue);
+            }
+        }
+        if (!resolved) {
+            return null;
+        }
+
+        Set<BeanModel> orderedBeans = new LinkedHashSet<>();
+        for (BeanModel bean : allBeans) {
+            if (!sort(bean, orderedBeans, new ArrayList<>())) {
+                return null;
+            }
+        }
+        return new ArrayList<>(orderedBeans);
+    }
+
+    private boolean sort(BeanModel bean, Set<BeanModel> orderedBeans, List<BeanModel> path) {
+        if (orderedBeans.contains(bean)) {
+            return true;
+        }
+        if (path.contains(bean)) {
+            String cycle = path.subList(path.indexOf(bean), path.size())
+                .stream()
+                .map(pathBean -> pathBean.name)
+                .collect(joining(" -> ", "", " -> " + bean.name));
+            error(bean.element, "Circular dependency between beans: %s", cycle);
+            return false;
+        }
+        path.add(bean);
+        List<BeanModel> dependencies = new ArrayList<>(bean.arguments);
+        dependencies.addAll(bean.fieldValues);
+        for (BeanModel dependency : dependencies) {
+            if (!sort(dependency, orderedBeans, path)) {
+                return false;
+            }
+        }
+        path.remove(path.size() - 1);
+        orderedBeans.add(bean);
+        return true;
+    }
+
+    /**
+     * Follows the runtime resolution: a bean named after the dependency type, then the only or the primary
+     * bean of exactly the same type, then the only or the primary bean assignable to the dependency type.
+     */
+    private BeanModel resolveDependency(TypeMirror dependencyType, BeanModel rootBean, List<BeanModel> beans) {
+        var types = processingEnv.getTypeUtils();
+        TypeMirror erasedType = types.erasure(dependencyType);
+        String dependencyName = typeName(erasedType);
+        Optional<BeanModel> namedBean = beans.stream().filter(bean -> bean.name.equals(dependencyName)).findFirst();
+        if (namedBean.isPresent()) {
+            return namedBean.get();
+        }
+
+        List<BeanModel> sameTypeBeans = beans.stream()
+            .filter(bean -> types.isSameType(types.erasure(bean.type), erasedType))
+            .collect(toList());
+        if (sameTypeBeans.size() == 1) {
+            return sameTypeBeans.get(0);
+        }
+        Optional<BeanModel> primarySameTypeBean = sameTypeBeans.stream().filter(bean -> bean.primary).findFirst();
+        if (primarySameTypeBean.isPresent()) {
+            return primarySameTypeBean.get();
+        }
+
+        List<BeanModel> assignableBeans = beans.stream()
+            .filter(bean -> bean != rootBean)
+            .filter(bean -> types.isAssignable(types.erasure(bean.type), erasedType))
+            .collect(toList());
+        if (assignableBeans.size() == 1) {
+            return assignableBeans.get(0);
+        }
+        if (assignableBeans.isEmpty()) {
+            error(rootBean.element, "Dependency of type %s hasn't been found for [%s] bean", erasedType, rootBean.name);
+            return null;
+        }
+        return assignableBeans.stream().filter(bean -> bean.primary).findFirst().orElseGet(() -> {
+            error(rootBean.element, "There is more than one bean matching the %s type for [%s] bean: %s",
+                erasedType, rootBean.name, assignableBeans.stream().map(bean -> bean.name).collect(toList()));
+            return null;
+        });
+    }
+
+    private void writeContext(String contextPackage, List<BeanModel> beans) {
+        String contextClassName = contextPackage + "." + AotContext.CONTEXT_CLASS_NAME;
+        var elements = processingEnv.getElementUtils();
+        var types = processingEnv.getTypeUtils();
+        Map<TypeElement, String> configurationVariables = new LinkedHashMap<>();
+        for (int i = 0; i < beans.size(); i++) {
+            beans.get(i).variable = "bean" + i;
+        }
+
+        StringBuilder code = new StringBuilder();
+        code.append("package ").append(contextPackage).append(";\n\n")
+            .append("import com.hoverla.bring.context.DefaultApplicationContextImpl;\n")
+            .append("import com.hoverla.bring.context.aot.AotContext;\n")
+            .append("import com.hoverla.bring.context.bean.definition.BeanDefinition;\n")
+            .append("import com.hoverla.bring.context.bean.definition.InstanceBeanDefinition;\n")
+            .append("import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;\n")
+            .append("import com.hoverla.bring.context.bean.initializer.BeanInitializer;\n")
+            .append("import com.hoverla.bring.context.bean.postprocessor.BeanPostProcessor;\n\n")
+            .append("import java.util.ArrayList;\n")
+            .append("import java.util.List;\n\n")
+            .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+            .append("public final class ").append(AotContext.CONTEXT_CLASS_NAME)
+            .append(" extends DefaultApplicationContextImpl {\n\n")
+            .append("    public ").append(AotContext.CONTEXT_CLASS_NAME)
+            .append("(List<BeanPostProcessor> beanPostProcessors) {\n")
+            .append("        super(List.of(").append(AotContext.CONTEXT_CLASS_NAME)
+            .append("::createBeanDefinitions), new BeanInitializer(new BeanDependencyNameResolver()),\n")
+            .append("            beanPostProcessors);\n")
+            .append("    }\n\n")
+            .append("    @SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+            .append("    private static List<BeanDefinition> createBeanDefinitions() {\n")
+            .append("        List<BeanDefinition> beanDefinitions = new ArrayList<>(").append(beans.size())
+            .append(");\n");
+
+        for (BeanModel bean : beans) {
+            String beanType = types.erasure(bean.type).toString();
+            String arguments = bean.arguments.stream().map(argument -> argument.variable).collect(joining(", "));
+            if (bean.configurationClass == null) {
+                code.append("        ").append(beanType).append(' ').append(bean.variable)
+                    .append(" = new ").append(beanType).append('(').append(arguments).append(");\n");
+            } else {
+                String configurationType = bean.configurationClass.getQualifiedName().toString();
+                String configurationVariable = configurationVariables.get(bean.configurationClass);
+                if (configurationVariable == null) {
+                    configurationVariable = "configuration" + configurationVariables.size();
+                    configurationVariables.put(bean.configurationClass, configurationVariable);
+                    code.append("        ").append(configurationType).append(' ').append(configurationVariable)
+                        .append(" = new ").append(configurationType).append("();\n");
+                }
+                code.append("        ").append(beanType).append(' ').append(bean.variable).append(" = ")
+                    .append(configurationVariable).append('.').append(bean.element.getSimpleName())
+                    .append('(').append(arguments).append(");\n");
+            }
+            for (int i = 0; i < bean.fields.size(); i++) {
+                VariableElement field = bean.fields.get(i);
+                String value = bean.fieldValues.get(i).variable;
+                if (isAccessible(field, contextPackage) && !field.getModifiers().contains(Modifier.FINAL)) {
+                    code.append("        ").append(bean.variable).append('.').append(field.getSimpleName())
+                        .append(" = ").append(value).append(";\n");
+                } else {
+                    code.append("        AotContext.injectField(").append(bean.variable).append(", ")
+                        .append(beanType).append(".class, ")
+                        .append(elements.getConstantExpression(field.getSimpleName().toString())).append(", ")
+                        .append(value).append(");\n");
+                }
+            }
+            code.append("        beanDefinitions.add(new InstanceBeanDefinition(")
+                .append(elements.getConstantExpression(bean.name)).append(", ")
+                .append(beanType).append(".class, ").append(bean.primary).append(", ")
+                .append(bean.variable).append("));\n");
+        }
+        code.append("        return beanDefinitions;\n")
+            .append("    }\n")
+            .append("}\n");
+
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(contextClassName);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(code.toString());
+            }
+            FileObject registry = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", AotContext.REGISTRY_LOCATION);
+            try (Writer writer = registry.openWriter()) {
+                writer.write("# Generated by " + getClass().getName() + System.lineSeparator());
+                writer.write(contextPackage + "=" + contextClassName + System.lineSeparator());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Can't write ahead-of-time context " + contextClassName + ": " + e.getMessage());
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+            "Ahead-of-time context " + contextClassName + " has been generated for " + beans.size() + " beans");
+    }
+
+    private List<TypeMirror> parameterTypes(ExecutableElement executable) {
+        return executable.getParameters().stream().map(VariableElement::asType).collect(toList());
+    }
+
+    /**
+     * @return whether the element can be referenced from the code of the package
+     */
+    private boolean isAccessible(Element element, String packageName) {
+        for (Element current = element; !(current instanceof PackageElement); current = current.getEnclosingElement()) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !isInSamePackage(current, packageName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isInSamePackage(Element element, String packageName) {
+        return processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().contentEquals(packageName);
+    }
+
+    private boolean isInPackage(TypeElement typeElement, String packageName) {
+        String elementPackage = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+        return elementPackage.equals(packageName) || elementPackage.startsWith(packageName + ".");
+    }
+
+    private String binaryName(TypeElement typeElement) {
+        return processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+    }
+
+    /**
+     * @return name of the type as returned by {@link Class#getName()} for non-array types
+     */
+    private String typeName(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            return binaryName((TypeElement) ((DeclaredType) type).asElement());
+        }
+        return type.toString();
+    }
+
+    private void error(Element element, String format, Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, args), element);
+    }
+
+    private static class BeanModel {
+        private final String name;
+        private final TypeMirror type;
+        private final boolean primary;
+        private final Element element;
+        private final List<TypeMirror> parameterTypes = new ArrayList<>();
+        private final List<VariableElement> fields = new ArrayList<>();
+        private final List<BeanModel> arguments = new ArrayList<>();
+        private final List<BeanModel> fieldValues = new ArrayList<>();
+        private TypeElement configurationClass;
+        private String variable;
+
+        BeanModel(String name, TypeMirror type, boolean primary, Element element) {
+            this.name = name;
+            this.type = type;
+            this.primary = primary;
+            this.element = element;
+        }
+    }
+}
@@ -1,20 +1,62 @@
 package com.hoverla.bring.context.bean.definition;
 
 import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Lazy;
+import com.hoverla.bring.annotation.Prototype;
 import com.hoverla.bring.context.bean.dependency.BeanDependency;
+import com.hoverla.bring.context.bean.proxy.LazyProxyFactory;
+import com.hoverla.bring.exception.CircularDependencyException;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
+
+import static com.hoverla.bring.common.StringConstants.LAZY_BEAN_IN_CREATION_EXCEPTION;
+import static java.lang.String.format;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 
 /**
  * This class describes the internals of a {@link Bean}
  * and provides a basic BeanDefinition implementation.
+ * <p>
+ * {@link Prototype} and {@link Lazy} beans keep the factory prepared when they are instantiated instead of
+ * the instance. {@link #getInstance()} calls it every time for a prototype bean and once for a lazy one.
+ * A lazy bean is created under the lock of its definition, so lookups of other beans are never blocked.
+ * A lookup of the lazy bean by the thread creating it, e.g. from a post-processor, fails instead of creating
+ * another instance.
+ * <p>
+ * An instance replaced by the instance interceptor is still post-processed itself, so the replacement, e.g. a proxy,
+ * delegates to a fully injected instance.
  */
 public abstract class AbstractBeanDefinition implements BeanDefinition {
-    protected Object instance;
+    protected volatile Object instance;
     protected String name;
     protected Class<?> type;
     protected Map<String, BeanDependency> dependencies;
+    protected boolean prototype;
+    protected boolean lazy;
+    protected boolean background;
+    /**
+     * Creates the instances of a prototype or lazy bean with the resolved dependencies,
+     * set once the bean is instantiated
+     */
+    protected volatile Supplier<Object> instanceFactory;
+    private volatile UnaryOperator<Object> instanceInterceptor;
+    private volatile Consumer<Object> instancePostProcessor;
+    private volatile Object lazyProxy;
+    /**
+     * Singleton instance as it has been created, before it could be replaced by the instance interceptor
+     */
+    private volatile Object targetInstance;
+    /**
+     * Set while the lazy bean is created, guarded by the lock of the definition
+     */
+    private boolean inCreation;
 
     @Override
     public String name() {
@@ -33,11 +75,133 @@ public abstract class AbstractBeanDefinition implements BeanDefinition {
 
     @Override
     public boolean isInstantiated() {
-        return Objects.nonNull(instance);
+        return isCreatedOnDemand() ? Objects.nonNull(instanceFactory) : Objects.nonNull(instance);
     }
 
     @Override
     public Object getInstance() {
-        return instance;
+        if (prototype) {
+            return createInstance();
+        }
+        Object bean = instance;
+        if (bean == null && lazy) {
+            synchronized (this) {
+                bean = instance;
+                if (bean == null) {
+                    bean = createLazyInstance();
+                }
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public Object getTargetInstance() {
+        Object target = targetInstance;
+        return target == null ? getInstance() : target;
+    }
+
+    @Override
+    public Object getInjectableInstance() {
+        if (!lazy || instance != null) {
+            return getInstance();
+        }
+        Object proxy = lazyProxy;
+        if (proxy == null) {
+            proxy = LazyProxyFactory.createProxy(type, this::getInstance).orElse(null);
+            if (proxy == null) {
+                return getInstance();
+            }
+            lazyProxy = proxy;
+        }
+        return proxy;
+    }
+
+    @Override
+    public boolean isPrototype() {
+        return prototype;
+    }
+
+    @Override
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    @Override
+    public boolean isBackground() {
+        return background;
+    }
+
+    @Override
+    public void setInstanceInterceptor(UnaryOperator<Object> instanceInterceptor) {
+        this.instanceInterceptor = instanceInterceptor;
+    }
+
+    @Override
+    public void setInstancePostProcessor(Consumer<Object> instancePostProcessor) {
+        this.instancePostProcessor = instancePostProcessor;
+    }
+
+    /**
+     * Keeps the dependencies in the order they are declared, so the resolved ones can be passed in the same order
+     *
+     * @throws IllegalStateException when two dependencies have the same name
+     */
+    protected static Collector<BeanDependency, ?, Map<String, BeanDependency>> toDependencyMap() {
+        return toMap(BeanDependency::getName, identity(), (dependency, duplicate) -> {
+            throw new IllegalStateException("Duplicate dependency " + dependency.getName());
+        }, LinkedHashMap::new);
+    }
+
+    /**
+     * @return true if the bean is created by {@link #getInstance()} rather than when it is instantiated
+     */
+    protected boolean isCreatedOnDemand() {
+        return prototype || lazy;
+    }
+
+    /**
+     * Keeps the created singleton instance as the target and its replacement returned by the instance interceptor
+     * as the instance of the bean
+     */
+    protected void initializeInstance(Object target) {
+        targetInstance = target;
+        instance = intercept(target);
+    }
+
+    /**
+     * @return the created instance or its replacement returned by the instance interceptor
+     */
+    private Object intercept(Object bean) {
+        UnaryOperator<Object> interceptor = instanceInterceptor;
+        return interceptor == null || bean == null ? bean : interceptor.apply(bean);
+    }
+
+    private Object createLazyInstance() {
+        if (inCreation) {
+            throw new CircularDependencyException(format(LAZY_BEAN_IN_CREATION_EXCEPTION, name));
+        }
+        inCreation = true;
+        try {
+            Object bean = createInstance();
+            instance = bean;
+            return bean;
+        } finally {
+            inCreation = false;
+        }
+    }
+
+    private Object createInstance() {
+        Supplier<Object> factory = instanceFactory;
+        if (factory == null) {
+            return null;
+        }
+        Object target = factory.get();
+        Object bean = intercept(target);
+        Consumer<Object> postProcessor = instancePostProcessor;
+        if (postProcessor != null) {
+            postProcessor.accept(target);
+        }
+        return bean;
     }
-}
\ No newline at end of file
+}
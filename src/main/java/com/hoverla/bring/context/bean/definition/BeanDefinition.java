@@ -1,10 +1,15 @@
 package com.hoverla.bring.context.bean.definition;
 
 import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Background;
+import com.hoverla.bring.annotation.Lazy;
 import com.hoverla.bring.annotation.Primary;
+import com.hoverla.bring.annotation.Prototype;
 import com.hoverla.bring.context.bean.dependency.BeanDependency;
 
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * This class is needed for working with {@link Bean} elements.
@@ -24,7 +29,7 @@ public interface BeanDefinition {
 
     /**
      *
-     * @return All beans related to this Bean Definition
+     * @return All beans related to this Bean Definition, in the order they are declared
      */
     Map<String, BeanDependency> dependencies();
 
@@ -35,15 +40,73 @@ public interface BeanDefinition {
 
     /**
      * Initialized beans by bean definitions
+     *
+     * @param dependencies definitions of the dependencies in any order, they are matched by type and only
+     *                     the dependencies of a common supertype are matched in the order of {@link #dependencies()}
      */
     void instantiate(BeanDefinition... dependencies);
 
     /**
      *
-     * @return Bean instance
+     * @return Bean instance, a new one for every call of a prototype bean
      */
     Object getInstance();
 
+    /**
+     * @return true if a new instance is created every time the bean is requested
+     * @see Prototype
+     */
+    default boolean isPrototype() {
+        return false;
+    }
+
+    /**
+     * @return true if the bean is created on first use rather than when it is instantiated,
+     * which is also the case for a {@link Background} bean until it is created in the background
+     * @see Lazy
+     */
+    default boolean isLazy() {
+        return false;
+    }
+
+    /**
+     * @return true if the bean is created in the background once the context is ready
+     * @see Background
+     */
+    default boolean isBackground() {
+        return false;
+    }
+
+    /**
+     * @return instance injected into other beans, a proxy creating the bean on first use for a lazy bean
+     */
+    default Object getInjectableInstance() {
+        return getInstance();
+    }
+
+    /**
+     * @return instance of a singleton as it has been created, before the instance interceptor could replace it
+     */
+    default Object getTargetInstance() {
+        return getInstance();
+    }
+
+    /**
+     * Sets the function applied to every instance of the bean right after it is created, before it is injected into
+     * other beans. The instance it returns is used instead of the created one.
+     */
+    default void setInstanceInterceptor(UnaryOperator<Object> instanceInterceptor) {
+        // beans created together with their definitions are used as they are
+    }
+
+    /**
+     * Sets the action applied to every instance of a prototype or lazy bean right after it is created. It is given
+     * the created instance rather than its replacement returned by the instance interceptor.
+     */
+    default void setInstancePostProcessor(Consumer<Object> instancePostProcessor) {
+        // beans created together with the context are post-processed by it
+    }
+
     /**
      *
      * @return Determines if the current bean is {@link Primary}
@@ -1,24 +1,51 @@
 package com.hoverla.bring.context.bean.definition;
 
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import static java.util.stream.Collectors.toConcurrentMap;
-import static java.util.stream.Collectors.toList;
 
 /**
  * This class is wrapper for {@link BeanDefinition} represented by Map<String, BeanDefinition> beanDefinitions
+ * <p>
+ * Type lookups are served from indexes built once, when the container is created: every bean definition is
+ * registered under its type and all its superclasses and interfaces, an array bean also under the array types of
+ * the supertypes of its component type. Returned lists are immutable and keep the iteration order of
+ * {@link #getBeanDefinitions()}, nothing is computed or cached for the types without beans.
  */
 public class BeanDefinitionContainer {
     private final Map<String, BeanDefinition> beanDefinitions;
+    private final Map<Class<?>, List<BeanDefinition>> beansByExactType;
+    private final Map<Class<?>, List<BeanDefinition>> beansByAssignableType;
 
     public BeanDefinitionContainer(List<BeanDefinition> beanDefinitions) {
         this.beanDefinitions = beanDefinitions
                 .stream()
                 .collect(toConcurrentMap(BeanDefinition::name, Function.identity()));
+
+        Map<Class<?>, List<BeanDefinition>> exactTypeIndex = new HashMap<>();
+        Map<Class<?>, List<BeanDefinition>> assignableTypeIndex = new HashMap<>();
+        for (BeanDefinition beanDefinition : this.beanDefinitions.values()) {
+            Class<?> type = beanDefinition.type();
+            exactTypeIndex.computeIfAbsent(type, key -> new ArrayList<>()).add(beanDefinition);
+            for (Class<?> supertype : getSupertypes(type)) {
+                assignableTypeIndex.computeIfAbsent(supertype, key -> new ArrayList<>()).add(beanDefinition);
+            }
+        }
+        this.beansByExactType = toImmutableIndex(exactTypeIndex);
+        this.beansByAssignableType = toImmutableIndex(assignableTypeIndex);
     }
 
     public Optional<BeanDefinition> getBeanDefinitionByName(String name) {
@@ -26,20 +53,64 @@ public class BeanDefinitionContainer {
     }
 
     public List<BeanDefinition> getBeansAssignableFromType(Class<?> type) {
-        return beanDefinitions.values()
-                .stream()
-                .filter(beanDefinition -> type.isAssignableFrom(beanDefinition.type()))
-                .collect(toList());
+        return beansByAssignableType.getOrDefault(type, List.of());
     }
 
     public List<BeanDefinition> getBeansWithExactType(Class<?> type) {
-        return beanDefinitions.values()
-                .stream()
-                .filter(beanDefinition -> type.equals(beanDefinition.type()))
-                .collect(toList());
+        return beansByExactType.getOrDefault(type, List.of());
     }
 
     public Collection<BeanDefinition> getBeanDefinitions() {
         return beanDefinitions.values();
     }
-}
\ No newline at end of file
+
+    /**
+     * @return beans by all the types they are assignable to
+     */
+    Map<Class<?>, List<BeanDefinition>> getAssignableTypeIndex() {
+        return beansByAssignableType;
+    }
+
+    /**
+     * @return the type itself, all its superclasses and all interfaces it implements
+     */
+    private static Set<Class<?>> getSupertypes(Class<?> type) {
+        Set<Class<?>> supertypes = new LinkedHashSet<>();
+        if (type.isArray()) {
+            // arrays are covariant, so an array is assignable to the arrays of the supertypes of its component type
+            Class<?> componentType = type.getComponentType();
+            if (componentType.isPrimitive()) {
+                supertypes.add(type);
+            } else {
+                for (Class<?> componentSupertype : getSupertypes(componentType)) {
+                    supertypes.add(Array.newInstance(componentSupertype, 0).getClass());
+                }
+            }
+            supertypes.addAll(List.of(Object.class, Cloneable.class, Serializable.class));
+            return supertypes;
+        }
+        Deque<Class<?>> typesToVisit = new ArrayDeque<>();
+        typesToVisit.add(type);
+        while (!typesToVisit.isEmpty()) {
+            Class<?> current = typesToVisit.poll();
+            if (!supertypes.add(current)) {
+                continue;
+            }
+            if (current.getSuperclass() != null) {
+                typesToVisit.add(current.getSuperclass());
+            }
+            typesToVisit.addAll(List.of(current.getInterfaces()));
+        }
+        if (type.isInterface()) {
+            // interfaces are assignable to Object, though it is not their superclass
+            supertypes.add(Object.class);
+        }
+        return supertypes;
+    }
+
+    private static Map<Class<?>, List<BeanDefinition>> toImmutableIndex(Map<Class<?>, List<BeanDefinition>> index) {
+        Map<Class<?>, List<BeanDefinition>> immutableIndex = new HashMap<>(index.size() * 2);
+        index.forEach((type, definitions) -> immutableIndex.put(type, List.copyOf(definitions)));
+        return Collections.unmodifiableMap(immutableIndex);
+    }
+}
@@ -1,16 +1,31 @@
 package com.hoverla.bring.context.bean.definition;
 
+import com.hoverla.bring.context.bean.instantiation.InstantiationStrategy;
+
 import java.lang.reflect.Method;
 
 /**
  * {@link  BeanDefinitionMapper} using to create {@link BeanDefinition}
  */
 public class BeanDefinitionMapper {
+    private final InstantiationStrategy instantiationStrategy;
+
+    public BeanDefinitionMapper() {
+        this(InstantiationStrategy.reflective());
+    }
+
+    /**
+     * @param instantiationStrategy strategy the created bean definitions use to create and inject beans
+     */
+    public BeanDefinitionMapper(InstantiationStrategy instantiationStrategy) {
+        this.instantiationStrategy = instantiationStrategy;
+    }
+
     public BeanDefinition mapToBeanDefinition(Class<?> beanClass) {
-        return new DefaultBeanDefinition(beanClass);
+        return new DefaultBeanDefinition(beanClass, instantiationStrategy);
     }
 
     public BeanDefinition mapToBeanDefinition(Object configuration, Method beanMethod) {
-        return new ConfigurationBeanDefinition(configuration, beanMethod);
+        return new ConfigurationBeanDefinition(configuration, beanMethod, instantiationStrategy);
     }
 }
\ No newline at end of file
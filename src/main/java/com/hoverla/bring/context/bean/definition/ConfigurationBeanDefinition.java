@@ -1,20 +1,22 @@
 package com.hoverla.bring.context.bean.definition;
 
+import com.hoverla.bring.annotation.Background;
 import com.hoverla.bring.annotation.Bean;
 import com.hoverla.bring.annotation.Configuration;
+import com.hoverla.bring.annotation.Lazy;
 import com.hoverla.bring.annotation.Primary;
+import com.hoverla.bring.annotation.Prototype;
 import com.hoverla.bring.context.bean.dependency.BeanDependency;
-import com.hoverla.bring.context.util.ResolveDependenciesUtil;
+import com.hoverla.bring.context.bean.instantiation.InstantiationStrategy;
+import com.hoverla.bring.context.bean.instantiation.Instantiator;
+import com.hoverla.bring.context.util.DependencySlotPlan;
 import com.hoverla.bring.exception.BeanInstanceCreationException;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.hoverla.bring.common.StringConstants.BEAN_INSTANCE_CREATION_EXCEPTION;
@@ -33,18 +35,28 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 public class ConfigurationBeanDefinition extends AbstractBeanDefinition {
     private final Object configInstance;
     private final Method beanMethod;
+    private final InstantiationStrategy instantiationStrategy;
 
     public ConfigurationBeanDefinition(Object configInstance, Method beanMethod) {
+        this(configInstance, beanMethod, InstantiationStrategy.reflective());
+    }
+
+    public ConfigurationBeanDefinition(Object configInstance, Method beanMethod,
+                                       InstantiationStrategy instantiationStrategy) {
         Objects.requireNonNull(configInstance, CONFIGURATION_CLASS_INSTANCE_ERROR_MESSAGE);
         Objects.requireNonNull(beanMethod, CONFIGURATION_BEAN_METHOD_ERROR_MESSAGE);
         log.debug("Creating the bean definition from method '{}'", beanMethod);
 
         this.configInstance = configInstance;
         this.beanMethod = beanMethod;
+        this.instantiationStrategy = instantiationStrategy;
 
         this.name = resolveName(beanMethod);
         log.trace("Bean name is '{}'", name);
 
+        this.prototype = beanMethod.isAnnotationPresent(Prototype.class);
+        this.background = beanMethod.isAnnotationPresent(Background.class);
+        this.lazy = background || beanMethod.isAnnotationPresent(Lazy.class);
         this.type = getType(beanMethod);
         log.trace("'{}' bean type is '{}'", name, type);
 
@@ -52,15 +64,37 @@ public class ConfigurationBeanDefinition extends AbstractBeanDefinition {
         log.trace("'{}' bean dependencies are {}", name, dependencies);
     }
 
+    /**
+     * @return class of the configuration instance the bean method is called on
+     */
+    public Class<?> getConfigurationClass() {
+        return configInstance.getClass();
+    }
+
+    /**
+     * @return method of the configuration class which creates the bean
+     */
+    public Method getBeanMethod() {
+        return beanMethod;
+    }
+
     @Override
     public void instantiate(BeanDefinition... dependencies) {
         if (!isInstantiated()) {
             log.debug("Instantiating bean: '{}' of type {}", name, type.getName());
-            Map<String, Class<?>> dependenciesMap = Stream.of(dependencies)
-                .collect(toMap(BeanDefinition::name, BeanDefinition::type));
-            log.trace("Bean '{}' of type {} has the following dependencies: {}", name, type.getName(), dependenciesMap);
-            List<BeanDefinition> dependencyList = new ArrayList<>(List.of(dependencies));
-            instance = createInstance(dependencyList);
+            if (log.isTraceEnabled()) {
+                Map<String, Class<?>> dependenciesMap = Stream.of(dependencies)
+                    .collect(toMap(BeanDefinition::name, BeanDefinition::type));
+                log.trace("Bean '{}' of type {} has the following dependencies: {}", name, type.getName(),
+                    dependenciesMap);
+            }
+            Supplier<Object> factory = prepareFactory(dependencies);
+            if (isCreatedOnDemand()) {
+                instanceFactory = factory;
+                log.debug("Bean '{}' of type {} is ready to be created on demand", name, type.getName());
+                return;
+            }
+            initializeInstance(factory.get());
             log.debug("Bean '{}' of type {} has been instantiated", name, type.getName());
         }
     }
@@ -86,17 +120,26 @@ public class ConfigurationBeanDefinition extends AbstractBeanDefinition {
     private Map<String, BeanDependency> resolveDependencies(Method beanMethod) {
         return Stream.of(beanMethod.getParameters())
                 .map(BeanDependency::fromParameter)
-                .collect(toMap(BeanDependency::getName, Function.identity()));
+                .collect(toDependencyMap());
     }
 
-    private Object createInstance(List<BeanDefinition> dependencies) {
+    /**
+     * Resolves the argument slots and the method once, so the factory only fills the arguments
+     */
+    private Supplier<Object> prepareFactory(BeanDefinition[] dependencies) {
         try {
-            Parameter[] parameters = beanMethod.getParameters();
-            Object[] constructorArguments = new Object[parameters.length];
+            DependencySlotPlan plan = DependencySlotPlan.create(dependencies, beanMethod.getParameterTypes(),
+                new Class<?>[0], name);
+            Instantiator instantiator = instantiationStrategy.getInstantiator(configInstance, beanMethod);
+            return () -> createInstance(instantiator, plan);
+        } catch (Exception e) {
+            throw new BeanInstanceCreationException(String.format(BEAN_INSTANCE_CREATION_EXCEPTION, name), e);
+        }
+    }
 
-            List<Parameter> params = new ArrayList<>(List.of(parameters));
-            ResolveDependenciesUtil.resolveDependencies(dependencies, params, constructorArguments, name);
-            return beanMethod.invoke(configInstance, constructorArguments);
+    private Object createInstance(Instantiator instantiator, DependencySlotPlan plan) {
+        try {
+            return instantiator.instantiate(plan.getArguments());
         } catch (Exception e) {
             throw new BeanInstanceCreationException(String.format(BEAN_INSTANCE_CREATION_EXCEPTION, name), e);
         }
@@ -1,11 +1,17 @@
 package com.hoverla.bring.context.bean.definition;
 
 import com.hoverla.bring.annotation.Autowired;
+import com.hoverla.bring.annotation.Background;
 import com.hoverla.bring.annotation.Bean;
 import com.hoverla.bring.annotation.Configuration;
+import com.hoverla.bring.annotation.Lazy;
 import com.hoverla.bring.annotation.Primary;
+import com.hoverla.bring.annotation.Prototype;
 import com.hoverla.bring.context.bean.dependency.BeanDependency;
-import com.hoverla.bring.context.util.ResolveDependenciesUtil;
+import com.hoverla.bring.context.bean.instantiation.FieldAccessor;
+import com.hoverla.bring.context.bean.instantiation.InstantiationStrategy;
+import com.hoverla.bring.context.bean.instantiation.Instantiator;
+import com.hoverla.bring.context.util.DependencySlotPlan;
 import com.hoverla.bring.exception.BeanDependencyInjectionException;
 import com.hoverla.bring.exception.BeanInstanceCreationException;
 import com.hoverla.bring.exception.ConstructorInstantiationFailedException;
@@ -17,12 +23,12 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Parameter;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.hoverla.bring.common.StringConstants.*;
 import static java.util.Collections.emptyMap;
-import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.lang3.ArrayUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -35,32 +41,51 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
  */
 @Slf4j
 public class DefaultBeanDefinition extends AbstractBeanDefinition {
+    private final InstantiationStrategy instantiationStrategy;
     private Constructor<?> constructor;
     private List<Field> autowiredFields;
+    private Class<?>[] fieldTypes;
 
     public DefaultBeanDefinition(Class<?> beanClass) {
+        this(beanClass, InstantiationStrategy.reflective());
+    }
+
+    public DefaultBeanDefinition(Class<?> beanClass, InstantiationStrategy instantiationStrategy) {
         Objects.requireNonNull(beanClass, BEAN_CLASS_ERROR_MESSAGE);
 
+        this.instantiationStrategy = instantiationStrategy;
         this.type = beanClass;
         log.trace("'{}' bean type is '{}'", name, type);
 
         this.name = resolveName(beanClass);
         log.trace("Bean name is '{}'", name);
+        this.prototype = beanClass.isAnnotationPresent(Prototype.class);
+        this.background = beanClass.isAnnotationPresent(Background.class);
+        this.lazy = background || beanClass.isAnnotationPresent(Lazy.class);
 
         this.dependencies = resolveDependencies(beanClass);
         log.trace("'{}' bean dependencies are {}", name, dependencies);
+        this.fieldTypes = autowiredFields.stream().map(Field::getType).toArray(Class<?>[]::new);
     }
 
     @Override
     public void instantiate(BeanDefinition... dependencies) {
         if (!isInstantiated()) {
             log.debug("Instantiating bean: '{}' of type {}", name, type.getName());
-            List<BeanDefinition> dependencyList = new ArrayList<>(List.of(dependencies));
-            Map<String, Class<?>> dependenciesMap = dependencyList.stream()
-                .collect(toMap(BeanDefinition::name, BeanDefinition::type));
-            log.trace("Bean '{}' of type {} has the following dependencies: {}", name, type.getName(), dependenciesMap);
-            instance = createInstance(dependencyList);
-            log.debug("Bean '{}' of type {} has been instantiated", type.getName(), name);
+            if (log.isTraceEnabled()) {
+                Map<String, Class<?>> dependenciesMap = Stream.of(dependencies)
+                    .collect(toMap(BeanDefinition::name, BeanDefinition::type));
+                log.trace("Bean '{}' of type {} has the following dependencies: {}", name, type.getName(),
+                    dependenciesMap);
+            }
+            Supplier<Object> factory = prepareFactory(dependencies);
+            if (isCreatedOnDemand()) {
+                instanceFactory = factory;
+                log.debug("Bean '{}' of type {} is ready to be created on demand", name, type.getName());
+                return;
+            }
+            initializeInstance(factory.get());
+            log.debug("Bean '{}' of type {} has been instantiated", name, type.getName());
         }
     }
 
@@ -79,7 +104,7 @@ public class DefaultBeanDefinition extends AbstractBeanDefinition {
     }
 
     private Map<String, BeanDependency> resolveDependencies(Class<?> beanClass) {
-        Map<String, BeanDependency> allBeanDependencies = new HashMap<>();
+        Map<String, BeanDependency> allBeanDependencies = new LinkedHashMap<>();
         allBeanDependencies.putAll(resolveConstructorDependencies(beanClass));
         allBeanDependencies.putAll(resolveFieldDependencies(beanClass));
 
@@ -110,7 +135,7 @@ public class DefaultBeanDefinition extends AbstractBeanDefinition {
 
         return Stream.of(constructorParams)
                 .map(BeanDependency::fromParameter)
-                .collect(toMap(BeanDependency::getName, identity()));
+                .collect(toDependencyMap());
     }
 
     private Map<String, BeanDependency> resolveFieldDependencies(Class<?> beanClass) {
@@ -124,7 +149,7 @@ public class DefaultBeanDefinition extends AbstractBeanDefinition {
 
         return autowiredFields.stream()
                 .map(BeanDependency::fromField)
-                .collect(toMap(BeanDependency::getName, identity()));
+                .collect(toDependencyMap());
     }
 
     private <T extends AnnotatedElement> List<T> getAutowiredElements(List<T> elements) {
@@ -133,35 +158,49 @@ public class DefaultBeanDefinition extends AbstractBeanDefinition {
                 .collect(Collectors.toList());
     }
 
-    private Object createInstance(List<BeanDefinition> dependencies) {
+    /**
+     * Resolves the argument and field slots and the accessors once, so the factory only fills the arguments
+     * and sets the fields
+     */
+    private Supplier<Object> prepareFactory(BeanDefinition[] dependencies) {
         try {
             Objects.requireNonNull(dependencies);
-            Object beanInstance = createInstanceUsingConstructor(dependencies);
-            if (!dependencies.isEmpty()) {
-                doFieldAutowiring(beanInstance, dependencies);
+            DependencySlotPlan plan = DependencySlotPlan.create(dependencies, constructor.getParameterTypes(),
+                fieldTypes, name);
+            Instantiator instantiator = instantiationStrategy.getInstantiator(constructor);
+            FieldAccessor[] fieldAccessors = dependencies.length == 0
+                ? new FieldAccessor[0]
+                : autowiredFields.stream().map(instantiationStrategy::getFieldAccessor).toArray(FieldAccessor[]::new);
+            return () -> createInstance(instantiator, plan, fieldAccessors);
+        } catch (Exception e) {
+            throw new BeanInstanceCreationException(String.format(BEAN_INSTANCE_CREATION_EXCEPTION, name), e);
+        }
+    }
+
+    private Object createInstance(Instantiator instantiator, DependencySlotPlan plan, FieldAccessor[] fieldAccessors) {
+        try {
+            Object beanInstance = createInstanceUsingConstructor(instantiator, plan);
+            if (fieldAccessors.length > 0) {
+                doFieldAutowiring(beanInstance, plan, fieldAccessors);
             }
-            this.instance = beanInstance;
-            return instance;
+            return beanInstance;
         } catch (Exception e) {
             throw new BeanInstanceCreationException(String.format(BEAN_INSTANCE_CREATION_EXCEPTION, name), e);
         }
     }
 
-    private Object createInstanceUsingConstructor(List<BeanDefinition> dependencies) {
+    private Object createInstanceUsingConstructor(Instantiator instantiator, DependencySlotPlan plan) {
         if (constructor.getParameterCount() == 0) {
             try {
-                return constructor.newInstance();
+                return instantiator.instantiate();
             } catch (Exception e) {
                 throw new ConstructorInstantiationFailedException(String.format(CAN_NOT_CREATE_INSTANCE,
                     constructor.getName()), e);
             }
         }
-        List<Parameter> parameters = new ArrayList<>(List.of(constructor.getParameters()));
-        Object[] constructorArgs = new Object[parameters.size()];
-
-        ResolveDependenciesUtil.resolveDependencies(dependencies, parameters, constructorArgs, name);
+        Object[] constructorArgs = plan.getArguments();
         try {
-            return constructor.newInstance(constructorArgs);
+            return instantiator.instantiate(constructorArgs);
         } catch (Exception e) {
             throw new ConstructorInstantiationFailedException(
                     String.format(
@@ -171,38 +210,21 @@ public class DefaultBeanDefinition extends AbstractBeanDefinition {
         }
     }
 
-    private void doFieldAutowiring(Object beanInstance, List<BeanDefinition> dependencies) {
-        autowiredFields
-                .stream()
-                .sorted(this::subclassesFirst)
-                .forEach(field -> autowireField(beanInstance, field, dependencies));
-
-        verifyFieldAutowiring(beanInstance);
-    }
-
-    private int subclassesFirst(Field field,
-                                Field anotherField) {
-        Class<?> fieldType = field.getType();
-        Class<?> anotherFieldType = anotherField.getType();
-        if (fieldType.isAssignableFrom(anotherFieldType)) {
-            return 1;
+    private void doFieldAutowiring(Object beanInstance, DependencySlotPlan plan, FieldAccessor[] fieldAccessors)
+        throws Exception {
+        boolean allFieldsAutowired = true;
+        for (int i = 0; i < fieldAccessors.length; i++) {
+            Object value = plan.getFieldValue(i);
+            if (value == null) {
+                allFieldsAutowired = false;
+            } else {
+                fieldAccessors[i].set(beanInstance, value);
+            }
         }
-        return -1;
-    }
 
-    private void autowireField(Object beanInstance, Field targetField, List<BeanDefinition> dependencies) {
-        dependencies.stream()
-                .filter(dependency -> fieldMatch(targetField, dependency))
-                .findAny()
-                .ifPresent(dependency -> {
-                    setFieldValue(targetField, beanInstance, dependency);
-                    dependencies.remove(dependency);
-                });
-    }
-
-    private boolean fieldMatch(Field field, BeanDefinition dependencyToMatch) {
-        Class<?> fieldType = field.getType();
-        return fieldType.isAssignableFrom(dependencyToMatch.type());
+        if (!allFieldsAutowired) {
+            verifyFieldAutowiring(beanInstance);
+        }
     }
 
     private void verifyFieldAutowiring(Object beanInstance) {
@@ -220,16 +242,7 @@ public class DefaultBeanDefinition extends AbstractBeanDefinition {
     }
 
     @SneakyThrows
-    @SuppressWarnings("java:S3011")
-    private void setFieldValue(Field field, Object beanInstance, BeanDefinition dependency) {
-        field.setAccessible(true);
-        field.set(beanInstance, dependency.getInstance());
-    }
-
-    @SneakyThrows
-    @SuppressWarnings("java:S3011")
     private boolean injectionFailedForField(Field targetField, Object beanInstance) {
-        targetField.setAccessible(true);
-        return targetField.get(beanInstance) == null;
+        return instantiationStrategy.getFieldAccessor(targetField).get(beanInstance) == null;
     }
 }
\ No newline at end of file
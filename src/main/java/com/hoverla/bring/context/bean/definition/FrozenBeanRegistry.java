@@ -0,0 +1,232 @@
+package com.hoverla.bring.context.bean.definition;
+
+import com.hoverla.bring.annotation.Lazy;
+import com.hoverla.bring.annotation.Primary;
+import com.hoverla.bring.annotation.Prototype;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link FrozenBeanRegistry} is the read-only view of the created beans, compiled from a
+ * {@link BeanDefinitionContainer} once the beans are instantiated.
+ * <p>
+ * Every bean gets an integer id, which is the index of its name, definition and instance in plain arrays.
+ * Names and types are looked up in open-addressing tables with linear probing, so a lookup is a few array reads
+ * without locks, volatile reads or allocations. For every indexed type the bean returned by a lookup by type,
+ * a single bean or the single {@link Primary} one, is resolved during the freeze.
+ * <p>
+ * Instances of singleton beans are kept in the registry, {@link Prototype} beans are created by their definitions
+ * on every lookup and {@link Lazy} beans are returned by their definitions, which create them on the first one.
+ * <p>
+ * All the fields are final and never change, so the registry is safely published by a final field of its owner.
+ * Every type a bean is assignable to is indexed, so a type missing in the table has no beans.
+ */
+public final class FrozenBeanRegistry {
+    private static final int NOT_FOUND = -1;
+
+    private final String[] names;
+    private final BeanDefinition[] definitions;
+    /**
+     * Instances of singleton beans, {@code null} for prototype and lazy ones
+     */
+    private final Object[] instances;
+    /**
+     * Bean id + 1 for each occupied slot, 0 for an empty one
+     */
+    private final int[] nameTable;
+    private final Class<?>[] typeTable;
+    private final int[][] typeBeanIds;
+    /**
+     * Id of the bean returned by a lookup by type, -1 if there is no such bean or it is ambiguous
+     */
+    private final int[] typeBeanId;
+
+    private FrozenBeanRegistry(BeanDefinitionContainer container, Collection<BeanDefinition> beanDefinitions) {
+        int size = beanDefinitions.size();
+        this.names = new String[size];
+        this.definitions = new BeanDefinition[size];
+        this.instances = new Object[size];
+        this.nameTable = new int[tableCapacity(size)];
+
+        Map<BeanDefinition, Integer> ids = new IdentityHashMap<>(size);
+        int id = 0;
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            names[id] = beanDefinition.name();
+            definitions[id] = beanDefinition;
+            instances[id] = beanDefinition.isPrototype() || beanDefinition.isLazy() ? null : beanDefinition.getInstance();
+            ids.put(beanDefinition, id);
+            putName(beanDefinition.name(), id);
+            id++;
+        }
+
+        Map<Class<?>, List<BeanDefinition>> beansByType = container.getAssignableTypeIndex();
+        int capacity = tableCapacity(beansByType.size());
+        this.typeTable = new Class<?>[capacity];
+        this.typeBeanIds = new int[capacity][];
+        this.typeBeanId = new int[capacity];
+        beansByType.forEach((type, typeDefinitions) -> putType(type, typeDefinitions, ids));
+    }
+
+    /**
+     * @param container container with instantiated beans, it must not change afterwards
+     */
+    public static FrozenBeanRegistry freeze(BeanDefinitionContainer container) {
+        return new FrozenBeanRegistry(container, container.getBeanDefinitions());
+    }
+
+    /**
+     * @param initializationOrder all the bean definitions of the container, ids are assigned in this order
+     */
+    public static FrozenBeanRegistry freeze(BeanDefinitionContainer container,
+                                            Collection<BeanDefinition> initializationOrder) {
+        return new FrozenBeanRegistry(container, initializationOrder);
+    }
+
+    /**
+     * @return id of the bean, -1 if there is no bean with the name
+     */
+    public int getBeanId(String name) {
+        int mask = nameTable.length - 1;
+        for (int slot = hash(name.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int id = nameTable[slot] - 1;
+            if (id == NOT_FOUND || names[id].equals(name)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * @return instance of the bean, a new one for every call of a prototype bean
+     */
+    public Object getInstance(int beanId) {
+        Object instance = instances[beanId];
+        return instance != null ? instance : definitions[beanId].getInstance();
+    }
+
+    public BeanDefinition getBeanDefinition(int beanId) {
+        return definitions[beanId];
+    }
+
+    /**
+     * @return the single bean assignable to the type or the single {@link Primary} one among them,
+     * {@code null} if there is no such bean or it is ambiguous
+     */
+    public Object getBean(Class<?> type) {
+        int slot = getTypeSlot(type);
+        if (slot == NOT_FOUND) {
+            return null;
+        }
+        int beanId = typeBeanId[slot];
+        return beanId == NOT_FOUND ? null : getInstance(beanId);
+    }
+
+    /**
+     * @return all the beans assignable to the type, the map is created for each call
+     */
+    public <T> Map<String, T> getBeans(Class<T> type) {
+        int slot = getTypeSlot(type);
+        if (slot == NOT_FOUND) {
+            return new HashMap<>();
+        }
+        int[] beanIds = typeBeanIds[slot];
+        Map<String, T> beans = new HashMap<>(beanIds.length * 2);
+        for (int beanId : beanIds) {
+            beans.put(names[beanId], type.cast(getInstance(beanId)));
+        }
+        return beans;
+    }
+
+    /**
+     * @return definitions of the beans assignable to the type in the order of the container
+     */
+    public List<BeanDefinition> getBeanDefinitions(Class<?> type) {
+        int slot = getTypeSlot(type);
+        if (slot == NOT_FOUND) {
+            return List.of();
+        }
+        int[] beanIds = typeBeanIds[slot];
+        BeanDefinition[] beanDefinitions = new BeanDefinition[beanIds.length];
+        for (int i = 0; i < beanIds.length; i++) {
+            beanDefinitions[i] = definitions[beanIds[i]];
+        }
+        return List.of(beanDefinitions);
+    }
+
+    /**
+     * @return number of beans, ids are the numbers from 0 to size - 1
+     */
+    public int size() {
+        return names.length;
+    }
+
+    private int getTypeSlot(Class<?> type) {
+        int mask = typeTable.length - 1;
+        for (int slot = hash(type.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            Class<?> slotType = typeTable[slot];
+            if (slotType == type) {
+                return slot;
+            }
+            if (slotType == null) {
+                return NOT_FOUND;
+            }
+        }
+    }
+
+    private void putName(String name, int id) {
+        int mask = nameTable.length - 1;
+        int slot = hash(name.hashCode()) & mask;
+        while (nameTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        nameTable[slot] = id + 1;
+    }
+
+    private void putType(Class<?> type, List<BeanDefinition> typeDefinitions, Map<BeanDefinition, Integer> ids) {
+        int mask = typeTable.length - 1;
+        int slot = hash(type.hashCode()) & mask;
+        while (typeTable[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        typeTable[slot] = type;
+        typeBeanIds[slot] = typeDefinitions.stream().mapToInt(ids::get).toArray();
+        typeBeanId[slot] = resolveBeanId(typeDefinitions, ids);
+    }
+
+    /**
+     * Follows the lookup by type of the context: a single bean, otherwise the single bean of a {@link Primary} type
+     */
+    private static int resolveBeanId(List<BeanDefinition> typeDefinitions, Map<BeanDefinition, Integer> ids) {
+        if (typeDefinitions.size() == 1) {
+            return ids.get(typeDefinitions.get(0));
+        }
+        int primaryBeanId = NOT_FOUND;
+        for (BeanDefinition beanDefinition : typeDefinitions) {
+            if (beanDefinition.type().isAnnotationPresent(Primary.class)) {
+                if (primaryBeanId != NOT_FOUND) {
+                    return NOT_FOUND;
+                }
+                primaryBeanId = ids.get(beanDefinition);
+            }
+        }
+        return primaryBeanId;
+    }
+
+    /**
+     * @return power of two that keeps the table at most half full
+     */
+    private static int tableCapacity(int size) {
+        int capacity = 2;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+}
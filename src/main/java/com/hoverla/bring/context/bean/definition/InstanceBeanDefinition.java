@@ -0,0 +1,38 @@
+package com.hoverla.bring.context.bean.definition;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.context.aot.AotContextProcessor;
+
+import java.util.HashMap;
+import java.util.Objects;
+
+import static com.hoverla.bring.common.StringConstants.BEAN_INSTANCE_ERROR_MESSAGE;
+
+/**
+ * This class describes a {@link Bean} which has already been created outside of the bean initialization,
+ * e.g. by the context generated ahead of time. It has no dependencies and can't be instantiated again.
+ *
+ * @see AotContextProcessor
+ */
+public class InstanceBeanDefinition extends AbstractBeanDefinition {
+    private final boolean primary;
+
+    public InstanceBeanDefinition(String name, Class<?> type, boolean primary, Object instance) {
+        Objects.requireNonNull(instance, BEAN_INSTANCE_ERROR_MESSAGE);
+        this.name = name;
+        this.type = type;
+        this.primary = primary;
+        this.instance = instance;
+        this.dependencies = new HashMap<>();
+    }
+
+    @Override
+    public void instantiate(BeanDefinition... dependencies) {
+        // the instance has been created together with the definition
+    }
+
+    @Override
+    public boolean isPrimary() {
+        return primary;
+    }
+}
@@ -7,67 +7,125 @@ import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
 import com.hoverla.bring.exception.BeanInstanceCreationException;
 import com.hoverla.bring.exception.MissingDependencyException;
 import com.hoverla.bring.exception.NoUniqueBeanException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.tuple.Pair;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import static com.hoverla.bring.common.StringConstants.BEAN_INSTANCE_CREATION_SAME_CANDIDATE_EXCEPTION;
 import static com.hoverla.bring.common.StringConstants.MISSING_DEPENDENCY_EXCEPTION;
 import static com.hoverla.bring.common.StringConstants.NO_UNIQUE_BEAN_EXCEPTION;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toUnmodifiableList;
 
 /**
  * {@link BeanDependencyNameResolver} its util class using to resolve {@link BeanDependency} names.
+ * <p>
+ * Dependencies are resolved in a single pass over the container. Candidates of every requested type, including
+ * the {@link Primary} ones, are looked up once and shared by all the dependencies of that type. Problems of the
+ * dependencies are collected into the {@link BeanDependencyResolutionPlan}, so the graph is validated and resolved
+ * in the same pass.
  */
 @Slf4j
 public class BeanDependencyNameResolver {
-    public void resolveDependencyNames(BeanDefinitionContainer container) {
+
+    /**
+     * Replaces the default names of the dependencies with the names of the matching beans
+     *
+     * @return definitions of the dependencies of every bean
+     * @throws RuntimeException the first problem of the dependencies, e.g. {@link MissingDependencyException}
+     */
+    public BeanDependencyResolutionPlan resolveDependencyNames(BeanDefinitionContainer container) {
+        BeanDependencyResolutionPlan plan = createResolutionPlan(container);
+        if (!plan.getProblems().isEmpty()) {
+            throw plan.getProblems().get(0);
+        }
+        return plan;
+    }
+
+    /**
+     * Resolves the dependencies of all the beans in parallel and replaces the default names of the dependencies
+     * with the names of the matching beans. Problems are collected into the plan instead of being thrown, the
+     * dependencies of a bean having problems aren't renamed.
+     *
+     * @return definitions of the dependencies of every bean and the problems of all of them
+     */
+    public BeanDependencyResolutionPlan createResolutionPlan(BeanDefinitionContainer container) {
         log.debug("Resolving dependency names for each bean definition before initialization");
 
-        for (BeanDefinition beanDefinition : container.getBeanDefinitions()) {
-            Map<String, BeanDependency> beanDependencies = beanDefinition.dependencies();
+        Map<Class<?>, TypeCandidates> candidatesByType = new ConcurrentHashMap<>();
+        List<BeanResolution> resolutions = container.getBeanDefinitions().parallelStream()
+            .map(beanDefinition -> resolveDependencies(beanDefinition, container, candidatesByType))
+            .collect(toList());
 
-            if (beanDependencies.isEmpty()) {
-                continue;
+        Map<BeanDefinition, List<BeanDefinition>> plan = new IdentityHashMap<>();
+        List<RuntimeException> problems = new ArrayList<>();
+        for (BeanResolution resolution : resolutions) {
+            if (resolution.problems.isEmpty()) {
+                plan.put(resolution.beanDefinition, resolution.dependencies);
             }
+            problems.addAll(resolution.problems);
+        }
+        return new BeanDependencyResolutionPlan(container, plan, problems);
+    }
 
-            log.trace("Verifying names of {} dependencies of bean definition {} - {} ",
-                beanDependencies.size(), beanDefinition.name(), beanDefinition.type().getName());
-
-            List<Pair<String, String>> oldToNewNames = beanDependencies.values()
-                .stream()
-                .map(dependency -> resolveDependencyName(dependency, beanDefinition, container))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    private BeanResolution resolveDependencies(BeanDefinition beanDefinition, BeanDefinitionContainer container,
+                                               Map<Class<?>, TypeCandidates> candidatesByType) {
+        Map<String, BeanDependency> beanDependencies = beanDefinition.dependencies();
+        if (beanDependencies.isEmpty()) {
+            return new BeanResolution(beanDefinition, List.of(), List.of());
+        }
 
-            Map<String, BeanDependency> oldDependencies = Map.copyOf(beanDependencies);
+        log.trace("Verifying names of {} dependencies of bean definition {} - {} ",
+            beanDependencies.size(), beanDefinition.name(), beanDefinition.type().getName());
 
-            oldToNewNames.forEach(namePair -> replaceOldName(namePair, beanDependencies));
-            if (oldDependencies.size() != beanDependencies.size()) {
-                throw new BeanInstanceCreationException(format(BEAN_INSTANCE_CREATION_SAME_CANDIDATE_EXCEPTION, beanDefinition.name()));
+        List<BeanDefinition> dependencies = new ArrayList<>(beanDependencies.size());
+        List<RuntimeException> problems = new ArrayList<>();
+        for (BeanDependency dependency : beanDependencies.values()) {
+            try {
+                dependencies.add(resolveDependency(dependency, beanDefinition, container, candidatesByType));
+            } catch (MissingDependencyException | NoUniqueBeanException e) {
+                problems.add(e);
             }
         }
+        if (problems.isEmpty() && dependencies.stream().map(BeanDefinition::name).distinct().count()
+            != beanDependencies.size()) {
+            problems.add(new BeanInstanceCreationException(
+                format(BEAN_INSTANCE_CREATION_SAME_CANDIDATE_EXCEPTION, beanDefinition.name())));
+        }
+        if (!problems.isEmpty()) {
+            return new BeanResolution(beanDefinition, List.of(), problems);
+        }
+
+        renameDependencies(beanDependencies, dependencies);
+        return new BeanResolution(beanDefinition, List.copyOf(dependencies), List.of());
     }
 
-    private void replaceOldName(Pair<String, String> oldNameToNewName, Map<String, BeanDependency> beanDependencies) {
-        String oldName = oldNameToNewName.getLeft();
-        String newName = oldNameToNewName.getRight();
-        BeanDependency oldDependency = beanDependencies.remove(oldName);
-        oldDependency.setName(newName);
-        beanDependencies.put(newName, oldDependency);
+    /**
+     * Names the dependencies after the beans they are resolved to, keeping them in the order they are declared
+     */
+    private void renameDependencies(Map<String, BeanDependency> beanDependencies,
+                                    List<BeanDefinition> resolvedDependencies) {
+        List<BeanDependency> declaredDependencies = new ArrayList<>(beanDependencies.values());
+        beanDependencies.clear();
+        for (int i = 0; i < declaredDependencies.size(); i++) {
+            BeanDependency dependency = declaredDependencies.get(i);
+            dependency.setName(resolvedDependencies.get(i).name());
+            beanDependencies.put(dependency.getName(), dependency);
+        }
     }
 
     /**
-     * In this method we are resolving the rootDefinition dependency name. By default, it's the class name,
+     * In this method we are resolving the rootDefinition dependency. By default, its name is the class name,
      * but using the {@link Bean} annotation, we can set another name for the bean definition.
      * If that's the case, we should go through the matching beans from container.
      * If there is more than one matching bean, we should select the {@link Primary} bean.
@@ -76,53 +134,39 @@ public class BeanDependencyNameResolver {
      * @param targetDependency the dependency we're trying to inject into rootDefinition
      * @param rootDefinition the bean definition in which we try to inject the targetDependency
      * @param container the bean definition container
-     * @return pair of ola and new name of rootDefinition dependency
+     * @param candidatesByType candidates of the types resolved so far
+     * @return the bean definition to inject
      */
-    @Nullable
-    private Pair<String, String> resolveDependencyName(BeanDependency targetDependency,
-                                                       BeanDefinition rootDefinition,
-                                                       BeanDefinitionContainer container) {
+    private BeanDefinition resolveDependency(BeanDependency targetDependency,
+                                             BeanDefinition rootDefinition,
+                                             BeanDefinitionContainer container,
+                                             Map<Class<?>, TypeCandidates> candidatesByType) {
         String dependencyName = targetDependency.getName();
         Class<?> dependencyType = targetDependency.getType();
 
-        if (container.getBeanDefinitionByName(dependencyName).isPresent()) {
-            return null;
+        Optional<BeanDefinition> beanWithSameName = container.getBeanDefinitionByName(dependencyName);
+        if (beanWithSameName.isPresent()) {
+            return beanWithSameName.get();
         }
 
         log.debug("Resolving dependency: {}. Trying to find the matching bean definition by type: {} ",
             dependencyName, dependencyType.getName());
 
-        List<BeanDefinition> sameTypeBeans = container.getBeansWithExactType(dependencyType);
+        TypeCandidates candidates = candidatesByType.computeIfAbsent(dependencyType,
+            type -> new TypeCandidates(type, container));
+        BeanDefinition matchingDependency = candidates.sameTypeMatch != null
+            ? candidates.sameTypeMatch
+            : findMatchingDependency(candidates, targetDependency, rootDefinition);
 
-        List<BeanDefinition> sameTypeBeansCopy = new ArrayList<>(sameTypeBeans);
-        Optional<BeanDefinition> optionalDependency;
-        optionalDependency = findMatchingDependencyFirstTry(sameTypeBeansCopy);
-        BeanDefinition matchingDependency;
-        if (optionalDependency.isEmpty()) {
-            List<BeanDefinition> assignableBeans = container.getBeansAssignableFromType(dependencyType);
-
-            List<BeanDefinition> assignableBeansCopy = new ArrayList<>(assignableBeans);
-            assignableBeansCopy.remove(rootDefinition);
-
-            matchingDependency = findMatchingDependency(assignableBeansCopy, targetDependency, rootDefinition);
-        } else {
-            matchingDependency = optionalDependency.orElseThrow(() ->
-                new MissingDependencyException(String.format(MISSING_DEPENDENCY_EXCEPTION, dependencyType, dependencyName,
-                    rootDefinition.name())));
-        }
-
-        String newDependencyName = matchingDependency.name();
-        if (newDependencyName.equals(dependencyName)) {
+        if (matchingDependency.name().equals(dependencyName)) {
             log.debug("Replacement is not needed. Dependency has the same default name of field/parameter");
-            return null;
+        } else {
+            log.debug("Replacing the default name '{}' with '{}' for bean definition with type {}, which is a " +
+                    "dependency of bean with name '{}' and type {}",
+                dependencyName, matchingDependency.name(), matchingDependency.type().getName(), rootDefinition.name(),
+                rootDefinition.type().getName());
         }
-
-        log.debug("Replacing the default name '{}' with '{}' for bean definition with type {}, which is a dependency of " +
-                "bean with name '{}' and type {}",
-            dependencyName, newDependencyName, matchingDependency.type().getName(), rootDefinition.name(),
-            rootDefinition.type().getName());
-
-        return Pair.of(dependencyName, newDependencyName);
+        return matchingDependency;
     }
 
     private Supplier<String> getMatchingBeanMessage(List<BeanDefinition> beanDefinitions) {
@@ -131,30 +175,74 @@ public class BeanDependencyNameResolver {
             .collect(joining(", "));
     }
 
-
-    private Optional<BeanDefinition> findMatchingDependencyFirstTry(List<BeanDefinition> dependencies) {
-        if (dependencies.size() > 1) {
-            return dependencies.stream()
-                .filter(BeanDefinition::isPrimary)
-                .findFirst();
-        }
-        return dependencies.stream().findFirst();
-    }
-    private BeanDefinition findMatchingDependency(List<BeanDefinition> dependencies, BeanDependency targetDependency,
+    /**
+     * Looks for the bean among the assignable ones, except the bean the dependency is injected into
+     */
+    private BeanDefinition findMatchingDependency(TypeCandidates candidates, BeanDependency targetDependency,
                                                   BeanDefinition rootDefinition) {
-        if (dependencies.size() > 1) {
+        boolean rootIsCandidate = candidates.isAssignable(rootDefinition);
+        int candidateCount = candidates.assignableBeans.size() - (rootIsCandidate ? 1 : 0);
+        if (candidateCount > 1) {
             log.trace("Found more than one matching bean definition. Need to find the @Primary bean definition");
-            Supplier<String> errorMessageSupplier = getMatchingBeanMessage(dependencies);
-
-            return dependencies.stream()
-                .filter(BeanDefinition::isPrimary)
+            return candidates.primaryBeans.stream()
+                .filter(beanDefinition -> beanDefinition != rootDefinition)
                 .findFirst()
                 .orElseThrow(() -> new NoUniqueBeanException(format(NO_UNIQUE_BEAN_EXCEPTION,
-                    targetDependency.getType().getSimpleName(), errorMessageSupplier.get())));
+                    targetDependency.getType().getSimpleName(),
+                    getMatchingBeanMessage(candidates.getAssignableBeansExcept(rootDefinition)).get())));
         }
-        return dependencies.stream().findFirst().orElseThrow(() ->
+        return candidates.getAssignableBeansExcept(rootDefinition).stream().findFirst().orElseThrow(() ->
             new MissingDependencyException(String.format(MISSING_DEPENDENCY_EXCEPTION, targetDependency.getType(),
                 targetDependency.getName(),
                 rootDefinition.name())));
     }
-}
\ No newline at end of file
+
+    /**
+     * Definitions of the dependencies of a bean, empty if the bean has problems
+     */
+    @RequiredArgsConstructor
+    private static class BeanResolution {
+        private final BeanDefinition beanDefinition;
+        private final List<BeanDefinition> dependencies;
+        private final List<RuntimeException> problems;
+    }
+
+    /**
+     * Candidates for the dependencies of a type, looked up once per {@link #createResolutionPlan} call
+     */
+    private static class TypeCandidates {
+        private final Class<?> type;
+        /**
+         * The single bean of exactly this type or the first {@link Primary} one, {@code null} if there is none
+         */
+        @Nullable
+        private final BeanDefinition sameTypeMatch;
+        private final List<BeanDefinition> assignableBeans;
+        private final List<BeanDefinition> primaryBeans;
+
+        TypeCandidates(Class<?> type, BeanDefinitionContainer container) {
+            this.type = type;
+            List<BeanDefinition> sameTypeBeans = container.getBeansWithExactType(type);
+            this.sameTypeMatch = sameTypeBeans.size() > 1
+                ? sameTypeBeans.stream().filter(BeanDefinition::isPrimary).findFirst().orElse(null)
+                : sameTypeBeans.stream().findFirst().orElse(null);
+            this.assignableBeans = sameTypeMatch == null ? container.getBeansAssignableFromType(type) : List.of();
+            this.primaryBeans = assignableBeans.stream()
+                .filter(BeanDefinition::isPrimary)
+                .collect(toUnmodifiableList());
+        }
+
+        boolean isAssignable(BeanDefinition beanDefinition) {
+            return type.isAssignableFrom(beanDefinition.type());
+        }
+
+        List<BeanDefinition> getAssignableBeansExcept(BeanDefinition beanDefinition) {
+            if (!isAssignable(beanDefinition)) {
+                return assignableBeans;
+            }
+            List<BeanDefinition> beans = new ArrayList<>(assignableBeans);
+            beans.remove(beanDefinition);
+            return beans;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.hoverla.bring.context.bean.dependency;
+
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link BeanDependencyResolutionPlan} holds the bean definitions injected into every bean of a container,
+ * as resolved by {@link BeanDependencyNameResolver}, together with the problems of the dependencies which can't be
+ * resolved. The plan is immutable.
+ * <p>
+ * Dependencies resolved before, e.g. restored from
+ * {@link com.hoverla.bring.context.bean.snapshot.WiringPlanSnapshot}, are passed on through {@link #of}.
+ */
+public final class BeanDependencyResolutionPlan {
+    private final BeanDefinitionContainer container;
+    private final Map<BeanDefinition, List<BeanDefinition>> dependencies;
+    private final List<RuntimeException> problems;
+
+    BeanDependencyResolutionPlan(BeanDefinitionContainer container,
+                                 Map<BeanDefinition, List<BeanDefinition>> dependencies,
+                                 List<RuntimeException> problems) {
+        this.container = container;
+        this.dependencies = new IdentityHashMap<>(dependencies);
+        this.problems = List.copyOf(problems);
+    }
+
+    /**
+     * @param dependencies definitions of the dependencies of every bean in the order of
+     *                     {@link BeanDefinition#dependencies()}
+     * @return plan of the dependencies without problems
+     */
+    public static BeanDependencyResolutionPlan of(BeanDefinitionContainer container,
+                                                  Map<BeanDefinition, List<BeanDefinition>> dependencies) {
+        return new BeanDependencyResolutionPlan(container, dependencies, List.of());
+    }
+
+    /**
+     * @return container the dependencies have been resolved in
+     */
+    public BeanDefinitionContainer getContainer() {
+        return container;
+    }
+
+    /**
+     * @return definitions of the dependencies in the order of {@link BeanDefinition#dependencies()},
+     * an empty list for a bean unknown to the plan or having problems
+     */
+    public List<BeanDefinition> getDependencies(BeanDefinition beanDefinition) {
+        return dependencies.getOrDefault(beanDefinition, List.of());
+    }
+
+    /**
+     * @return problems of the dependencies in the order of {@link BeanDefinitionContainer#getBeanDefinitions()},
+     * empty if all of them have been resolved
+     */
+    public List<RuntimeException> getProblems() {
+        return problems;
+    }
+}
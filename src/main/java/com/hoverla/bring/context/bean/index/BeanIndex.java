@@ -0,0 +1,108 @@
+package com.hoverla.bring.context.bean.index;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Configuration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link BeanIndex} is a read-only view of the {@value #INDEX_LOCATION} files generated at compile time
+ * by {@link BeanIndexProcessor}.
+ * <p>
+ * Every line of the index maps a class name to the stereotype annotations it is marked with
+ * ({@link Bean}, {@link Configuration} or both, separated by {@value #STEREOTYPE_SEPARATOR}).
+ * All index files found on the classpath are merged.
+ *
+ * @see BeanIndexProcessor
+ */
+@Slf4j
+public class BeanIndex {
+    public static final String INDEX_LOCATION = "META-INF/bring/components.idx";
+    static final String STEREOTYPE_SEPARATOR = ",";
+
+    private final Map<String, Set<String>> stereotypes;
+
+    BeanIndex(Map<String, Set<String>> stereotypes) {
+        this.stereotypes = Collections.unmodifiableMap(new TreeMap<>(stereotypes));
+    }
+
+    /**
+     * @return index merged from all {@value #INDEX_LOCATION} resources visible to the class loader or empty
+     * if there are no such resources
+     */
+    public static Optional<BeanIndex> load(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> indexUrls = classLoader.getResources(INDEX_LOCATION);
+            if (!indexUrls.hasMoreElements()) {
+                log.debug("No bean index found at '{}'", INDEX_LOCATION);
+                return Optional.empty();
+            }
+            Map<String, Set<String>> stereotypes = new TreeMap<>();
+            while (indexUrls.hasMoreElements()) {
+                URL indexUrl = indexUrls.nextElement();
+                log.debug("Loading bean index from {}", indexUrl);
+                try (InputStream inputStream = indexUrl.openStream()) {
+                    readIndex(inputStream).forEach((className, classStereotypes) -> stereotypes
+                        .computeIfAbsent(className, name -> new TreeSet<>()).addAll(classStereotypes));
+                }
+            }
+            return Optional.of(new BeanIndex(stereotypes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't load bean index from " + INDEX_LOCATION, e);
+        }
+    }
+
+    /**
+     * @return sorted names of the indexed classes marked with the stereotype that belong to one of the packages
+     */
+    public List<String> getCandidates(Class<? extends Annotation> stereotype, String... packagesToScan) {
+        String stereotypeName = stereotype.getName();
+        return stereotypes.entrySet()
+            .stream()
+            .filter(entry -> entry.getValue().contains(stereotypeName))
+            .map(Map.Entry::getKey)
+            .filter(className -> isInPackages(className, packagesToScan))
+            .collect(toList());
+    }
+
+    /**
+     * @return true if the index has classes of the package or its subpackages
+     */
+    public boolean covers(String packageName) {
+        return stereotypes.keySet().stream().anyMatch(className -> isInPackages(className, packageName));
+    }
+
+    private static boolean isInPackages(String className, String... packagesToScan) {
+        return Arrays.stream(packagesToScan)
+            .anyMatch(packageName -> className.startsWith(packageName + "."));
+    }
+
+    /**
+     * @return stereotypes of every class of the index
+     */
+    static Map<String, Set<String>> readIndex(InputStream inputStream) throws IOException {
+        Properties properties = new Properties();
+        properties.load(inputStream);
+        Map<String, Set<String>> stereotypes = new TreeMap<>();
+        properties.forEach((className, classStereotypes) -> stereotypes.put((String) className,
+            new TreeSet<>(Arrays.asList(((String) classStereotypes).split(STEREOTYPE_SEPARATOR)))));
+        return stereotypes;
+    }
+}
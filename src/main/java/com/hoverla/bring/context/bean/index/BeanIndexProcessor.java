@@ -0,0 +1,132 @@
+package com.hoverla.bring.context.bean.index;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Configuration;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor which writes the {@value BeanIndex#INDEX_LOCATION} index of all classes annotated
+ * with {@link Bean} or {@link Configuration} in the current compilation.
+ * <p>
+ * The index left by a previous compilation in the output directory is merged, so an incremental compilation keeps
+ * the classes which haven't been recompiled. Entries of classes which no longer exist or are no longer annotated
+ * are removed. A class annotated with both stereotypes is indexed with both of them.
+ * <p>
+ * With the index on the classpath Bring reads bean candidates from it instead of scanning the classpath.
+ * Only classes annotated directly are indexed.
+ * <p>
+ * Usage (maven-compiler-plugin):
+ * {@code
+ *     <annotationProcessors>
+ *         <annotationProcessor>com.hoverla.bring.context.bean.index.BeanIndexProcessor</annotationProcessor>
+ *     </annotationProcessors>
+ * }
+ *
+ * @see BeanIndex
+ */
+@SupportedAnnotationTypes({"com.hoverla.bring.annotation.Bean", "com.hoverla.bring.annotation.Configuration"})
+public class BeanIndexProcessor extends AbstractProcessor {
+    private final Map<String, Set<String>> stereotypes = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            collectTypes(roundEnv, Bean.class);
+            collectTypes(roundEnv, Configuration.class);
+        }
+        return false;
+    }
+
+    private void collectTypes(RoundEnvironment roundEnv, Class<? extends Annotation> stereotype) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(stereotype)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                String className = processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+                stereotypes.computeIfAbsent(className, name -> new TreeSet<>()).add(stereotype.getName());
+            }
+        }
+    }
+
+    private void writeIndex() {
+        mergePreviousIndex();
+        if (stereotypes.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject index = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", BeanIndex.INDEX_LOCATION);
+            try (Writer writer = index.openWriter()) {
+                writer.write("# Generated by " + getClass().getName() + System.lineSeparator());
+                for (Map.Entry<String, Set<String>> entry : stereotypes.entrySet()) {
+                    writer.write(entry.getKey() + "=" + String.join(BeanIndex.STEREOTYPE_SEPARATOR, entry.getValue())
+                        + System.lineSeparator());
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Can't write bean index " + BeanIndex.INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the entries of the index in the output directory whose classes haven't been processed in this compilation
+     * and are still annotated with the stereotype, e.g. the classes an incremental compilation hasn't recompiled
+     */
+    private void mergePreviousIndex() {
+        Map<String, Set<String>> previousStereotypes;
+        try {
+            FileObject previousIndex = processingEnv.getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, "", BeanIndex.INDEX_LOCATION);
+            try (InputStream inputStream = previousIndex.openInputStream()) {
+                previousStereotypes = BeanIndex.readIndex(inputStream);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // there is no index of a previous compilation
+            return;
+        }
+        previousStereotypes.forEach((className, classStereotypes) -> {
+            if (stereotypes.containsKey(className)) {
+                return;
+            }
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(className.replace('$', '.'));
+            if (type == null) {
+                return;
+            }
+            for (String stereotype : classStereotypes) {
+                if (isAnnotatedWith(type, stereotype)) {
+                    stereotypes.computeIfAbsent(className, name -> new TreeSet<>()).add(stereotype);
+                }
+            }
+        });
+    }
+
+    private static boolean isAnnotatedWith(TypeElement type, String annotationName) {
+        return type.getAnnotationMirrors().stream()
+            .anyMatch(annotation -> ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+                .contentEquals(annotationName));
+    }
+}
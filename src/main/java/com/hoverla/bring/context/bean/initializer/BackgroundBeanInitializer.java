@@ -0,0 +1,94 @@
+package com.hoverla.bring.context.bean.initializer;
+
+import com.hoverla.bring.annotation.Background;
+import com.hoverla.bring.context.BeanReadyListener;
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link BackgroundBeanInitializer} creates the {@link Background} beans once the context is ready.
+ * <p>
+ * Every background bean is created by its own task, submitted in the initialization order. Until then the bean is
+ * lazy: the beans depending on it hold a proxy, and a lookup of it waits only for its own creation, or creates it
+ * if the task hasn't started yet. Either way the bean is created once.
+ * <p>
+ * Unless an executor is given, the default executor of {@link ParallelBeanInitializer} is used and shut down
+ * once all the background beans are created.
+ */
+@Slf4j
+public final class BackgroundBeanInitializer {
+    private final Map<String, CompletableFuture<Object>> beans;
+    private final CompletableFuture<Void> readiness;
+
+    private BackgroundBeanInitializer(Map<String, CompletableFuture<Object>> beans) {
+        this.beans = beans;
+        this.readiness = CompletableFuture.allOf(beans.values().toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * @param beanDefinitions definitions of all the beans in the initialization order
+     * @param executor executor background beans are created on, {@code null} to use the default one
+     */
+    public static BackgroundBeanInitializer start(Collection<BeanDefinition> beanDefinitions, Executor executor) {
+        Map<String, CompletableFuture<Object>> beans = new LinkedHashMap<>();
+        Executor backgroundExecutor = executor;
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            if (!beanDefinition.isBackground()) {
+                continue;
+            }
+            if (backgroundExecutor == null) {
+                backgroundExecutor = ParallelBeanInitializer.createDefaultExecutor("bring-background-");
+            }
+            beans.put(beanDefinition.name(), submit(beanDefinition, backgroundExecutor));
+        }
+        var initializer = new BackgroundBeanInitializer(beans);
+        if (executor == null && backgroundExecutor != null) {
+            ExecutorService defaultExecutor = (ExecutorService) backgroundExecutor;
+            initializer.readiness.whenComplete((ignored, failure) -> defaultExecutor.shutdown());
+        }
+        return initializer;
+    }
+
+    /**
+     * @return future completed when all the background beans are created, completed exceptionally if any fails
+     */
+    public CompletableFuture<Void> getReadiness() {
+        return readiness;
+    }
+
+    public void addListener(BeanReadyListener listener) {
+        beans.forEach((name, bean) -> bean.whenComplete((instance, failure) -> {
+            if (failure == null) {
+                listener.onBeanReady(name, instance);
+            } else {
+                listener.onBeanFailed(name, failure);
+            }
+        }));
+    }
+
+    private static CompletableFuture<Object> submit(BeanDefinition beanDefinition, Executor executor) {
+        var bean = new CompletableFuture<>();
+        Runnable creation = () -> {
+            try {
+                bean.complete(beanDefinition.getInstance());
+                log.debug("Background bean '{}' has been created", beanDefinition.name());
+            } catch (RuntimeException | Error e) {
+                log.error("Background bean '{}' can't be created", beanDefinition.name(), e);
+                bean.completeExceptionally(e);
+            }
+        };
+        try {
+            executor.execute(creation);
+        } catch (RuntimeException e) {
+            bean.completeExceptionally(e);
+        }
+        return bean;
+    }
+}
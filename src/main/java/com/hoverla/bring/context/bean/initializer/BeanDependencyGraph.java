@@ -0,0 +1,214 @@
+package com.hoverla.bring.context.bean.initializer;
+
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyResolutionPlan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Dependencies between the bean definitions of a container, as given by a {@link BeanDependencyResolutionPlan}.
+ * Beans are referred to by their index in {@link BeanDefinitionContainer#getBeanDefinitions()}.
+ * <p>
+ * The graph is built and sorted once, in time linear to the number of beans and dependencies.
+ */
+class BeanDependencyGraph {
+    private final BeanDefinition[] beanDefinitions;
+    /**
+     * Dependencies of every bean in the order of {@link BeanDefinition#dependencies()}
+     */
+    private final BeanDefinition[][] dependencies;
+    private final int[][] dependencyIds;
+    private final int[][] dependentIds;
+    private final int[] initializationOrder;
+
+    BeanDependencyGraph(BeanDependencyResolutionPlan resolutionPlan) {
+        this.beanDefinitions = resolutionPlan.getContainer().getBeanDefinitions().toArray(BeanDefinition[]::new);
+        int size = beanDefinitions.length;
+        Map<BeanDefinition, Integer> ids = new IdentityHashMap<>(size);
+        for (int id = 0; id < size; id++) {
+            ids.put(beanDefinitions[id], id);
+        }
+
+        this.dependencies = new BeanDefinition[size][];
+        this.dependencyIds = new int[size][];
+        int[] dependentCounts = new int[size];
+        for (int id = 0; id < size; id++) {
+            dependencies[id] = resolutionPlan.getDependencies(beanDefinitions[id]).toArray(BeanDefinition[]::new);
+            dependencyIds[id] = new int[dependencies[id].length];
+            for (int i = 0; i < dependencies[id].length; i++) {
+                int dependencyId = ids.get(dependencies[id][i]);
+                dependencyIds[id][i] = dependencyId;
+                dependentCounts[dependencyId]++;
+            }
+        }
+
+        this.dependentIds = new int[size][];
+        for (int id = 0; id < size; id++) {
+            dependentIds[id] = new int[dependentCounts[id]];
+        }
+        int[] filled = new int[size];
+        for (int id = 0; id < size; id++) {
+            for (int dependencyId : dependencyIds[id]) {
+                dependentIds[dependencyId][filled[dependencyId]++] = id;
+            }
+        }
+        this.initializationOrder = sortTopologically();
+    }
+
+    int size() {
+        return beanDefinitions.length;
+    }
+
+    BeanDefinition getBeanDefinition(int id) {
+        return beanDefinitions[id];
+    }
+
+    BeanDefinition[] getDependencies(int id) {
+        return dependencies[id];
+    }
+
+    int[] getDependencyIds(int id) {
+        return dependencyIds[id];
+    }
+
+    /**
+     * @return ids of the beans which depend on the bean
+     */
+    int[] getDependentIds(int id) {
+        return dependentIds[id];
+    }
+
+    /**
+     * @return ids of the beans in the order they can be created, every bean follows its dependencies.
+     * Beans which form cycles or depend on them are missing.
+     */
+    int[] getInitializationOrder() {
+        return initializationOrder;
+    }
+
+    /**
+     * @return definitions in the order they can be created
+     * @see #getInitializationOrder()
+     */
+    List<BeanDefinition> getInitializationOrderDefinitions() {
+        List<BeanDefinition> orderedDefinitions = new ArrayList<>(initializationOrder.length);
+        for (int id : initializationOrder) {
+            orderedDefinitions.add(beanDefinitions[id]);
+        }
+        return orderedDefinitions;
+    }
+
+    boolean hasCycles() {
+        return initializationOrder.length < size();
+    }
+
+    /**
+     * Finds the strongly connected components of the graph with Tarjan's algorithm, iteratively,
+     * so that long dependency chains don't overflow the stack.
+     *
+     * @return components which form cycles, i.e. with more than one bean or with a bean depending on itself,
+     * each one in the order of the container
+     */
+    List<List<BeanDefinition>> getCycles() {
+        int size = size();
+        int[] index = new int[size];
+        int[] lowLink = new int[size];
+        int[] nextDependency = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] componentStack = new int[size];
+        int[] callStack = new int[size];
+        Arrays.fill(index, -1);
+        int componentStackSize = 0;
+        int nextIndex = 0;
+        List<List<BeanDefinition>> cycles = new ArrayList<>();
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int callStackSize = 0;
+            callStack[callStackSize++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            componentStack[componentStackSize++] = root;
+            onStack[root] = true;
+
+            while (callStackSize > 0) {
+                int id = callStack[callStackSize - 1];
+                if (nextDependency[id] < dependencyIds[id].length) {
+                    int dependencyId = dependencyIds[id][nextDependency[id]++];
+                    if (index[dependencyId] == -1) {
+                        callStack[callStackSize++] = dependencyId;
+                        index[dependencyId] = lowLink[dependencyId] = nextIndex++;
+                        componentStack[componentStackSize++] = dependencyId;
+                        onStack[dependencyId] = true;
+                    } else if (onStack[dependencyId]) {
+                        lowLink[id] = Math.min(lowLink[id], index[dependencyId]);
+                    }
+                    continue;
+                }
+
+                callStackSize--;
+                if (callStackSize > 0) {
+                    int callerId = callStack[callStackSize - 1];
+                    lowLink[callerId] = Math.min(lowLink[callerId], lowLink[id]);
+                }
+                if (lowLink[id] == index[id]) {
+                    List<Integer> component = new ArrayList<>();
+                    int memberId;
+                    do {
+                        memberId = componentStack[--componentStackSize];
+                        onStack[memberId] = false;
+                        component.add(memberId);
+                    } while (memberId != id);
+                    if (component.size() > 1 || dependsOnItself(id)) {
+                        cycles.add(component.stream()
+                            .sorted()
+                            .map(componentId -> beanDefinitions[componentId])
+                            .collect(toList()));
+                    }
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private boolean dependsOnItself(int id) {
+        for (int dependencyId : dependencyIds[id]) {
+            if (dependencyId == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Kahn's algorithm: beans without unresolved dependencies are taken one by one in the order of the container
+     */
+    private int[] sortTopologically() {
+        int size = size();
+        int[] remainingDependencies = new int[size];
+        int[] order = new int[size];
+        int tail = 0;
+        for (int id = 0; id < size; id++) {
+            remainingDependencies[id] = dependencyIds[id].length;
+            if (remainingDependencies[id] == 0) {
+                order[tail++] = id;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            for (int dependentId : dependentIds[order[head]]) {
+                if (--remainingDependencies[dependentId] == 0) {
+                    order[tail++] = dependentId;
+                }
+            }
+        }
+        return Arrays.copyOf(order, tail);
+    }
+}
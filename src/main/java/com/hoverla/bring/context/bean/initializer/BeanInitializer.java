@@ -1,45 +1,110 @@
 package com.hoverla.bring.context.bean.initializer;
 
+import com.hoverla.bring.context.StartupListener;
 import com.hoverla.bring.context.bean.definition.BeanDefinition;
 import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
-import com.hoverla.bring.context.bean.dependency.BeanDependency;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyResolutionPlan;
 import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
 import com.hoverla.bring.exception.BeanInitializePhaseException;
-import com.hoverla.bring.exception.NoSuchBeanException;
+import com.hoverla.bring.exception.CircularDependencyException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Collection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static com.hoverla.bring.common.StringConstants.CAN_NOT_INITIALIZE_BEANS_EXCEPTION;
-import static com.hoverla.bring.common.StringConstants.NO_SUCH_BEAN_EXCEPTION_BY_NAME_TYPE;
+import static com.hoverla.bring.common.StringConstants.CIRCULAR_DEPENDENCY_EXCEPTION;
+import static com.hoverla.bring.context.StartupPhase.DEPENDENCY_RESOLUTION;
+import static com.hoverla.bring.context.StartupPhase.INITIALIZATION;
 import static java.lang.String.format;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 /**
  * {@link BeanInitializer} this class using for initialize beans.
+ * <p>
+ * Beans are created in the topological order of their dependencies, which is computed once without recursion.
+ * Circular dependencies are reported with every group of beans depending on each other.
  */
 @Slf4j
 @RequiredArgsConstructor
 public class BeanInitializer {
     private final BeanDependencyNameResolver dependencyNameResolver;
 
-    public void initialize(BeanDefinitionContainer container) {
-        log.debug("Bean initialization has been started");
+    /**
+     * @return bean definitions in the order they have been initialized, every bean follows its dependencies
+     */
+    public List<BeanDefinition> initialize(BeanDefinitionContainer container) {
+        return initialize(container, StartupListener.NONE);
+    }
 
-        dependencyNameResolver.resolveDependencyNames(container);
+    /**
+     * @param startupListener listener notified of the dependency resolution and the initialization phases
+     * @return bean definitions in the order they have been initialized, every bean follows its dependencies
+     */
+    public List<BeanDefinition> initialize(BeanDefinitionContainer container, StartupListener startupListener) {
+        startupListener.onPhaseStarted(DEPENDENCY_RESOLUTION);
+        long resolutionStart = System.nanoTime();
+        BeanDependencyResolutionPlan resolutionPlan = dependencyNameResolver.resolveDependencyNames(container);
+        return initialize(resolutionPlan, startupListener, resolutionStart);
+    }
+
+    /**
+     * Initializes the beans of the plan's container with the dependencies resolved in advance, e.g. by
+     * {@link com.hoverla.bring.context.bean.validation.BeanDefinitionValidator}, without resolving them again
+     *
+     * @param resolutionPlan plan without problems
+     * @param startupListener listener notified of the dependency resolution and the initialization phases
+     * @return bean definitions in the order they have been initialized, every bean follows its dependencies
+     */
+    public List<BeanDefinition> initialize(BeanDependencyResolutionPlan resolutionPlan,
+                                           StartupListener startupListener) {
+        startupListener.onPhaseStarted(DEPENDENCY_RESOLUTION);
+        return initialize(resolutionPlan, startupListener, System.nanoTime());
+    }
 
-        Collection<BeanDefinition> beanDefinitions = container.getBeanDefinitions();
+    private List<BeanDefinition> initialize(BeanDependencyResolutionPlan resolutionPlan,
+                                            StartupListener startupListener, long resolutionStart) {
+        log.debug("Bean initialization has been started");
         try {
-            beanDefinitions.forEach(beanDefinition -> doInitialize(beanDefinition, container));
+            var graph = new BeanDependencyGraph(resolutionPlan);
+            if (graph.hasCycles()) {
+                throw new CircularDependencyException(format(CIRCULAR_DEPENDENCY_EXCEPTION, describeCycles(graph)));
+            }
+            startupListener.onPhaseCompleted(DEPENDENCY_RESOLUTION, elapsedSince(resolutionStart));
+
+            startupListener.onPhaseStarted(INITIALIZATION);
+            long initializationStart = System.nanoTime();
+            initializeBeans(graph);
+            startupListener.onPhaseCompleted(INITIALIZATION, elapsedSince(initializationStart));
+            return graph.getInitializationOrderDefinitions();
         } catch (Exception ex) {
             throw new BeanInitializePhaseException(CAN_NOT_INITIALIZE_BEANS_EXCEPTION, ex);
         }
     }
 
-    private void doInitialize(BeanDefinition definitionToInitialize, BeanDefinitionContainer container) {
+    private static Duration elapsedSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Instantiates the beans of the acyclic graph. Exceptions are wrapped into {@link BeanInitializePhaseException}.
+     */
+    void initializeBeans(BeanDependencyGraph graph) {
+        for (int id : graph.getInitializationOrder()) {
+            doInitialize(graph.getBeanDefinition(id), graph.getDependencies(id));
+        }
+    }
+
+    private void doInitialize(BeanDefinition definitionToInitialize, BeanDefinition[] beanDependencies) {
         if (definitionToInitialize.isInstantiated()) {
             return;
         }
@@ -47,37 +112,53 @@ public class BeanInitializer {
         String typeName = definitionToInitialize.type().getName();
         log.trace("Initializing the bean definition with name '{}' and type {}", beanName, typeName);
 
-        BeanDefinition[] beanDependencies = getBeanDependencies(definitionToInitialize, container);
-        int dependenciesCount = beanDependencies.length;
-        if (dependenciesCount == 0) {
+        if (beanDependencies.length == 0) {
             definitionToInitialize.instantiate();
             return;
         }
-        Map<String, Class<?>> dependenciesMap = Stream.of(beanDependencies)
-            .collect(toMap(BeanDefinition::name, BeanDefinition::type));
-        log.debug("Bean '{}' of type {} has the following dependencies: {}", beanName, typeName, dependenciesMap);
-
-        for (BeanDefinition beanDependency : beanDependencies) {
-            if (!beanDependency.isInstantiated()) {
-                doInitialize(beanDependency, container);
-            }
+        if (log.isDebugEnabled()) {
+            Map<String, Class<?>> dependenciesMap = Stream.of(beanDependencies)
+                .collect(toMap(BeanDefinition::name, BeanDefinition::type));
+            log.debug("Bean '{}' of type {} has the following dependencies: {}", beanName, typeName, dependenciesMap);
         }
         definitionToInitialize.instantiate(beanDependencies);
     }
 
-    private BeanDefinition[] getBeanDependencies(BeanDefinition rootDefinition, BeanDefinitionContainer container) {
-        return rootDefinition.dependencies()
-            .values()
-            .stream()
-            .map(dependency -> getDependency(dependency, rootDefinition, container))
-            .toArray(BeanDefinition[]::new);
+    /**
+     * @return every group of beans depending on each other together with one of the cycles in it,
+     * e.g. {@code [a, b, c] (a -> b -> a)}, sorted by bean names
+     */
+    static String describeCycles(BeanDependencyGraph graph) {
+        return graph.getCycles().stream()
+            .map(component -> component.stream().sorted(comparing(BeanDefinition::name)).collect(toList()))
+            .sorted(comparing(component -> component.get(0).name()))
+            .map(BeanInitializer::describeCycle)
+            .collect(joining(", "));
+    }
+
+    private static String describeCycle(List<BeanDefinition> component) {
+        List<BeanDefinition> path = new ArrayList<>();
+        Set<BeanDefinition> visited = new HashSet<>();
+        BeanDefinition current = component.get(0);
+        while (visited.add(current)) {
+            path.add(current);
+            current = getDependencyIn(current, component);
+        }
+        List<BeanDefinition> cycle = new ArrayList<>(path.subList(path.indexOf(current), path.size()));
+        cycle.add(current);
+
+        return component.stream().map(BeanDefinition::name).collect(joining(", ", "[", "]"))
+            + cycle.stream().map(BeanDefinition::name).collect(joining(" -> ", " (", ")"));
     }
 
-    private BeanDefinition getDependency(BeanDependency dependency, BeanDefinition rootDefinition,
-                                         BeanDefinitionContainer container) {
-        return container
-            .getBeanDefinitionByName(dependency.getName())
-            .orElseThrow(() -> new NoSuchBeanException(format(NO_SUCH_BEAN_EXCEPTION_BY_NAME_TYPE,
-                dependency.getName(), rootDefinition.name())));
+    /**
+     * @return dependency of the bean within its strongly connected component, which always exists
+     */
+    private static BeanDefinition getDependencyIn(BeanDefinition beanDefinition, List<BeanDefinition> component) {
+        Set<String> dependencyNames = beanDefinition.dependencies().keySet();
+        return component.stream()
+            .filter(member -> dependencyNames.contains(member.name()))
+            .findFirst()
+            .orElseThrow();
     }
 }
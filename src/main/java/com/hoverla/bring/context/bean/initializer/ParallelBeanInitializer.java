@@ -0,0 +1,178 @@
+package com.hoverla.bring.context.bean.initializer;
+
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link ParallelBeanInitializer} instantiates independent beans concurrently.
+ * <p>
+ * Beans form a graph by their resolved dependencies. Every bean is submitted to the executor as soon as all its
+ * dependencies are instantiated, so the initialization takes as long as the longest chain of dependent beans
+ * rather than the sum of all beans. When a bean fails, no more beans are started, the ones already running are
+ * awaited and the first failure is reported.
+ * <p>
+ * Unless an executor is given, a virtual thread per bean is used on Java 21 and later, otherwise a pool with
+ * a thread per processor. That executor is shut down once the beans are initialized.
+ */
+@Slf4j
+public class ParallelBeanInitializer extends BeanInitializer {
+    private final Executor executor;
+
+    public ParallelBeanInitializer(BeanDependencyNameResolver dependencyNameResolver) {
+        this(dependencyNameResolver, null);
+    }
+
+    /**
+     * @param executor executor beans are instantiated on, {@code null} to use the default one
+     */
+    public ParallelBeanInitializer(BeanDependencyNameResolver dependencyNameResolver, Executor executor) {
+        super(dependencyNameResolver);
+        this.executor = executor;
+    }
+
+    @Override
+    void initializeBeans(BeanDependencyGraph graph) {
+        if (executor != null) {
+            new Initialization(graph, executor).run();
+            return;
+        }
+        ExecutorService defaultExecutor = createDefaultExecutor("bring-initializer-");
+        try {
+            new Initialization(graph, defaultExecutor).run();
+        } finally {
+            defaultExecutor.shutdown();
+        }
+    }
+
+    /**
+     * @param threadNamePrefix prefix of the names of pool threads, virtual threads are not named
+     */
+    static ExecutorService createDefaultExecutor(String threadNamePrefix) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.trace("Virtual threads are not available, beans are initialized on a thread pool");
+        }
+        var threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            var thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+    }
+
+    /**
+     * State of a single {@link #initializeBeans(BeanDependencyGraph)} call
+     */
+    private static class Initialization {
+        private final BeanDependencyGraph graph;
+        private final Executor executor;
+        private final AtomicInteger[] remainingDependencies;
+        private final AtomicInteger remainingBeans;
+        /**
+         * Beans submitted to the executor and not finished yet
+         */
+        private final AtomicInteger runningBeans = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        Initialization(BeanDependencyGraph graph, Executor executor) {
+            this.graph = graph;
+            this.executor = executor;
+            this.remainingDependencies = new AtomicInteger[graph.size()];
+            this.remainingBeans = new AtomicInteger(graph.size());
+        }
+
+        void run() {
+            if (graph.size() == 0) {
+                return;
+            }
+            for (int id = 0; id < graph.size(); id++) {
+                remainingDependencies[id] = new AtomicInteger(graph.getDependencyIds(id).length);
+            }
+            // holds the completion back until all the independent beans are submitted
+            runningBeans.incrementAndGet();
+            for (int id = 0; id < graph.size(); id++) {
+                if (remainingDependencies[id].get() == 0) {
+                    submit(id);
+                }
+            }
+            finishRunning();
+            await();
+        }
+
+        private void submit(int id) {
+            if (failure.get() != null) {
+                return;
+            }
+            runningBeans.incrementAndGet();
+            try {
+                executor.execute(() -> initialize(id));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                finishRunning();
+            }
+        }
+
+        private void initialize(int id) {
+            try {
+                if (failure.get() != null) {
+                    return;
+                }
+                BeanDefinition beanDefinition = graph.getBeanDefinition(id);
+                if (!beanDefinition.isInstantiated()) {
+                    log.trace("Initializing the bean definition with name '{}' on thread {}",
+                        beanDefinition.name(), Thread.currentThread().getName());
+                    beanDefinition.instantiate(graph.getDependencies(id));
+                }
+                if (remainingBeans.decrementAndGet() == 0) {
+                    completion.complete(null);
+                }
+                for (int dependentId : graph.getDependentIds(id)) {
+                    if (remainingDependencies[dependentId].decrementAndGet() == 0) {
+                        submit(dependentId);
+                    }
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                finishRunning();
+            }
+        }
+
+        private void finishRunning() {
+            if (runningBeans.decrementAndGet() == 0 && failure.get() != null) {
+                completion.completeExceptionally(failure.get());
+            }
+        }
+
+        private void await() {
+            try {
+                completion.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bean initialization has been interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+}
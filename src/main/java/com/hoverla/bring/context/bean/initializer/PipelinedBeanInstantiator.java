@@ -0,0 +1,94 @@
+package com.hoverla.bring.context.bean.initializer;
+
+import com.hoverla.bring.annotation.Primary;
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.exception.BeanInitializePhaseException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static com.hoverla.bring.common.StringConstants.CAN_NOT_INITIALIZE_BEANS_EXCEPTION;
+
+/**
+ * {@link PipelinedBeanInstantiator} instantiates beans without dependencies as soon as their definitions are
+ * scanned, while the scan goes on. The bytecode scanner reports the definitions while it reads the classes,
+ * the other scanners report them once their classpath scan is done, so the instantiation overlaps only
+ * with mapping the scanned classes to definitions.
+ * <p>
+ * Only the definitions without problems of their own are offered, but the problems between the definitions,
+ * e.g. duplicate bean names, are found after the scan, when such beans may have already been created.
+ * <p>
+ * Beans with dependencies wait for the scan to finish: only the complete set of beans tells whether a dependency
+ * is missing, ambiguous or resolved to a {@link Primary} bean. They are initialized by {@link BeanInitializer},
+ * which skips the beans already instantiated.
+ * <p>
+ * Unless an executor is given, the default executor of {@link ParallelBeanInitializer} is used and shut down
+ * when the instantiator is closed.
+ */
+@Slf4j
+public final class PipelinedBeanInstantiator implements AutoCloseable {
+    private final Executor executor;
+    private final ExecutorService defaultExecutor;
+    private final List<CompletableFuture<Void>> instantiations = Collections.synchronizedList(new ArrayList<>());
+
+    public PipelinedBeanInstantiator() {
+        this(null);
+    }
+
+    /**
+     * @param executor executor beans are instantiated on, {@code null} to use the default one
+     */
+    public PipelinedBeanInstantiator(@Nullable Executor executor) {
+        this.defaultExecutor = executor == null ? ParallelBeanInitializer.createDefaultExecutor("bring-pipeline-") : null;
+        this.executor = executor == null ? defaultExecutor : executor;
+    }
+
+    /**
+     * Submits the bean to be instantiated if it has no dependencies, can be called concurrently
+     */
+    public void offer(BeanDefinition beanDefinition) {
+        if (!beanDefinition.dependencies().isEmpty()) {
+            return;
+        }
+        instantiations.add(CompletableFuture.runAsync(() -> {
+            log.trace("Instantiating the bean definition with name '{}' while scanning", beanDefinition.name());
+            beanDefinition.instantiate();
+        }, executor));
+    }
+
+    /**
+     * Waits until all the beans offered so far are instantiated
+     *
+     * @throws BeanInitializePhaseException if any of them has failed
+     */
+    public void awaitInstantiated() {
+        CompletableFuture<?>[] submitted;
+        synchronized (instantiations) {
+            submitted = instantiations.toArray(CompletableFuture[]::new);
+        }
+        try {
+            CompletableFuture.allOf(submitted).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new BeanInitializePhaseException(CAN_NOT_INITIALIZE_BEANS_EXCEPTION,
+                cause instanceof Exception ? (Exception) cause : e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (defaultExecutor != null) {
+            defaultExecutor.shutdown();
+        }
+    }
+}
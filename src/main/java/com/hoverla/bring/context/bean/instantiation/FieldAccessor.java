@@ -0,0 +1,11 @@
+package com.hoverla.bring.context.bean.instantiation;
+
+/**
+ * Reads and writes a bean field prepared by an {@link InstantiationStrategy}, regardless of its visibility.
+ */
+public interface FieldAccessor {
+
+    Object get(Object bean) throws Exception;
+
+    void set(Object bean, Object value) throws Exception;
+}
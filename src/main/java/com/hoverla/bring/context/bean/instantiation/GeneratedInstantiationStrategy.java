@@ -0,0 +1,181 @@
+package com.hoverla.bring.context.bean.instantiation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.stream.Stream;
+
+/**
+ * Creates beans through factories generated with {@link LambdaMetafactory} once per constructor and method.
+ * A generated factory calls the constructor or method directly, the same way a hand-written lambda would.
+ * <p>
+ * {@link LambdaMetafactory} can only call public constructors and methods of public classes visible from the class
+ * loader of Bring, with up to {@value #MAX_ARITY} parameters including the target of a method. Other constructors
+ * and methods, as well as fields, which can't be accessed by a generated lambda at all, are served by
+ * {@link MethodHandleInstantiationStrategy}.
+ */
+@Slf4j
+class GeneratedInstantiationStrategy implements InstantiationStrategy {
+    static final GeneratedInstantiationStrategy INSTANCE =
+        new GeneratedInstantiationStrategy(MethodHandleInstantiationStrategy.INSTANCE);
+
+    private static final int MAX_ARITY = 3;
+    private static final String FACTORY_METHOD_NAME = "create";
+    private static final Class<?>[] FACTORY_TYPES = {Factory0.class, Factory1.class, Factory2.class, Factory3.class};
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private final MemberCache cache = new MemberCache();
+    private final MethodHandleInstantiationStrategy methodHandles;
+
+    GeneratedInstantiationStrategy(MethodHandleInstantiationStrategy methodHandles) {
+        this.methodHandles = methodHandles;
+    }
+
+    @Override
+    public Instantiator getInstantiator(Constructor<?> constructor) {
+        Invoker invoker = cache.get(constructor, () -> {
+            Invoker generated = canGenerate(constructor, constructor.getParameterCount())
+                ? generate(lookup.unreflectConstructor(constructor), false)
+                : null;
+            if (generated == null) {
+                Instantiator instantiator = methodHandles.getInstantiator(constructor);
+                return (target, arguments) -> instantiator.instantiate(arguments);
+            }
+            return generated;
+        });
+        return arguments -> invoker.invoke(null, arguments);
+    }
+
+    @Override
+    public Instantiator getInstantiator(Object target, Method method) {
+        Invoker invoker = cache.get(method, () -> {
+            Invoker generated = !Modifier.isStatic(method.getModifiers())
+                && canGenerate(method, method.getParameterCount() + 1)
+                ? generate(lookup.unreflect(method), true)
+                : null;
+            if (generated == null) {
+                return (methodTarget, arguments) ->
+                    methodHandles.getInstantiator(methodTarget, method).instantiate(arguments);
+            }
+            return generated;
+        });
+        return arguments -> invoker.invoke(target, arguments);
+    }
+
+    @Override
+    public FieldAccessor getFieldAccessor(Field field) {
+        return methodHandles.getFieldAccessor(field);
+    }
+
+    private boolean canGenerate(Executable executable, int arity) {
+        Class<?> declaringClass = executable.getDeclaringClass();
+        boolean accessible = arity <= MAX_ARITY
+            && Modifier.isPublic(executable.getModifiers())
+            && Modifier.isPublic(declaringClass.getModifiers())
+            && (declaringClass.getEnclosingClass() == null || Modifier.isStatic(declaringClass.getModifiers()))
+            && Stream.concat(Stream.of(declaringClass), Stream.of(executable.getParameterTypes()))
+                .allMatch(this::isVisible);
+        if (!accessible) {
+            log.debug("Factory can't be generated for {}, method handles are used instead", executable);
+        }
+        return accessible;
+    }
+
+    /**
+     * Generated factories are defined by the class loader of Bring, so they can only refer to the classes it sees
+     */
+    private boolean isVisible(Class<?> type) {
+        Class<?> elementType = type;
+        while (elementType.isArray()) {
+            elementType = elementType.getComponentType();
+        }
+        if (elementType.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(elementType.getName(), false, getClass().getClassLoader()) == elementType;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param implementation constructor or method handle, the target of a method is its first parameter
+     * @return invoker of the generated factory, {@code null} if the factory can't be generated
+     */
+    private Invoker generate(MethodHandle implementation, boolean hasTarget) throws Exception {
+        int arity = implementation.type().parameterCount();
+        Object factory;
+        try {
+            factory = LambdaMetafactory.metafactory(lookup, FACTORY_METHOD_NAME,
+                    MethodType.methodType(FACTORY_TYPES[arity]), MethodType.genericMethodType(arity),
+                    implementation, implementation.type().wrap())
+                .getTarget()
+                .invoke();
+        } catch (LambdaConversionException e) {
+            log.debug("Factory can't be generated for {}, method handles are used instead", implementation, e);
+            return null;
+        } catch (Throwable e) {
+            throw MethodHandleInstantiationStrategy.rethrow(e);
+        }
+
+        if (hasTarget) {
+            switch (arity) {
+                case 1:
+                    return (target, arguments) -> ((Factory1) factory).create(target);
+                case 2:
+                    return (target, arguments) -> ((Factory2) factory).create(target, arguments[0]);
+                default:
+                    return (target, arguments) -> ((Factory3) factory).create(target, arguments[0], arguments[1]);
+            }
+        }
+        switch (arity) {
+            case 0:
+                return (target, arguments) -> ((Factory0) factory).create();
+            case 1:
+                return (target, arguments) -> ((Factory1) factory).create(arguments[0]);
+            case 2:
+                return (target, arguments) -> ((Factory2) factory).create(arguments[0], arguments[1]);
+            default:
+                return (target, arguments) ->
+                    ((Factory3) factory).create(arguments[0], arguments[1], arguments[2]);
+        }
+    }
+
+    @FunctionalInterface
+    interface Invoker {
+        /**
+         * @param target target of a method, ignored for constructors
+         */
+        Object invoke(Object target, Object[] arguments) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface Factory0 {
+        Object create();
+    }
+
+    @FunctionalInterface
+    interface Factory1 {
+        Object create(Object first);
+    }
+
+    @FunctionalInterface
+    interface Factory2 {
+        Object create(Object first, Object second);
+    }
+
+    @FunctionalInterface
+    interface Factory3 {
+        Object create(Object first, Object second, Object third);
+    }
+}
@@ -0,0 +1,43 @@
+package com.hoverla.bring.context.bean.instantiation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * {@link InstantiationStrategy} decides how beans are created and how their fields are injected.
+ * <p>
+ * Implementations:
+ * <ul>
+ *     <li>{@link #reflective()} - {@code Constructor.newInstance}, {@code Method.invoke} and {@code Field.set}
+ *     on every call, used by default</li>
+ *     <li>{@link #methodHandles()} - method handles created once per constructor, method and field</li>
+ *     <li>{@link #generated()} - factories generated with {@link java.lang.invoke.LambdaMetafactory} once per
+ *     constructor and method</li>
+ * </ul>
+ * Prepared instantiators and accessors are cached by the strategies, so repeated context creation
+ * and prototype beans don't pay for the preparation again.
+ */
+public interface InstantiationStrategy {
+
+    Instantiator getInstantiator(Constructor<?> constructor);
+
+    /**
+     * @param target object the method is called on, e.g. the configuration instance
+     */
+    Instantiator getInstantiator(Object target, Method method);
+
+    FieldAccessor getFieldAccessor(Field field);
+
+    static InstantiationStrategy reflective() {
+        return ReflectiveInstantiationStrategy.INSTANCE;
+    }
+
+    static InstantiationStrategy methodHandles() {
+        return MethodHandleInstantiationStrategy.INSTANCE;
+    }
+
+    static InstantiationStrategy generated() {
+        return GeneratedInstantiationStrategy.INSTANCE;
+    }
+}
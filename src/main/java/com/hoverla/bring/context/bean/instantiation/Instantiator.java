@@ -0,0 +1,15 @@
+package com.hoverla.bring.context.bean.instantiation;
+
+/**
+ * Creates a bean by a constructor or a configuration method prepared by an {@link InstantiationStrategy}.
+ */
+@FunctionalInterface
+public interface Instantiator {
+
+    /**
+     * @param arguments arguments in the order of the constructor or method parameters
+     * @return created bean
+     * @throws Exception exception thrown by the constructor or method, or the reflective one
+     */
+    Object instantiate(Object... arguments) throws Exception;
+}
@@ -0,0 +1,43 @@
+package com.hoverla.bring.context.bean.instantiation;
+
+import com.hoverla.bring.exception.BeanInstanceCreationException;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hoverla.bring.common.StringConstants.BEAN_INSTANTIATION_PREPARATION_EXCEPTION;
+
+/**
+ * Values prepared once per constructor, method or field. They are kept per declaring class with {@link ClassValue},
+ * so the cache doesn't keep classes of other class loaders from being unloaded.
+ */
+class MemberCache {
+    private final ClassValue<Map<Member, Object>> values = new ClassValue<>() {
+        @Override
+        protected Map<Member, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * @return cached value of the member, which is created by the factory on the first call
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Member member, MemberValueFactory<T> factory) {
+        return (T) values.get(member.getDeclaringClass()).computeIfAbsent(member, key -> {
+            try {
+                return factory.create();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new BeanInstanceCreationException(String.format(BEAN_INSTANTIATION_PREPARATION_EXCEPTION, member), e);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    interface MemberValueFactory<T> {
+        T create() throws Exception;
+    }
+}
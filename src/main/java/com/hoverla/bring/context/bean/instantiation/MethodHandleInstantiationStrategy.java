@@ -0,0 +1,102 @@
+package com.hoverla.bring.context.bean.instantiation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Calls constructors, methods and fields through method handles, which are created once per member.
+ */
+class MethodHandleInstantiationStrategy implements InstantiationStrategy {
+    static final MethodHandleInstantiationStrategy INSTANCE = new MethodHandleInstantiationStrategy();
+
+    private final MemberCache cache = new MemberCache();
+
+    @Override
+    public Instantiator getInstantiator(Constructor<?> constructor) {
+        MethodHandle handle = cache.get(constructor, () -> lookup(constructor.getDeclaringClass())
+            .unreflectConstructor(constructor)
+            .asType(MethodType.genericMethodType(constructor.getParameterCount()))
+            .asSpreader(Object[].class, constructor.getParameterCount()));
+        return arguments -> {
+            try {
+                return (Object) handle.invokeExact(arguments);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public Instantiator getInstantiator(Object target, Method method) {
+        MethodHandle handle = cache.get(method, () -> {
+            MethodHandle methodHandle = lookup(method.getDeclaringClass()).unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                // the target is ignored, as Method.invoke does for static methods
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+            }
+            return methodHandle
+                .asType(MethodType.genericMethodType(method.getParameterCount() + 1))
+                .asSpreader(Object[].class, method.getParameterCount());
+        });
+        return arguments -> {
+            try {
+                return (Object) handle.invokeExact(target, arguments);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("java:S3011")
+    public FieldAccessor getFieldAccessor(Field field) {
+        return cache.get(field, () -> {
+            // lets the setter write final fields, as reflection does
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = lookup(field.getDeclaringClass());
+            MethodHandle getter = lookup.unreflectGetter(field)
+                .asType(MethodType.genericMethodType(1));
+            MethodHandle setter = lookup.unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return new FieldAccessor() {
+                @Override
+                public Object get(Object bean) throws Exception {
+                    try {
+                        return (Object) getter.invokeExact(bean);
+                    } catch (Throwable e) {
+                        throw rethrow(e);
+                    }
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws Exception {
+                    try {
+                        setter.invokeExact(bean, value);
+                    } catch (Throwable e) {
+                        throw rethrow(e);
+                    }
+                }
+            };
+        });
+    }
+
+    static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+
+    static Exception rethrow(Throwable throwable) {
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        if (throwable instanceof Exception) {
+            return (Exception) throwable;
+        }
+        return new UndeclaredThrowableException(throwable);
+    }
+}
@@ -0,0 +1,40 @@
+package com.hoverla.bring.context.bean.instantiation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Calls constructors, methods and fields through {@link java.lang.reflect} on every call.
+ */
+class ReflectiveInstantiationStrategy implements InstantiationStrategy {
+    static final ReflectiveInstantiationStrategy INSTANCE = new ReflectiveInstantiationStrategy();
+
+    @Override
+    public Instantiator getInstantiator(Constructor<?> constructor) {
+        return constructor::newInstance;
+    }
+
+    @Override
+    public Instantiator getInstantiator(Object target, Method method) {
+        return arguments -> method.invoke(target, arguments);
+    }
+
+    @Override
+    @SuppressWarnings("java:S3011")
+    public FieldAccessor getFieldAccessor(Field field) {
+        return new FieldAccessor() {
+            @Override
+            public Object get(Object bean) throws IllegalAccessException {
+                field.setAccessible(true);
+                return field.get(bean);
+            }
+
+            @Override
+            public void set(Object bean, Object value) throws IllegalAccessException {
+                field.setAccessible(true);
+                field.set(bean, value);
+            }
+        };
+    }
+}
@@ -5,11 +5,62 @@ import com.hoverla.bring.context.ApplicationContext;
 
 /**
  * PostProcessor using for additional configuration {@link Bean}
+ * <p>
+ * A post-processor declares the bean classes it handles with {@link #supports(Class)}, which is called once per class,
+ * so it sees only those beans. It is applied in two phases: {@link #processBeforeInitialization(Object, String)}
+ * right after a bean is created, where the bean can be replaced, and {@link #process(Object, ApplicationContext)}
+ * once all the beans of the context are created.
+ * <p>
+ * Post-processors are registered at {@link BeanPostProcessorRegistry}: the built-in ones explicitly, custom ones
+ * through {@code ApplicationContextBuilder} or as a {@link java.util.ServiceLoader} provider listed in
+ * {@code META-INF/services/com.hoverla.bring.context.bean.postprocessor.BeanPostProcessor}.
  * @see Bean
  */
 public interface BeanPostProcessor {
     /**
-     * Process additional configuration for bean.
+     * Order of the built-in {@link SetterAutowiringBeanPostProcessor}
+     */
+    int SETTER_AUTOWIRING_ORDER = -200;
+    /**
+     * Order of the built-in {@link ValueAnnotationBeanPostProcessor}
+     */
+    int VALUE_ANNOTATION_ORDER = -100;
+
+    /**
+     * Process additional configuration for bean, after all the beans of the context are initialized.
+     * A bean replaced by {@link #processBeforeInitialization(Object, String)} is passed as it has been created.
      */
     void process(Object bean, ApplicationContext applicationContext);
+
+    /**
+     * Declares the beans the post-processor handles, e.g. by the annotations of their class or by its supertypes.
+     * Called once per class of the instances passed to the post-processor, both phases see only the supported ones.
+     *
+     * @return true if the post-processor handles the beans of the class, true for every class by default
+     */
+    default boolean supports(Class<?> beanClass) {
+        return true;
+    }
+
+    /**
+     * Called right after the bean is created, before it is injected into other beans. The returned object is used
+     * instead of the bean, so it can be replaced, e.g. with a proxy, which has to be assignable to the bean type.
+     * Beans of the ahead-of-time context are created together with their definitions and are not replaced.
+     *
+     * @return the bean or its replacement, {@code null} keeps the bean
+     */
+    default Object processBeforeInitialization(Object bean, String beanName) {
+        return bean;
+    }
+
+    /**
+     * Post-processors with lower order are applied first. Post-processors with the same order are applied
+     * in the order of registration. Built-in post-processors have negative orders, so custom ones with
+     * the default order are applied after them.
+     *
+     * @return order of the post-processor
+     */
+    default int getOrder() {
+        return 0;
+    }
 }
@@ -0,0 +1,77 @@
+package com.hoverla.bring.context.bean.postprocessor;
+
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.exception.DefaultConstructorNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import static com.hoverla.bring.common.StringConstants.DEFAULT_CONSTRUCTOR_NOT_FOUND_EXCEPTION;
+import static java.lang.String.format;
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link BeanPostProcessorRegistry} collects {@link BeanPostProcessor}s applied by {@link ApplicationContext}
+ * without scanning the classpath.
+ * <p>
+ * Usage:
+ * {@code
+ *     BeanPostProcessorRegistry registry = BeanPostProcessorRegistry.withDefaults()
+ *         .registerServiceProviders(classLoader)
+ *         .register(new CustomBeanPostProcessor());
+ * }
+ *
+ * @see BeanPostProcessor#getOrder()
+ */
+@Slf4j
+public class BeanPostProcessorRegistry {
+    private final List<BeanPostProcessor> postProcessors = new ArrayList<>();
+
+    /**
+     * @return registry with the built-in post-processors
+     */
+    public static BeanPostProcessorRegistry withDefaults() {
+        return new BeanPostProcessorRegistry()
+            .register(new SetterAutowiringBeanPostProcessor())
+            .register(new ValueAnnotationBeanPostProcessor());
+    }
+
+    public BeanPostProcessorRegistry register(BeanPostProcessor postProcessor) {
+        log.debug("Registering post-processor {} with order {}", postProcessor.getClass().getName(),
+            postProcessor.getOrder());
+        postProcessors.add(postProcessor);
+        return this;
+    }
+
+    /**
+     * Registers post-processors provided through {@link ServiceLoader}.
+     * If a provider doesn't have a public no-arg constructor {@link DefaultConstructorNotFoundException} is thrown.
+     */
+    public BeanPostProcessorRegistry registerServiceProviders(ClassLoader classLoader) {
+        ServiceLoader.load(BeanPostProcessor.class, classLoader)
+            .stream()
+            .forEach(provider -> {
+                try {
+                    register(provider.get());
+                } catch (ServiceConfigurationError e) {
+                    throw new DefaultConstructorNotFoundException(
+                        format(DEFAULT_CONSTRUCTOR_NOT_FOUND_EXCEPTION, provider.type().getSimpleName()));
+                }
+            });
+        return this;
+    }
+
+    /**
+     * @return registered post-processors sorted by order, post-processors with the same order
+     * keep the order of registration
+     */
+    public List<BeanPostProcessor> getPostProcessors() {
+        return postProcessors.stream()
+            .sorted(comparingInt(BeanPostProcessor::getOrder))
+            .collect(toList());
+    }
+}
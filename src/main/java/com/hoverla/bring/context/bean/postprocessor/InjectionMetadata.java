@@ -0,0 +1,168 @@
+package com.hoverla.bring.context.bean.postprocessor;
+
+import com.hoverla.bring.annotation.Autowired;
+import com.hoverla.bring.annotation.Value;
+import com.hoverla.bring.exception.InitializePropertyException;
+import com.hoverla.bring.exception.InvokeMethodException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hoverla.bring.common.StringConstants.INVOKE_METHOD_EXCEPTION;
+import static java.lang.String.format;
+
+/**
+ * {@link InjectionMetadata} holds the injection points of a bean class used by the built-in post-processors:
+ * {@link Autowired} setters with their parameter types and {@link Value} fields with their property names.
+ * <p>
+ * Metadata is computed once per class and cached in a {@link ClassValue}, so the reflection lookups and the access
+ * checks are done once, and post-processing a bean is a loop over the prepared method handles. The cache doesn't
+ * keep the classes from being unloaded.
+ */
+final class InjectionMetadata {
+    private static final ClassValue<InjectionMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected InjectionMetadata computeValue(Class<?> type) {
+            return new InjectionMetadata(type);
+        }
+    };
+    private static final SetterTarget[] NO_SETTERS = new SetterTarget[0];
+    private static final ValueTarget[] NO_VALUE_FIELDS = new ValueTarget[0];
+
+    private final SetterTarget[] setters;
+    private final ValueTarget[] valueFields;
+
+    private InjectionMetadata(Class<?> type) {
+        this.setters = findSetters(type);
+        this.valueFields = findValueFields(type);
+    }
+
+    static InjectionMetadata forClass(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    /**
+     * @return public {@link Autowired} methods starting with 'set', empty for most of the classes
+     */
+    SetterTarget[] getSetters() {
+        return setters;
+    }
+
+    /**
+     * @return {@link Value} fields declared by the class itself, empty for most of the classes
+     */
+    ValueTarget[] getValueFields() {
+        return valueFields;
+    }
+
+    private static SetterTarget[] findSetters(Class<?> type) {
+        List<SetterTarget> setters = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            if (method.getName().startsWith("set") && method.isAnnotationPresent(Autowired.class)) {
+                setters.add(new SetterTarget(method));
+            }
+        }
+        return setters.isEmpty() ? NO_SETTERS : setters.toArray(SetterTarget[]::new);
+    }
+
+    private static ValueTarget[] findValueFields(Class<?> type) {
+        List<ValueTarget> valueFields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Value.class)) {
+                valueFields.add(new ValueTarget(field));
+            }
+        }
+        return valueFields.isEmpty() ? NO_VALUE_FIELDS : valueFields.toArray(ValueTarget[]::new);
+    }
+
+    /**
+     * {@link Autowired} setter with the types of the beans it is called with
+     */
+    static final class SetterTarget {
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        /**
+         * Takes the bean and the array of the arguments: {@code (Object, Object[])void}
+         */
+        private final MethodHandle invoker;
+
+        @SuppressWarnings("java:S3011")
+        private SetterTarget(Method method) {
+            this.name = method.getName();
+            this.parameterTypes = method.getParameterTypes();
+            try {
+                method.setAccessible(true);
+                this.invoker = MethodHandles.lookup().unreflect(method)
+                    .asType(MethodType.genericMethodType(parameterTypes.length + 1).changeReturnType(void.class))
+                    .asSpreader(Object[].class, parameterTypes.length);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new InvokeMethodException(format(INVOKE_METHOD_EXCEPTION, name));
+            }
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Class<?>[] getParameterTypes() {
+            return parameterTypes;
+        }
+
+        @SuppressWarnings("java:S1181")
+        void invoke(Object bean, Object[] arguments) {
+            try {
+                invoker.invokeExact(bean, arguments);
+            } catch (Throwable e) {
+                throw new InvokeMethodException(format(INVOKE_METHOD_EXCEPTION, name));
+            }
+        }
+    }
+
+    /**
+     * {@link Value} field with the name of the property it is set to
+     */
+    static final class ValueTarget {
+        private final String name;
+        private final String propertyName;
+        /**
+         * Takes the bean and the value: {@code (Object, Object)void}
+         */
+        private final MethodHandle setter;
+
+        @SuppressWarnings("java:S3011")
+        private ValueTarget(Field field) {
+            this.name = field.getName();
+            String propertyName = field.getAnnotation(Value.class).value();
+            this.propertyName = propertyName.isEmpty() ? field.getName() : propertyName;
+            try {
+                field.setAccessible(true);
+                this.setter = MethodHandles.lookup().unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new InitializePropertyException("Can't initialize property #" + name);
+            }
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getPropertyName() {
+            return propertyName;
+        }
+
+        @SuppressWarnings("java:S1181")
+        void set(Object bean, Object value) {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new InitializePropertyException("Can't initialize property #" + name);
+            }
+        }
+    }
+}
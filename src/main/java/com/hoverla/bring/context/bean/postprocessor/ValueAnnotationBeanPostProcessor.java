@@ -1,15 +1,12 @@
 package com.hoverla.bring.context.bean.postprocessor;
 
 import com.hoverla.bring.annotation.Bean;
-import com.hoverla.bring.annotation.Value;
 import com.hoverla.bring.context.ApplicationContext;
-import com.hoverla.bring.exception.InitializePropertyException;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -19,6 +16,8 @@ import static java.util.stream.Collectors.toMap;
 /**
  * ValueAnnotationProcessor using to activate features to inject value from the configuration file
  * to the field.
+ * <p>
+ * Fields of every class are looked up once, see {@link InjectionMetadata}.
  *
  * @see Bean
  */
@@ -32,25 +31,15 @@ public class ValueAnnotationBeanPostProcessor implements BeanPostProcessor {
     }
 
     @Override
-    @SuppressWarnings("java:S3011")
     public void process(Object beanInstance, ApplicationContext applicationContext) {
-        for (Field field : beanInstance.getClass().getDeclaredFields()) {
-            try {
-                if (field.isAnnotationPresent(Value.class)) {
-                    log.trace("Trying to set value from @Value annotation for field '{}'", field.getName());
-                    String propertyName = field.getAnnotation(Value.class).value();
-                    field.setAccessible(true);
-                    if (!propertyName.isEmpty()) {
-                        field.set(beanInstance, propertiesMap.get(propertyName));
-                    } else {
-                        field.set(beanInstance, propertiesMap.get(field.getName()));
-                    }
-                    log.debug("The field '{}' of bean '{}' has been set to '{}'", field.getName(),
-                        beanInstance.getClass().getName(), field.get(beanInstance));
-                }
-            } catch (IllegalAccessException e) {
-                throw new InitializePropertyException("Can't initialize property #" + field.getName());
-            }
+        InjectionMetadata.ValueTarget[] valueFields = InjectionMetadata.forClass(beanInstance.getClass())
+            .getValueFields();
+        for (InjectionMetadata.ValueTarget field : valueFields) {
+            log.trace("Trying to set value from @Value annotation for field '{}'", field.getName());
+            String value = propertiesMap.get(field.getPropertyName());
+            field.set(beanInstance, value);
+            log.debug("The field '{}' of bean '{}' has been set to '{}'", field.getName(),
+                beanInstance.getClass().getName(), value);
         }
     }
 
@@ -69,4 +58,14 @@ public class ValueAnnotationBeanPostProcessor implements BeanPostProcessor {
             }
         }
     }
+
+    @Override
+    public boolean supports(Class<?> beanClass) {
+        return InjectionMetadata.forClass(beanClass).getValueFields().length > 0;
+    }
+
+    @Override
+    public int getOrder() {
+        return VALUE_ANNOTATION_ORDER;
+    }
 }
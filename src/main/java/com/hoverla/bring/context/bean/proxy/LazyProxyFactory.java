@@ -0,0 +1,96 @@
+package com.hoverla.bring.context.bean.proxy;
+
+import com.hoverla.bring.annotation.Lazy;
+import com.hoverla.bring.exception.BeanInstanceCreationException;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.LazyLoader;
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
+import org.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.hoverla.bring.common.StringConstants.LAZY_PROXY_CREATION_EXCEPTION;
+import static java.lang.String.format;
+
+/**
+ * {@link LazyProxyFactory} creates cglib proxies of {@link Lazy} beans. The first call of any non-final method
+ * creates the bean through the given supplier, every call is delegated to it.
+ * <p>
+ * A proxy class is generated once per bean type. Proxies are instantiated by Objenesis without calling any
+ * constructor, so a lazy bean needs no constructor for the proxy and nothing of the bean runs until its first use.
+ */
+@Slf4j
+public final class LazyProxyFactory {
+    /**
+     * Instantiators are kept per proxy class in {@link #PROXY_INSTANTIATORS}, Objenesis doesn't need to cache them
+     */
+    private static final Objenesis OBJENESIS = new ObjenesisStd(false);
+    private static final ClassValue<Optional<ObjectInstantiator<?>>> PROXY_INSTANTIATORS = new ClassValue<>() {
+        @Override
+        protected Optional<ObjectInstantiator<?>> computeValue(Class<?> type) {
+            return createProxyClass(type).flatMap(LazyProxyFactory::getProxyInstantiator);
+        }
+    };
+
+    private LazyProxyFactory() {
+    }
+
+    /**
+     * @param target creates the bean on the first call, it is called once
+     * @return proxy assignable to the type, empty if the type can't be proxied, e.g. it is final
+     */
+    public static Optional<Object> createProxy(Class<?> type, Supplier<Object> target) {
+        return PROXY_INSTANTIATORS.get(type).map(instantiator -> {
+            Object proxy = instantiate(instantiator, type);
+            ((Factory) proxy).setCallback(0, (LazyLoader) target::get);
+            return proxy;
+        });
+    }
+
+    private static boolean isProxiable(Class<?> type) {
+        return !Modifier.isFinal(type.getModifiers()) && !type.isPrimitive() && !type.isArray();
+    }
+
+    private static Optional<Class<?>> createProxyClass(Class<?> type) {
+        if (!isProxiable(type)) {
+            log.debug("Lazy bean of type {} can't be proxied, it is created when it is injected", type.getName());
+            return Optional.empty();
+        }
+        try {
+            var enhancer = new Enhancer();
+            if (type.isInterface()) {
+                enhancer.setInterfaces(new Class<?>[]{type});
+            } else {
+                enhancer.setSuperclass(type);
+            }
+            enhancer.setClassLoader(type.getClassLoader());
+            enhancer.setCallbackType(LazyLoader.class);
+            return Optional.of(enhancer.createClass());
+        } catch (RuntimeException | LinkageError e) {
+            log.debug("Lazy bean of type {} can't be proxied, it is created when it is injected", type.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<ObjectInstantiator<?>> getProxyInstantiator(Class<?> proxyClass) {
+        try {
+            return Optional.of(OBJENESIS.getInstantiatorOf(proxyClass));
+        } catch (RuntimeException e) {
+            log.debug("Proxy class {} can't be instantiated without a constructor", proxyClass.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static Object instantiate(ObjectInstantiator<?> instantiator, Class<?> type) {
+        try {
+            return instantiator.newInstance();
+        } catch (RuntimeException e) {
+            throw new BeanInstanceCreationException(format(LAZY_PROXY_CREATION_EXCEPTION, type.getName()), e);
+        }
+    }
+}
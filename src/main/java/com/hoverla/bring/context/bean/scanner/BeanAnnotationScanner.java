@@ -5,13 +5,12 @@ import com.hoverla.bring.context.ApplicationContext;
 import com.hoverla.bring.context.bean.definition.BeanDefinition;
 import lombok.extern.slf4j.Slf4j;
 import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
-import org.reflections.Reflections;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * {@link BeanAnnotationScanner} using for scan packages to find classes annotated with {@link Bean}
@@ -22,19 +21,30 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BeanAnnotationScanner implements BeanScanner {
     private final BeanDefinitionMapper mapper;
+    private final ScanSession scanSession;
     private final String[] packagesToScan;
 
     public BeanAnnotationScanner(BeanDefinitionMapper mapper, String... packagesToScan) {
+        this(mapper, new ScanSession(packagesToScan), packagesToScan);
+    }
+
+    public BeanAnnotationScanner(BeanDefinitionMapper mapper, ScanSession scanSession, String... packagesToScan) {
         this.mapper = mapper;
+        this.scanSession = scanSession;
         this.packagesToScan = packagesToScan;
     }
 
     @Override
     public List<BeanDefinition> scan() {
+        return scan(beanDefinition -> {
+        });
+    }
+
+    @Override
+    public List<BeanDefinition> scan(Consumer<BeanDefinition> discovered) {
         log.info("Starting the scan process of classes annotated with '@Bean' within the '{}' packages",
             Arrays.toString(this.packagesToScan));
-        Reflections reflectionScanner = new Reflections((Object[]) this.packagesToScan);
-        Set<Class<?>> beanClasses = reflectionScanner.getTypesAnnotatedWith(Bean.class);
+        Set<Class<?>> beanClasses = scanSession.getTypesAnnotatedWith(Bean.class, packagesToScan);
 
         if (beanClasses.isEmpty()) {
             log.warn("No classes annotated with '@Bean' found during the scan in packages {}",
@@ -43,9 +53,10 @@ public class BeanAnnotationScanner implements BeanScanner {
         }
         log.debug("{} classes annotated with '@Bean' have been found", beanClasses.size());
 
-        //TODO add validation for bean classes
-        return beanClasses.stream()
-                .map(mapper::mapToBeanDefinition)
-                .collect(Collectors.toList());
+        return scanSession.mapAll(beanClasses, beanClass -> {
+            BeanDefinition beanDefinition = mapper.mapToBeanDefinition(beanClass);
+            discovered.accept(beanDefinition);
+            return beanDefinition;
+        });
     }
 }
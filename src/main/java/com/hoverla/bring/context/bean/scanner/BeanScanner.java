@@ -5,6 +5,7 @@ import com.hoverla.bring.context.ApplicationContext;
 import com.hoverla.bring.context.bean.definition.BeanDefinition;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * {@link BeanScanner} using for scan packages to find classes and create it at {@link ApplicationContext}
@@ -12,4 +13,16 @@ import java.util.List;
  */
 public interface BeanScanner {
     List<BeanDefinition> scan();
-}
\ No newline at end of file
+
+    /**
+     * Scans the packages passing every bean definition to the consumer as soon as it is created, so the beans can be
+     * instantiated while the scan goes on. The consumer may be called concurrently by a parallel scan.
+     *
+     * @return the same bean definitions as {@link #scan()}, in the same order
+     */
+    default List<BeanDefinition> scan(Consumer<BeanDefinition> discovered) {
+        List<BeanDefinition> beanDefinitions = scan();
+        beanDefinitions.forEach(discovered);
+        return beanDefinitions;
+    }
+}
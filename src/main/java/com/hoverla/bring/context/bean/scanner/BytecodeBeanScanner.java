@@ -0,0 +1,220 @@
+package com.hoverla.bring.context.bean.scanner;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Configuration;
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link BytecodeBeanScanner} finds classes annotated with {@link Bean} and {@link Configuration} by reading
+ * {@code .class} files of the packages to scan straight from directories and jars, and creates them at
+ * {@link ApplicationContext}.
+ * <p>
+ * Only the header and the annotations of a class file are parsed (see {@link ClassFileMetadata}), so classes
+ * which are not beans are never loaded. The result is the same as of {@link BeanAnnotationScanner} and
+ * {@link ConfigurationBeanScanner}: subclasses of annotated classes and implementations of annotated interfaces
+ * are found as well, if they are located in the packages to scan.
+ * <p>
+ * Bean definitions of the classes found in a classpath entry are created as soon as the entry is read.
+ * A class matching the class files read so far matches all of them: the first class file of a class wins,
+ * and the class files read later can only add matching supertypes and annotations.
+ *
+ * @see BeanAnnotationScanner
+ * @see ConfigurationBeanScanner
+ */
+@Slf4j
+public class BytecodeBeanScanner implements BeanScanner {
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private final BeanDefinitionMapper mapper;
+    private final ClassLoader classLoader;
+    private final String[] packagesToScan;
+
+    public BytecodeBeanScanner(BeanDefinitionMapper mapper, ClassLoader classLoader, String... packagesToScan) {
+        this.mapper = mapper;
+        this.classLoader = classLoader;
+        this.packagesToScan = packagesToScan;
+    }
+
+    @Override
+    public List<BeanDefinition> scan() {
+        return scan(beanDefinition -> {
+        });
+    }
+
+    @Override
+    public List<BeanDefinition> scan(Consumer<BeanDefinition> discovered) {
+        log.info("Reading class files annotated with '@Bean' and '@Configuration' within the '{}' packages",
+            Arrays.toString(this.packagesToScan));
+
+        SortedMap<String, ClassFileMetadata> classFiles = new TreeMap<>();
+        Map<String, List<BeanDefinition>> beanDefinitionsByClass = new HashMap<>();
+        Map<String, List<BeanDefinition>> configurationDefinitionsByClass = new HashMap<>();
+        readClassFiles(classFiles, () -> {
+            mapFoundClasses(findAnnotated(classFiles, Bean.class.getName()), beanDefinitionsByClass,
+                beanClass -> Collections.singletonList(mapper.mapToBeanDefinition(beanClass)), discovered);
+            mapFoundClasses(findAnnotated(classFiles, Configuration.class.getName()), configurationDefinitionsByClass,
+                configurationClass -> ConfigurationBeanScanner.scanBeanConfigMethods(mapper, configurationClass),
+                discovered);
+        });
+        List<String> beanClassNames = findAnnotated(classFiles, Bean.class.getName());
+        List<String> configurationClassNames = findAnnotated(classFiles, Configuration.class.getName());
+        log.debug("{} class files have been read, {} classes annotated with '@Bean' and {} classes annotated with " +
+            "'@Configuration' have been found", classFiles.size(), beanClassNames.size(), configurationClassNames.size());
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        for (String beanClassName : beanClassNames) {
+            beanDefinitions.addAll(beanDefinitionsByClass.get(beanClassName));
+        }
+        for (String configurationClassName : configurationClassNames) {
+            beanDefinitions.addAll(configurationDefinitionsByClass.get(configurationClassName));
+        }
+        return beanDefinitions;
+    }
+
+    /**
+     * Maps the classes which haven't been mapped yet, passing their bean definitions to the consumer
+     */
+    private void mapFoundClasses(List<String> classNames, Map<String, List<BeanDefinition>> beanDefinitionsByClass,
+                                 Function<Class<?>, List<BeanDefinition>> classMapper,
+                                 Consumer<BeanDefinition> discovered) {
+        for (String className : classNames) {
+            if (!beanDefinitionsByClass.containsKey(className)) {
+                List<BeanDefinition> beanDefinitions = classMapper.apply(loadClass(className));
+                beanDefinitionsByClass.put(className, beanDefinitions);
+                beanDefinitions.forEach(discovered);
+            }
+        }
+    }
+
+    /**
+     * Collects metadata of all class files of the packages to scan by class name. If the same class is found
+     * in several classpath entries, the first one wins, as it does for the class loader
+     *
+     * @param entryRead called after every classpath entry is read
+     */
+    private void readClassFiles(SortedMap<String, ClassFileMetadata> classFiles, Runnable entryRead) {
+        for (String packageName : packagesToScan) {
+            String packagePath = packageName.replace('.', '/');
+            try {
+                for (URL root : Collections.list(classLoader.getResources(packagePath))) {
+                    readClassFiles(root, classFiles);
+                    entryRead.run();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can't read class files of package " + packageName, e);
+            }
+        }
+    }
+
+    private void readClassFiles(URL root, Map<String, ClassFileMetadata> classFiles) throws IOException {
+        URI uri = toUri(root);
+        if ("file".equals(uri.getScheme())) {
+            readClassFiles(Paths.get(uri), classFiles);
+        } else if ("jar".equals(uri.getScheme())) {
+            String location = uri.toString();
+            int separatorIndex = location.indexOf("!/");
+            Path jar = Paths.get(toUri(new URL(location.substring("jar:".length(), separatorIndex))));
+            try (FileSystem jarFileSystem = FileSystems.newFileSystem(jar, (ClassLoader) null)) {
+                readClassFiles(jarFileSystem.getPath(location.substring(separatorIndex + 1)), classFiles);
+            }
+        } else {
+            log.warn("Classpath entry {} can't be read as a directory or a jar and is skipped", root);
+        }
+    }
+
+    private void readClassFiles(Path packageDirectory, Map<String, ClassFileMetadata> classFiles) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(packageDirectory)) {
+            files = paths
+                .filter(path -> path.getFileName().toString().endsWith(CLASS_FILE_EXTENSION))
+                .filter(Files::isRegularFile)
+                .collect(toList());
+        }
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            if (fileName.equals("module-info.class") || fileName.equals("package-info.class")) {
+                continue;
+            }
+            ClassFileMetadata metadata = ClassFileMetadata.read(Files.readAllBytes(file));
+            classFiles.putIfAbsent(metadata.getClassName(), metadata);
+        }
+    }
+
+    /**
+     * Works like {@code SubTypes.of(TypesAnnotated.with(annotation))} of Reflections: a class matches if it is
+     * annotated with the annotation or with another matching annotation, or if one of its supertypes matches.
+     *
+     * @return names of matching classes sorted by name
+     */
+    private static List<String> findAnnotated(SortedMap<String, ClassFileMetadata> classFiles, String annotationName) {
+        Map<String, Boolean> matches = new HashMap<>();
+        return classFiles.keySet()
+            .stream()
+            .filter(className -> matches(className, annotationName, classFiles, matches))
+            .collect(toList());
+    }
+
+    private static boolean matches(String className, String annotationName, Map<String, ClassFileMetadata> classFiles,
+                                   Map<String, Boolean> matches) {
+        ClassFileMetadata metadata = classFiles.get(className);
+        if (metadata == null) {
+            return false;
+        }
+        Boolean match = matches.get(className);
+        if (match != null) {
+            return match;
+        }
+        // guards against cycles of annotations annotated with each other
+        matches.put(className, false);
+        match = metadata.getAnnotationNames().contains(annotationName)
+            || metadata.getAnnotationNames().stream()
+                .anyMatch(name -> !name.equals(className) && matches(name, annotationName, classFiles, matches))
+            || (metadata.getSuperClassName() != null
+                && matches(metadata.getSuperClassName(), annotationName, classFiles, matches))
+            || metadata.getInterfaceNames().stream()
+                .anyMatch(name -> matches(name, annotationName, classFiles, matches));
+        matches.put(className, match);
+        return match;
+    }
+
+    private static URI toUri(URL url) {
+        try {
+            return url.toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Classpath entry " + url + " is not a valid URI", e);
+        }
+    }
+
+    @SneakyThrows
+    private Class<?> loadClass(String className) {
+        return Class.forName(className, false, classLoader);
+    }
+}
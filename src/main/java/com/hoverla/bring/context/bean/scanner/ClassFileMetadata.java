@@ -0,0 +1,194 @@
+package com.hoverla.bring.context.bean.scanner;
+
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link ClassFileMetadata} holds the names of a class, its supertypes and its runtime-visible annotations
+ * read straight from the class file bytes, without loading the class.
+ * <p>
+ * Only the constant pool, the class header and the {@code RuntimeVisibleAnnotations} attribute of the class are
+ * parsed. Strings of the constant pool are decoded only when they are referenced from those structures.
+ */
+@Getter
+class ClassFileMetadata {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private final String className;
+    private final String superClassName;
+    private final List<String> interfaceNames;
+    private final List<String> annotationNames;
+
+    private ClassFileMetadata(String className, String superClassName, List<String> interfaceNames,
+                              List<String> annotationNames) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = Collections.unmodifiableList(interfaceNames);
+        this.annotationNames = Collections.unmodifiableList(annotationNames);
+    }
+
+    static ClassFileMetadata read(byte[] classFile) {
+        return new Parser(ByteBuffer.wrap(classFile)).parse();
+    }
+
+    private static class Parser {
+        private final ByteBuffer buffer;
+        private int[] offsets;
+
+        Parser(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        ClassFileMetadata parse() {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a class file");
+            }
+            skip(4); // minor and major versions
+            readConstantPool();
+            skip(2); // access flags
+            String className = readClassName(buffer.getShort() & 0xFFFF);
+            int superClassIndex = buffer.getShort() & 0xFFFF;
+            String superClassName = superClassIndex == 0 ? null : readClassName(superClassIndex);
+            int interfaceCount = buffer.getShort() & 0xFFFF;
+            List<String> interfaceNames = new ArrayList<>(interfaceCount);
+            for (int i = 0; i < interfaceCount; i++) {
+                interfaceNames.add(readClassName(buffer.getShort() & 0xFFFF));
+            }
+            skipMembers(); // fields
+            skipMembers(); // methods
+            return new ClassFileMetadata(className, superClassName, interfaceNames, readAnnotationNames());
+        }
+
+        private void readConstantPool() {
+            int count = buffer.getShort() & 0xFFFF;
+            offsets = new int[count];
+            for (int i = 1; i < count; i++) {
+                offsets[i] = buffer.position();
+                int tag = buffer.get();
+                switch (tag) {
+                    case 1: // Utf8
+                        skip(buffer.getShort() & 0xFFFF);
+                        break;
+                    case 7: // Class
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        skip(2);
+                        break;
+                    case 15: // MethodHandle
+                        skip(3);
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        skip(4);
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        skip(8);
+                        i++;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+                }
+            }
+        }
+
+        private void skipMembers() {
+            int memberCount = buffer.getShort() & 0xFFFF;
+            for (int i = 0; i < memberCount; i++) {
+                skip(6); // access flags, name and descriptor
+                skipAttributes(buffer.getShort() & 0xFFFF);
+            }
+        }
+
+        private void skipAttributes(int attributeCount) {
+            for (int i = 0; i < attributeCount; i++) {
+                skip(2);
+                skip(buffer.getInt());
+            }
+        }
+
+        private List<String> readAnnotationNames() {
+            List<String> annotationNames = new ArrayList<>();
+            int attributeCount = buffer.getShort() & 0xFFFF;
+            for (int i = 0; i < attributeCount; i++) {
+                String attributeName = readUtf8(buffer.getShort() & 0xFFFF);
+                int length = buffer.getInt();
+                if (!RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    skip(length);
+                    continue;
+                }
+                int annotationCount = buffer.getShort() & 0xFFFF;
+                for (int j = 0; j < annotationCount; j++) {
+                    annotationNames.add(readAnnotation());
+                }
+            }
+            return annotationNames;
+        }
+
+        private String readAnnotation() {
+            String descriptor = readUtf8(buffer.getShort() & 0xFFFF);
+            int pairCount = buffer.getShort() & 0xFFFF;
+            for (int i = 0; i < pairCount; i++) {
+                skip(2); // element name
+                skipElementValue();
+            }
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+
+        private void skipElementValue() {
+            char tag = (char) buffer.get();
+            switch (tag) {
+                case 'e':
+                    skip(4);
+                    break;
+                case '@':
+                    readAnnotation();
+                    break;
+                case '[':
+                    int valueCount = buffer.getShort() & 0xFFFF;
+                    for (int i = 0; i < valueCount; i++) {
+                        skipElementValue();
+                    }
+                    break;
+                default:
+                    skip(2);
+            }
+        }
+
+        private String readClassName(int classIndex) {
+            int nameIndex = buffer.getShort(offsets[classIndex] + 1) & 0xFFFF;
+            return readUtf8(nameIndex).replace('/', '.');
+        }
+
+        private String readUtf8(int utf8Index) {
+            int offset = offsets[utf8Index] + 1;
+            int length = buffer.getShort(offset) & 0xFFFF;
+            try (var input = new DataInputStream(new ByteArrayInputStream(buffer.array(), offset, 2 + length))) {
+                return input.readUTF();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void skip(int length) {
+            buffer.position(buffer.position() + length);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hoverla.bring.context.bean.scanner;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * {@link ClasspathEntryFingerprint} identifies the state of a classpath entry (a jar or a directory)
+ * by its size, modification time and a hash of the files which pass the scan filter.
+ * <p>
+ * For a jar the hash covers names, sizes and CRCs of the matching entries, so only the central directory is read.
+ * For a directory the hash covers relative paths, sizes and modification times of the matching files.
+ * <p>
+ * Fingerprints are the keys of {@link ScanCache} entries and of the wiring plan snapshot.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class ClasspathEntryFingerprint {
+    private final long size;
+    private final long lastModified;
+    private final long hash;
+
+    /**
+     * @return fingerprint of the classpath entry or empty if the entry is not a local jar or directory
+     */
+    public static Optional<ClasspathEntryFingerprint> of(URL url, Predicate<String> inputsFilter) {
+        Optional<Path> path = toPath(url);
+        if (path.isEmpty() || !Files.exists(path.get())) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.isDirectory(path.get())
+                ? ofDirectory(path.get(), inputsFilter)
+                : ofJar(path.get(), inputsFilter));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't compute fingerprint of classpath entry " + url, e);
+        }
+    }
+
+    private static ClasspathEntryFingerprint ofDirectory(Path directory, Predicate<String> inputsFilter)
+        throws IOException {
+        long size = 0;
+        long lastModified = 0;
+        CRC32 hash = new CRC32();
+        try (Stream<Path> files = Files.walk(directory)) {
+            Path[] matchingFiles = files
+                .filter(Files::isRegularFile)
+                .filter(file -> inputsFilter.test(toResourceName(directory.relativize(file))))
+                .sorted()
+                .toArray(Path[]::new);
+            for (Path file : matchingFiles) {
+                long fileSize = Files.size(file);
+                long fileLastModified = Files.getLastModifiedTime(file).toMillis();
+                size += fileSize;
+                lastModified = Math.max(lastModified, fileLastModified);
+                update(hash, directory.relativize(file).toString(), fileSize, fileLastModified);
+            }
+        }
+        return new ClasspathEntryFingerprint(size, lastModified, hash.getValue());
+    }
+
+    private static ClasspathEntryFingerprint ofJar(Path jar, Predicate<String> inputsFilter) throws IOException {
+        CRC32 hash = new CRC32();
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry zipEntry = zipEntries.nextElement();
+                if (!zipEntry.isDirectory() && inputsFilter.test(zipEntry.getName().replace('/', '.'))) {
+                    update(hash, zipEntry.getName(), zipEntry.getSize(), zipEntry.getCrc());
+                }
+            }
+        }
+        return new ClasspathEntryFingerprint(Files.size(jar), Files.getLastModifiedTime(jar).toMillis(),
+            hash.getValue());
+    }
+
+    private static void update(CRC32 hash, String name, long first, long second) {
+        hash.update(name.getBytes(StandardCharsets.UTF_8));
+        hash.update(Long.toString(first).getBytes(StandardCharsets.UTF_8));
+        hash.update(Long.toString(second).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toResourceName(Path relativePath) {
+        return relativePath.toString().replace(relativePath.getFileSystem().getSeparator(), ".");
+    }
+
+    private static Optional<Path> toPath(URL url) {
+        try {
+            String location = url.toExternalForm();
+            if ("jar".equals(url.getProtocol())) {
+                location = location.substring("jar:".length(), location.indexOf("!/"));
+            }
+            URL fileUrl = new URL(location);
+            if (!"file".equals(fileUrl.getProtocol())) {
+                return Optional.empty();
+            }
+            return Optional.of(Paths.get(fileUrl.toURI()));
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -7,15 +7,16 @@ import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
 import com.hoverla.bring.context.bean.definition.BeanDefinition;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.reflections.Reflections;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -28,19 +29,30 @@ import static java.util.stream.Collectors.toList;
 public class ConfigurationBeanScanner implements BeanScanner {
     private final String[] packagesToScan;
     private final BeanDefinitionMapper mapper;
+    private final ScanSession scanSession;
 
     public ConfigurationBeanScanner(BeanDefinitionMapper mapper, String... packagesToScan) {
+        this(mapper, new ScanSession(packagesToScan), packagesToScan);
+    }
+
+    public ConfigurationBeanScanner(BeanDefinitionMapper mapper, ScanSession scanSession, String... packagesToScan) {
         this.packagesToScan = packagesToScan;
         this.mapper = mapper;
+        this.scanSession = scanSession;
     }
 
     @Override
     public List<BeanDefinition> scan() {
+        return scan(beanDefinition -> {
+        });
+    }
+
+    @Override
+    public List<BeanDefinition> scan(Consumer<BeanDefinition> discovered) {
         log.info("Starting the scan process of classes annotated with '@Configuration' within the '{}' packages",
             Arrays.toString(this.packagesToScan));
 
-        Reflections reflections = new Reflections((Object[]) packagesToScan);
-        Set<Class<?>> configurationClasses = reflections.getTypesAnnotatedWith(Configuration.class);
+        Set<Class<?>> configurationClasses = scanSession.getTypesAnnotatedWith(Configuration.class, packagesToScan);
 
         if (configurationClasses.isEmpty()) {
             log.warn("No classes annotated with '@Configuration' found during the scan in packages {}",
@@ -49,13 +61,18 @@ public class ConfigurationBeanScanner implements BeanScanner {
         }
         log.debug("{} classes annotated with '@Configuration' have been found", configurationClasses.size());
 
-        return configurationClasses.stream()
-                .map(this::scanBeanConfigMethods)
+        return scanSession
+                .mapAll(configurationClasses, configurationClass -> {
+                    List<BeanDefinition> beanDefinitions = scanBeanConfigMethods(mapper, configurationClass);
+                    beanDefinitions.forEach(discovered);
+                    return beanDefinitions;
+                })
+                .stream()
                 .flatMap(List::stream)
                 .collect(toList());
     }
 
-    private List<BeanDefinition> scanBeanConfigMethods(Class<?> configurationClass) {
+    static List<BeanDefinition> scanBeanConfigMethods(BeanDefinitionMapper mapper, Class<?> configurationClass) {
         //TODO add validation for @Configuration class
         Object configurationInstance = createConfigurationInstance(configurationClass);
 
@@ -64,14 +81,15 @@ public class ConfigurationBeanScanner implements BeanScanner {
                 .collect(toList());
     }
 
-    private List<Method> resolveBeanMethods(Class<?> configClass) {
+    private static List<Method> resolveBeanMethods(Class<?> configClass) {
         return Stream.of(configClass.getMethods())
                 .filter(method -> method.isAnnotationPresent(Bean.class))
+                .sorted(comparing(Method::getName).thenComparing(Method::toString))
                 .collect(toList());
     }
 
     @SneakyThrows
-    private Object createConfigurationInstance(Class<?> configClass) {
+    private static Object createConfigurationInstance(Class<?> configClass) {
         return configClass.getConstructor().newInstance();
     }
 }
@@ -0,0 +1,75 @@
+package com.hoverla.bring.context.bean.scanner;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Configuration;
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
+import com.hoverla.bring.context.bean.index.BeanIndex;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link IndexedBeanScanner} reads classes annotated with {@link Bean} and {@link Configuration} from the
+ * compile-time {@link BeanIndex} and creates them at {@link ApplicationContext} without scanning the classpath.
+ *
+ * @see BeanIndex
+ * @see BeanAnnotationScanner
+ * @see ConfigurationBeanScanner
+ */
+@Slf4j
+public class IndexedBeanScanner implements BeanScanner {
+    private final BeanDefinitionMapper mapper;
+    private final BeanIndex index;
+    private final ClassLoader classLoader;
+    private final String[] packagesToScan;
+
+    public IndexedBeanScanner(BeanDefinitionMapper mapper, BeanIndex index, ClassLoader classLoader,
+                              String... packagesToScan) {
+        this.mapper = mapper;
+        this.index = index;
+        this.classLoader = classLoader;
+        this.packagesToScan = packagesToScan;
+    }
+
+    @Override
+    public List<BeanDefinition> scan() {
+        return scan(beanDefinition -> {
+        });
+    }
+
+    @Override
+    public List<BeanDefinition> scan(Consumer<BeanDefinition> discovered) {
+        log.info("Reading classes annotated with '@Bean' and '@Configuration' within the '{}' packages from the bean index",
+            Arrays.toString(this.packagesToScan));
+
+        List<String> beanClassNames = index.getCandidates(Bean.class, packagesToScan);
+        List<String> configurationClassNames = index.getCandidates(Configuration.class, packagesToScan);
+        log.debug("{} classes annotated with '@Bean' and {} classes annotated with '@Configuration' have been found " +
+            "in the bean index", beanClassNames.size(), configurationClassNames.size());
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        for (String beanClassName : beanClassNames) {
+            BeanDefinition beanDefinition = mapper.mapToBeanDefinition(loadClass(beanClassName));
+            discovered.accept(beanDefinition);
+            beanDefinitions.add(beanDefinition);
+        }
+        for (String configurationClassName : configurationClassNames) {
+            List<BeanDefinition> methodBeanDefinitions =
+                ConfigurationBeanScanner.scanBeanConfigMethods(mapper, loadClass(configurationClassName));
+            methodBeanDefinitions.forEach(discovered);
+            beanDefinitions.addAll(methodBeanDefinitions);
+        }
+        return beanDefinitions;
+    }
+
+    @SneakyThrows
+    private Class<?> loadClass(String className) {
+        return Class.forName(className, false, classLoader);
+    }
+}
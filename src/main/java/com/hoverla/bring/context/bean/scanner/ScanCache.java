@@ -0,0 +1,189 @@
+package com.hoverla.bring.context.bean.scanner;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link ScanCache} is a binary file with scan results of classpath entries.
+ * <p>
+ * Each entry is stored with its {@link ClasspathEntryFingerprint}. The file is also keyed by the scanned packages,
+ * so a cache written for other packages is ignored. The whole file is read at startup, because every entry
+ * is looked up during the scan anyway. Counts and lengths are checked against the bytes left in the file,
+ * so a truncated or corrupted file is ignored and rewritten.
+ * <p>
+ * Layout: magic, version, key, entry count, then for every entry its location, fingerprint and
+ * the metadata store (index name, keys and values). Strings are written as length-prefixed UTF-8.
+ */
+@Slf4j
+class ScanCache {
+    private static final int MAGIC = 0x42525343;
+    private static final int VERSION = 1;
+
+    private final Map<String, Entry> entries;
+
+    private ScanCache(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * @return cache read from the file, empty if the file doesn't exist, was written for another key or can't be read
+     */
+    static ScanCache read(Path file, String key) {
+        if (!Files.isRegularFile(file)) {
+            log.debug("Scan cache {} doesn't exist", file);
+            return new ScanCache(Map.of());
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !key.equals(readString(buffer))) {
+                log.debug("Scan cache {} was written by another version or for other packages, ignoring it", file);
+                return new ScanCache(Map.of());
+            }
+            int entryCount = readCount(buffer);
+            Map<String, Entry> entries = new HashMap<>(entryCount * 2);
+            for (int i = 0; i < entryCount; i++) {
+                Entry entry = readEntry(buffer);
+                entries.put(entry.getLocation(), entry);
+            }
+            log.debug("{} classpath entries have been read from scan cache {}", entryCount, file);
+            return new ScanCache(entries);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Scan cache {} can't be read and will be rewritten", file, e);
+            return new ScanCache(Map.of());
+        }
+    }
+
+    /**
+     * @return cached entry with the same location and fingerprint
+     */
+    Optional<Entry> find(String location, ClasspathEntryFingerprint fingerprint) {
+        return Optional.ofNullable(entries.get(location))
+            .filter(entry -> entry.getFingerprint().equals(fingerprint));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the entries to a temporary file and moves it over the cache file.
+     * The temporary file is deleted if it can't be written or moved.
+     */
+    static void write(Path file, String key, Collection<Entry> entries) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                writeString(output, key);
+                output.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    writeEntry(output, entry);
+                }
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static Entry readEntry(ByteBuffer buffer) {
+        String location = readString(buffer);
+        var fingerprint = new ClasspathEntryFingerprint(buffer.getLong(), buffer.getLong(), buffer.getLong());
+        int indexCount = readCount(buffer);
+        Map<String, Map<String, Set<String>>> store = new HashMap<>(indexCount * 2);
+        for (int i = 0; i < indexCount; i++) {
+            String indexName = readString(buffer);
+            int keyCount = readCount(buffer);
+            Map<String, Set<String>> index = new HashMap<>(keyCount * 2);
+            for (int j = 0; j < keyCount; j++) {
+                String key = readString(buffer);
+                int valueCount = readCount(buffer);
+                Set<String> values = new HashSet<>(valueCount * 2);
+                for (int k = 0; k < valueCount; k++) {
+                    values.add(readString(buffer));
+                }
+                index.put(key, values);
+            }
+            store.put(indexName, index);
+        }
+        return new Entry(location, fingerprint, store);
+    }
+
+    private static void writeEntry(DataOutputStream output, Entry entry) throws IOException {
+        writeString(output, entry.getLocation());
+        output.writeLong(entry.getFingerprint().getSize());
+        output.writeLong(entry.getFingerprint().getLastModified());
+        output.writeLong(entry.getFingerprint().getHash());
+        output.writeInt(entry.getStore().size());
+        for (Map.Entry<String, Map<String, Set<String>>> index : entry.getStore().entrySet()) {
+            writeString(output, index.getKey());
+            output.writeInt(index.getValue().size());
+            for (Map.Entry<String, Set<String>> keyValues : index.getValue().entrySet()) {
+                writeString(output, keyValues.getKey());
+                output.writeInt(keyValues.getValue().size());
+                for (String value : keyValues.getValue()) {
+                    writeString(output, value);
+                }
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readCount(buffer);
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Every counted element takes at least one byte, so a count can't be bigger than the bytes left
+     */
+    private static int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalStateException("Invalid count " + count + " at position " + buffer.position());
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Scan result of a single classpath entry: metadata store in the format of {@link org.reflections.Store}.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class Entry {
+        private final String location;
+        private final ClasspathEntryFingerprint fingerprint;
+        private final Map<String, Map<String, Set<String>>> store;
+    }
+}
@@ -0,0 +1,251 @@
+package com.hoverla.bring.context.bean.scanner;
+
+import com.hoverla.bring.context.ApplicationContext;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.reflections.Reflections;
+import org.reflections.Store;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+import org.reflections.util.QueryFunction;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+import static org.reflections.scanners.Scanners.SubTypes;
+import static org.reflections.scanners.Scanners.TypesAnnotated;
+
+/**
+ * {@link ScanSession} walks the classpath once for all packages it was created for and shares the collected
+ * metadata with every {@link BeanScanner} of {@link ApplicationContext}.
+ * <p>
+ * The metadata store is built on the first query. Each query is narrowed down to the packages of the caller,
+ * so the result is the same as if those packages were scanned separately.
+ * Closing the session throws the metadata store away.
+ * <p>
+ * A parallel session scans classpath entries and maps scanned classes on its own fork-join pool.
+ * Scanned classes are always sorted by name, so the order of results doesn't depend on the parallelism.
+ * <p>
+ * With a cache file the session scans every classpath entry separately and keeps the results in {@link ScanCache}.
+ * On the next start only the entries whose {@link ClasspathEntryFingerprint} has changed are scanned again.
+ */
+@Slf4j
+public class ScanSession implements AutoCloseable {
+    private final String[] packagesToScan;
+    private final ForkJoinPool pool;
+    private final Path cacheFile;
+    private Reflections store;
+    private boolean closed;
+
+    public ScanSession(String... packagesToScan) {
+        this(1, packagesToScan);
+    }
+
+    /**
+     * @param parallelism number of threads used to scan classpath entries and to map scanned classes,
+     *                    {@code 1} means the session works on the calling thread
+     */
+    public ScanSession(int parallelism, String... packagesToScan) {
+        this(parallelism, null, packagesToScan);
+    }
+
+    /**
+     * @param parallelism number of threads used to scan classpath entries and to map scanned classes,
+     *                    {@code 1} means the session works on the calling thread
+     * @param cacheFile   file with scan results of previous runs, classpath entries which haven't changed since
+     *                    are not scanned again. {@code null} disables the cache
+     */
+    public ScanSession(int parallelism, @Nullable Path cacheFile, String... packagesToScan) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Argument [parallelism] must be greater than 0");
+        }
+        this.packagesToScan = packagesToScan;
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * @return classes from the given packages annotated with the annotation and their subclasses, sorted by name
+     */
+    public Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation, String... packages) {
+        QueryFunction<Store, String> annotatedTypes = SubTypes.of(TypesAnnotated.with(annotation));
+        Set<String> classNames = getStore().get(annotatedTypes
+            .filter(className -> isInPackages(className, packages)));
+        return loadClasses(classNames);
+    }
+
+    /**
+     * @return classes from the given packages which are subtypes of the type, sorted by name
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type, String... packages) {
+        Set<String> classNames = getStore().get(SubTypes.of(type)
+            .filter(className -> isInPackages(className, packages)));
+        Set<Class<? extends T>> subTypes = new LinkedHashSet<>();
+        loadClasses(classNames).forEach(subType -> subTypes.add((Class<? extends T>) subType));
+        return subTypes;
+    }
+
+    /**
+     * Applies the mapper to every element, concurrently if the session is parallel.
+     *
+     * @return mapped elements in the encounter order of the given elements
+     */
+    public <T, R> List<R> mapAll(Collection<T> elements, Function<? super T, ? extends R> mapper) {
+        if (pool == null || elements.size() < 2) {
+            return elements.stream().map(mapper).collect(toList());
+        }
+        return pool.submit(() -> elements.parallelStream().map(mapper).collect(Collectors.<R>toList())).join();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        store = null;
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private synchronized Reflections getStore() {
+        if (closed) {
+            throw new IllegalStateException("Scan session has already been closed");
+        }
+        if (store == null) {
+            log.debug("Scanning the classpath within the '{}' packages", Arrays.toString(packagesToScan));
+            FilterBuilder inputsFilter = new FilterBuilder();
+            Arrays.stream(packagesToScan).forEach(inputsFilter::includePackage);
+            ConfigurationBuilder configuration = new ConfigurationBuilder()
+                .forPackages(packagesToScan)
+                .filterInputsBy(inputsFilter);
+            if (cacheFile != null) {
+                store = scanWithCache(configuration, inputsFilter);
+            } else if (pool == null) {
+                store = new Reflections(configuration);
+            } else {
+                // every classpath entry of every package root is scanned as a separate task of the pool
+                store = pool.submit(() -> new Reflections(configuration.setParallel(true))).join();
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Scans every classpath entry separately, taking the result from the cache if the entry hasn't changed,
+     * and merges the results into a single store. The cache is rewritten only if something has changed.
+     */
+    private Reflections scanWithCache(ConfigurationBuilder configuration, FilterBuilder inputsFilter) {
+        String cacheKey = String.join(",", new TreeSet<>(Arrays.asList(packagesToScan)));
+        ScanCache cache = ScanCache.read(cacheFile, cacheKey);
+        List<URL> urls = configuration.getUrls()
+            .stream()
+            .sorted(comparing(URL::toExternalForm))
+            .collect(toList());
+
+        List<CachedEntryScan> entryScans = mapAll(urls, url -> scanEntry(url, inputsFilter, cache));
+        long rescannedCount = entryScans.stream().filter(CachedEntryScan::isRescanned).count();
+        log.debug("{} of {} classpath entries have been taken from scan cache {}",
+            urls.size() - rescannedCount, urls.size(), cacheFile);
+
+        Store mergedStore = new Store();
+        entryScans.forEach(entryScan -> merge(mergedStore, entryScan.getStore()));
+
+        List<ScanCache.Entry> cacheEntries = entryScans.stream()
+            .map(CachedEntryScan::getCacheEntry)
+            .filter(Objects::nonNull)
+            .collect(toList());
+        if (rescannedCount > 0 || cacheEntries.size() != cache.size()) {
+            writeCache(cacheKey, cacheEntries);
+        }
+        return new Reflections(mergedStore);
+    }
+
+    private CachedEntryScan scanEntry(URL url, FilterBuilder inputsFilter, ScanCache cache) {
+        String location = url.toExternalForm();
+        Optional<ClasspathEntryFingerprint> fingerprint = ClasspathEntryFingerprint.of(url, inputsFilter);
+        Optional<ScanCache.Entry> cachedEntry = fingerprint.flatMap(value -> cache.find(location, value));
+        if (cachedEntry.isPresent()) {
+            return new CachedEntryScan(cachedEntry.get(), false);
+        }
+        log.trace("Scanning classpath entry {}", location);
+        Store entryStore = new Reflections(new ConfigurationBuilder()
+            .setUrls(url)
+            .filterInputsBy(inputsFilter))
+            .getStore();
+        ScanCache.Entry entry = fingerprint
+            .map(value -> new ScanCache.Entry(location, value, entryStore))
+            .orElse(null);
+        return new CachedEntryScan(entry, entryStore, true);
+    }
+
+    private void writeCache(String cacheKey, List<ScanCache.Entry> cacheEntries) {
+        try {
+            ScanCache.write(cacheFile, cacheKey, cacheEntries);
+            log.debug("Scan cache {} has been written", cacheFile);
+        } catch (IOException e) {
+            log.warn("Scan cache {} can't be written", cacheFile, e);
+        }
+    }
+
+    private static void merge(Store target, Map<String, Map<String, Set<String>>> source) {
+        source.forEach((indexName, index) -> {
+            Map<String, Set<String>> targetIndex = target.computeIfAbsent(indexName, name -> new HashMap<>());
+            index.forEach((key, values) -> targetIndex.computeIfAbsent(key, k -> new HashSet<>()).addAll(values));
+        });
+    }
+
+    @SneakyThrows
+    private Set<Class<?>> loadClasses(Set<String> classNames) {
+        ClassLoader classLoader = getClassLoader();
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (String className : new TreeSet<>(classNames)) {
+            classes.add(Class.forName(className, false, classLoader));
+        }
+        return classes;
+    }
+
+    private static ClassLoader getClassLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : ScanSession.class.getClassLoader();
+    }
+
+    private static boolean isInPackages(String className, String... packages) {
+        return Arrays.stream(packages)
+            .anyMatch(packageName -> className.startsWith(packageName + "."));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedEntryScan {
+        @Nullable
+        private final ScanCache.Entry cacheEntry;
+        private final Map<String, Map<String, Set<String>>> store;
+        private final boolean rescanned;
+
+        CachedEntryScan(ScanCache.Entry cacheEntry, boolean rescanned) {
+            this(cacheEntry, cacheEntry.getStore(), rescanned);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.hoverla.bring.context.bean.snapshot;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Configuration;
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
+import com.hoverla.bring.context.bean.definition.ConfigurationBeanDefinition;
+import com.hoverla.bring.context.bean.definition.DefaultBeanDefinition;
+import com.hoverla.bring.context.bean.dependency.BeanDependency;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyResolutionPlan;
+import com.hoverla.bring.context.bean.scanner.ClasspathEntryFingerprint;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link WiringPlanSnapshot} is a binary file with the resolved wiring plan of a context: bean classes and
+ * {@link Bean} methods of {@link Configuration} classes in the initialization order, and the bean every
+ * dependency of every bean is resolved to.
+ * <p>
+ * The file is keyed by the scanned packages and by the fingerprint of the classpath entries they are found in
+ * (see {@link ClasspathEntryFingerprint}), so a snapshot of other packages or of changed classes is ignored.
+ * Restored bean definitions are created without scanning, and the beans their dependencies are resolved to are
+ * taken from the file, so the context is created without validating and resolving the dependencies again. Bean
+ * classes and methods are still loaded and their metadata read to create the definitions.
+ * <p>
+ * Layout: magic, version, packages, fingerprint, bean count, then for every bean its kind, class name, method name
+ * and parameter types of a method bean, bean name and its dependencies as a type name and the index of the resolved
+ * bean in the file. Strings are written as length-prefixed UTF-8.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public final class WiringPlanSnapshot {
+    private static final int MAGIC = 0x42525750;
+    private static final int VERSION = 2;
+    private static final byte CLASS_BEAN = 0;
+    private static final byte METHOD_BEAN = 1;
+
+    private final String key;
+    private final long fingerprint;
+    private final List<BeanEntry> beans;
+
+    /**
+     * @return fingerprint of the classpath entries of the packages, empty if any of them is not a local jar
+     * or directory
+     */
+    public static OptionalLong fingerprint(ClassLoader classLoader, String... packagesToScan) {
+        CRC32 hash = new CRC32();
+        for (String packageName : new TreeSet<>(Arrays.asList(packagesToScan))) {
+            try {
+                List<URL> roots = Collections.list(classLoader.getResources(packageName.replace('.', '/')))
+                    .stream()
+                    .sorted(comparing(URL::toExternalForm))
+                    .collect(toList());
+                for (URL root : roots) {
+                    Optional<ClasspathEntryFingerprint> entryFingerprint = ClasspathEntryFingerprint.of(root,
+                        name -> true);
+                    if (entryFingerprint.isEmpty()) {
+                        log.debug("Classpath entry {} can't be fingerprinted, wiring plan snapshot is disabled", root);
+                        return OptionalLong.empty();
+                    }
+                    hash.update(root.toExternalForm().getBytes(StandardCharsets.UTF_8));
+                    hash.update(entryFingerprint.get().toString().getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Classpath entries of package {} can't be fingerprinted", packageName, e);
+                return OptionalLong.empty();
+            }
+        }
+        return OptionalLong.of(hash.getValue());
+    }
+
+    /**
+     * @return dependencies of the bean definitions, which are named after the beans they are resolved to, empty if
+     * the file doesn't exist, was written for other packages or classes, or doesn't match the classpath any more
+     */
+    public static Optional<BeanDependencyResolutionPlan> restore(Path file, long fingerprint, BeanDefinitionMapper mapper,
+                                                         ClassLoader classLoader, String... packagesToScan) {
+        return read(file, fingerprint, toKey(packagesToScan))
+            .flatMap(snapshot -> snapshot.restore(mapper, classLoader));
+    }
+
+    /**
+     * Writes the snapshot of the beans, a failure to write it is logged
+     *
+     * @param beanDefinitions definitions of all the beans in the initialization order, with resolved dependencies
+     */
+    public static void save(Path file, List<BeanDefinition> beanDefinitions, long fingerprint,
+                            String... packagesToScan) {
+        Optional<WiringPlanSnapshot> snapshot = capture(beanDefinitions, fingerprint, toKey(packagesToScan));
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        try {
+            snapshot.get().write(file);
+            log.debug("Wiring plan snapshot {} has been written", file);
+        } catch (IOException e) {
+            log.warn("Wiring plan snapshot {} can't be written", file, e);
+        }
+    }
+
+    private static Optional<WiringPlanSnapshot> read(Path file, long fingerprint, String key) {
+        if (!Files.isRegularFile(file)) {
+            log.debug("Wiring plan snapshot {} doesn't exist", file);
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !key.equals(readString(buffer))
+                || buffer.getLong() != fingerprint) {
+                log.debug("Wiring plan snapshot {} was written by another version, for other packages or classes, " +
+                    "ignoring it", file);
+                return Optional.empty();
+            }
+            int beanCount = readCount(buffer);
+            List<BeanEntry> beans = new ArrayList<>(beanCount);
+            for (int i = 0; i < beanCount; i++) {
+                beans.add(readBean(buffer, beanCount));
+            }
+            return Optional.of(new WiringPlanSnapshot(key, fingerprint, beans));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Wiring plan snapshot {} can't be read and will be rewritten", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<WiringPlanSnapshot> capture(List<BeanDefinition> beanDefinitions, long fingerprint,
+                                                        String key) {
+        Map<String, Integer> beanIds = new HashMap<>(beanDefinitions.size() * 2);
+        for (int id = 0; id < beanDefinitions.size(); id++) {
+            beanIds.put(beanDefinitions.get(id).name(), id);
+        }
+        List<BeanEntry> beans = new ArrayList<>(beanDefinitions.size());
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            Optional<BeanEntry> bean = captureBean(beanDefinition, beanIds);
+            if (bean.isEmpty()) {
+                log.debug("Bean '{}' of type {} can't be stored in wiring plan snapshot", beanDefinition.name(),
+                    beanDefinition.type().getName());
+                return Optional.empty();
+            }
+            beans.add(bean.get());
+        }
+        return Optional.of(new WiringPlanSnapshot(key, fingerprint, beans));
+    }
+
+    private static Optional<BeanEntry> captureBean(BeanDefinition beanDefinition, Map<String, Integer> beanIds) {
+        Collection<BeanDependency> dependencies = beanDefinition.dependencies().values();
+        String[] dependencyTypeNames = new String[dependencies.size()];
+        int[] dependencyIds = new int[dependencies.size()];
+        int i = 0;
+        for (BeanDependency dependency : dependencies) {
+            Integer dependencyId = beanIds.get(dependency.getName());
+            if (dependencyId == null) {
+                return Optional.empty();
+            }
+            dependencyTypeNames[i] = dependency.getType().getName();
+            dependencyIds[i] = dependencyId;
+            i++;
+        }
+        if (beanDefinition instanceof ConfigurationBeanDefinition) {
+            var configurationBean = (ConfigurationBeanDefinition) beanDefinition;
+            Method beanMethod = configurationBean.getBeanMethod();
+            String[] parameterTypeNames = Arrays.stream(beanMethod.getParameterTypes())
+                .map(Class::getName)
+                .toArray(String[]::new);
+            return Optional.of(new BeanEntry(METHOD_BEAN, configurationBean.getConfigurationClass().getName(),
+                beanMethod.getName(), parameterTypeNames, beanDefinition.name(), dependencyTypeNames, dependencyIds));
+        }
+        if (beanDefinition instanceof DefaultBeanDefinition) {
+            return Optional.of(new BeanEntry(CLASS_BEAN, beanDefinition.type().getName(), "", new String[0],
+                beanDefinition.name(), dependencyTypeNames, dependencyIds));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<BeanDependencyResolutionPlan> restore(BeanDefinitionMapper mapper, ClassLoader classLoader) {
+        try {
+            List<BeanDefinition> beanDefinitions = new ArrayList<>(beans.size());
+            Map<String, Object> configurationInstances = new HashMap<>();
+            for (BeanEntry bean : beans) {
+                BeanDefinition beanDefinition = createBeanDefinition(bean, mapper, classLoader, configurationInstances);
+                if (!beanDefinition.name().equals(bean.name)) {
+                    return stale("bean " + bean.name + " has been renamed");
+                }
+                beanDefinitions.add(beanDefinition);
+            }
+            Map<BeanDefinition, List<BeanDefinition>> dependencies = new IdentityHashMap<>(beans.size() * 2);
+            for (int id = 0; id < beans.size(); id++) {
+                Optional<List<BeanDefinition>> beanDependencies = nameDependencies(beanDefinitions.get(id),
+                    beans.get(id), beanDefinitions);
+                if (beanDependencies.isEmpty()) {
+                    return stale("dependencies of bean " + beans.get(id).name + " have changed");
+                }
+                dependencies.put(beanDefinitions.get(id), beanDependencies.get());
+            }
+            log.debug("{} bean definitions have been restored from wiring plan snapshot", beanDefinitions.size());
+            return Optional.of(BeanDependencyResolutionPlan.of(new BeanDefinitionContainer(beanDefinitions),
+                dependencies));
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            log.warn("Wiring plan snapshot doesn't match the classpath and will be rewritten", e);
+            return Optional.empty();
+        }
+    }
+
+    private static BeanDefinition createBeanDefinition(BeanEntry bean, BeanDefinitionMapper mapper,
+                                                       ClassLoader classLoader,
+                                                       Map<String, Object> configurationInstances)
+        throws ReflectiveOperationException {
+        Class<?> beanClass = Class.forName(bean.className, false, classLoader);
+        if (bean.kind == CLASS_BEAN) {
+            return mapper.mapToBeanDefinition(beanClass);
+        }
+        Class<?>[] parameterTypes = new Class<?>[bean.parameterTypeNames.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = Class.forName(bean.parameterTypeNames[i], false, classLoader);
+        }
+        Method beanMethod = beanClass.getMethod(bean.methodName, parameterTypes);
+        Object configurationInstance = configurationInstances.get(bean.className);
+        if (configurationInstance == null) {
+            configurationInstance = beanClass.getConstructor().newInstance();
+            configurationInstances.put(bean.className, configurationInstance);
+        }
+        return mapper.mapToBeanDefinition(configurationInstance, beanMethod);
+    }
+
+    /**
+     * Names the dependencies after the beans they have been resolved to, the way dependency resolution does.
+     * Dependencies are stored in the order they are declared, so they are matched by position.
+     *
+     * @return definitions of the dependencies in their order, empty if they don't match the snapshot
+     */
+    private static Optional<List<BeanDefinition>> nameDependencies(BeanDefinition beanDefinition, BeanEntry bean,
+                                                                   List<BeanDefinition> beanDefinitions) {
+        Map<String, BeanDependency> dependencies = beanDefinition.dependencies();
+        if (dependencies.size() != bean.dependencyTypeNames.length) {
+            return Optional.empty();
+        }
+        List<BeanDependency> declaredDependencies = new ArrayList<>(dependencies.values());
+        List<BeanDefinition> resolvedDependencies = new ArrayList<>(declaredDependencies.size());
+        for (int i = 0; i < declaredDependencies.size(); i++) {
+            if (!declaredDependencies.get(i).getType().getName().equals(bean.dependencyTypeNames[i])) {
+                return Optional.empty();
+            }
+            resolvedDependencies.add(beanDefinitions.get(bean.dependencyIds[i]));
+        }
+        dependencies.clear();
+        for (int i = 0; i < declaredDependencies.size(); i++) {
+            BeanDependency dependency = declaredDependencies.get(i);
+            dependency.setName(resolvedDependencies.get(i).name());
+            dependencies.put(dependency.getName(), dependency);
+        }
+        return Optional.of(resolvedDependencies);
+    }
+
+    private static <T> Optional<T> stale(String reason) {
+        log.debug("Wiring plan snapshot is stale: {}", reason);
+        return Optional.empty();
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and moves it over the snapshot file, the temporary file is deleted
+     * if it can't be written or moved
+     */
+    private void write(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                writeString(output, key);
+                output.writeLong(fingerprint);
+                output.writeInt(beans.size());
+                for (BeanEntry bean : beans) {
+                    writeBean(output, bean);
+                }
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static BeanEntry readBean(MappedByteBuffer buffer, int beanCount) {
+        byte kind = buffer.get();
+        String className = readString(buffer);
+        String methodName = readString(buffer);
+        String[] parameterTypeNames = new String[readCount(buffer)];
+        for (int i = 0; i < parameterTypeNames.length; i++) {
+            parameterTypeNames[i] = readString(buffer);
+        }
+        String name = readString(buffer);
+        int dependencyCount = readCount(buffer);
+        String[] dependencyTypeNames = new String[dependencyCount];
+        int[] dependencyIds = new int[dependencyCount];
+        for (int i = 0; i < dependencyCount; i++) {
+            dependencyTypeNames[i] = readString(buffer);
+            dependencyIds[i] = buffer.getInt();
+            if (dependencyIds[i] < 0 || dependencyIds[i] >= beanCount) {
+                throw new IllegalStateException("Invalid bean index " + dependencyIds[i] + " of bean " + name);
+            }
+        }
+        return new BeanEntry(kind, className, methodName, parameterTypeNames, name, dependencyTypeNames,
+            dependencyIds);
+    }
+
+    private static void writeBean(DataOutputStream output, BeanEntry bean) throws IOException {
+        output.writeByte(bean.kind);
+        writeString(output, bean.className);
+        writeString(output, bean.methodName);
+        output.writeInt(bean.parameterTypeNames.length);
+        for (String parameterTypeName : bean.parameterTypeNames) {
+            writeString(output, parameterTypeName);
+        }
+        writeString(output, bean.name);
+        output.writeInt(bean.dependencyTypeNames.length);
+        for (int i = 0; i < bean.dependencyTypeNames.length; i++) {
+            writeString(output, bean.dependencyTypeNames[i]);
+            output.writeInt(bean.dependencyIds[i]);
+        }
+    }
+
+    private static String toKey(String... packagesToScan) {
+        return String.join(",", new TreeSet<>(Arrays.asList(packagesToScan)));
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[readCount(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Every counted element takes at least one byte, so a count can't be bigger than the bytes left
+     */
+    private static int readCount(MappedByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalStateException("Invalid count " + count + " at position " + buffer.position());
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * A bean class or a bean method of a configuration class, with the ids of the beans its dependencies are
+     * resolved to
+     */
+    @RequiredArgsConstructor
+    private static class BeanEntry {
+        private final byte kind;
+        private final String className;
+        private final String methodName;
+        private final String[] parameterTypeNames;
+        private final String name;
+        private final String[] dependencyTypeNames;
+        private final int[] dependencyIds;
+    }
+}
@@ -0,0 +1,110 @@
+package com.hoverla.bring.context.bean.validation;
+
+import com.hoverla.bring.annotation.Primary;
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
+import com.hoverla.bring.context.bean.definition.DefaultBeanDefinition;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyResolutionPlan;
+import com.hoverla.bring.exception.BeanDefinitionValidationException;
+import com.hoverla.bring.exception.MissingDependencyException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hoverla.bring.common.StringConstants.ABSTRACT_BEAN_CLASS_EXCEPTION;
+import static com.hoverla.bring.common.StringConstants.DUPLICATE_BEAN_NAME_EXCEPTION;
+import static com.hoverla.bring.common.StringConstants.INVALID_BEAN_DEFINITIONS_EXCEPTION;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link BeanDefinitionValidator} checks the scanned bean definitions before any bean is instantiated: bean names are
+ * unique, bean classes aren't abstract and every dependency matches a single bean or a single {@link Primary} one.
+ * Dependencies of the beans are resolved in parallel, and all the problems are reported together. The resolved
+ * dependencies are returned as the {@link BeanDependencyResolutionPlan} for the initializer, so they aren't resolved
+ * again.
+ * <p>
+ * A single problem is thrown as is, e.g. {@link MissingDependencyException}, several ones are thrown as
+ * {@link BeanDefinitionValidationException} listing all of them, with each of them suppressed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BeanDefinitionValidator {
+    private static final String PROBLEM_SEPARATOR = System.lineSeparator() + " - ";
+
+    private final BeanDependencyNameResolver dependencyNameResolver;
+
+    /**
+     * @return resolved dependencies of the valid bean definitions together with their container
+     */
+    public BeanDependencyResolutionPlan validate(List<BeanDefinition> beanDefinitions) {
+        log.debug("Validating {} bean definitions before initialization", beanDefinitions.size());
+        List<RuntimeException> problems = new ArrayList<>();
+
+        Map<String, List<BeanDefinition>> beansByName = beanDefinitions.stream()
+            .collect(groupingBy(BeanDefinition::name, LinkedHashMap::new, toList()));
+        beansByName.forEach((name, beans) -> {
+            if (beans.size() > 1) {
+                String types = beans.stream().map(bean -> bean.type().getName()).collect(joining(", "));
+                problems.add(new BeanDefinitionValidationException(format(DUPLICATE_BEAN_NAME_EXCEPTION, name, types)));
+            }
+        });
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            problems.addAll(checkDefinition(beanDefinition));
+        }
+
+        // dependencies are checked against the first bean of every name, so they are reported with duplicate names
+        var container = new BeanDefinitionContainer(beansByName.values().stream()
+            .map(beans -> beans.get(0))
+            .collect(toList()));
+        BeanDependencyResolutionPlan resolutionPlan = dependencyNameResolver.createResolutionPlan(container);
+        problems.addAll(resolutionPlan.getProblems());
+
+        throwIfInvalid(problems);
+        return resolutionPlan;
+    }
+
+    /**
+     * Checks only the problems of the definition itself, without the other definitions, so it can be called
+     * while the definitions are still being scanned
+     *
+     * @return true if the definition has no problems of its own
+     */
+    public boolean isInstantiable(BeanDefinition beanDefinition) {
+        return checkDefinition(beanDefinition).isEmpty();
+    }
+
+    private static List<RuntimeException> checkDefinition(BeanDefinition beanDefinition) {
+        List<RuntimeException> problems = new ArrayList<>();
+        if (beanDefinition instanceof DefaultBeanDefinition
+            && Modifier.isAbstract(beanDefinition.type().getModifiers())) {
+            problems.add(new BeanDefinitionValidationException(format(ABSTRACT_BEAN_CLASS_EXCEPTION,
+                beanDefinition.name(), beanDefinition.type().getName())));
+        }
+        return problems;
+    }
+
+    private static void throwIfInvalid(List<RuntimeException> problems) {
+        if (problems.isEmpty()) {
+            return;
+        }
+        if (problems.size() == 1) {
+            throw problems.get(0);
+        }
+        String messages = problems.stream()
+            .map(RuntimeException::getMessage)
+            .collect(joining(PROBLEM_SEPARATOR, PROBLEM_SEPARATOR, ""));
+        var exception = new BeanDefinitionValidationException(
+            format(INVALID_BEAN_DEFINITIONS_EXCEPTION, problems.size(), messages));
+        problems.forEach(exception::addSuppressed);
+        throw exception;
+    }
+}
@@ -0,0 +1,133 @@
+package com.hoverla.bring.context.util;
+
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.exception.BeanDependencyInjectionException;
+
+import java.util.Arrays;
+
+import static com.hoverla.bring.common.StringConstants.BEAN_HAS_NO_MATCHES_DEPENDENCY_EXCEPTION;
+import static java.lang.String.format;
+
+/**
+ * {@link DependencySlotPlan} binds every parameter of a constructor or a {@code @Bean} method and every autowired
+ * field of a bean to one of the dependencies passed to {@link BeanDefinition#instantiate(BeanDefinition...)}.
+ * <p>
+ * Dependencies are passed in any order and are matched by type: every slot takes a dependency of exactly its type
+ * first, the remaining slots take the dependencies assignable to them. Each dependency fills a single slot. Only when
+ * several dependencies match a slot, e.g. beans of a common supertype resolved by name or as
+ * {@link com.hoverla.bring.annotation.Primary}, the one at the position of the slot in
+ * {@link BeanDefinition#dependencies()} is taken. The plan is computed once, after that the arguments are filled
+ * without any searching.
+ */
+public final class DependencySlotPlan {
+    private static final int NO_DEPENDENCY = -1;
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final BeanDefinition[] dependencies;
+    private final int[] parameterSlots;
+    private final int[] fieldSlots;
+    /**
+     * Arguments of the beans which are the same for every call, kept once all of them are created
+     */
+    private volatile Object[] sharedArguments;
+
+    private DependencySlotPlan(BeanDefinition[] dependencies, int[] parameterSlots, int[] fieldSlots) {
+        this.dependencies = dependencies;
+        this.parameterSlots = parameterSlots;
+        this.fieldSlots = fieldSlots;
+        this.sharedArguments = parameterSlots.length == 0 ? NO_ARGUMENTS : null;
+    }
+
+    /**
+     * @param dependencies definitions of the dependencies, when several of them match a slot the order of
+     *                     {@link BeanDefinition#dependencies()} decides: parameters first, then fields
+     * @param beanName name of the bean the plan is created for, used in the error message
+     * @throws BeanDependencyInjectionException when there is no dependency for a parameter
+     */
+    public static DependencySlotPlan create(BeanDefinition[] dependencies, Class<?>[] parameterTypes,
+                                            Class<?>[] fieldTypes, String beanName) {
+        Class<?>[] slotTypes = new Class<?>[parameterTypes.length + fieldTypes.length];
+        System.arraycopy(parameterTypes, 0, slotTypes, 0, parameterTypes.length);
+        System.arraycopy(fieldTypes, 0, slotTypes, parameterTypes.length, fieldTypes.length);
+
+        int[] slots = new int[slotTypes.length];
+        Arrays.fill(slots, NO_DEPENDENCY);
+        boolean[] usedDependencies = new boolean[dependencies.length];
+        bindSlots(slotTypes, slots, dependencies, usedDependencies, true);
+        bindSlots(slotTypes, slots, dependencies, usedDependencies, false);
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (slots[i] == NO_DEPENDENCY) {
+                throw new BeanDependencyInjectionException(format(
+                    BEAN_HAS_NO_MATCHES_DEPENDENCY_EXCEPTION, beanName, parameterTypes[i].getName()));
+            }
+        }
+        return new DependencySlotPlan(dependencies.clone(), Arrays.copyOf(slots, parameterTypes.length),
+            Arrays.copyOfRange(slots, parameterTypes.length, slots.length));
+    }
+
+    /**
+     * The array is shared between the calls when none of the dependencies is a prototype, so it must not be modified
+     *
+     * @return instances of the dependencies in the order of the parameters
+     */
+    public Object[] getArguments() {
+        Object[] arguments = sharedArguments;
+        if (arguments != null) {
+            return arguments;
+        }
+        arguments = new Object[parameterSlots.length];
+        boolean shared = true;
+        for (int i = 0; i < parameterSlots.length; i++) {
+            BeanDefinition dependency = dependencies[parameterSlots[i]];
+            arguments[i] = getInstance(dependency);
+            shared &= !dependency.isPrototype() && arguments[i] != null;
+        }
+        if (shared) {
+            sharedArguments = arguments;
+        }
+        return arguments;
+    }
+
+    /**
+     * @return instance of the dependency injected into the field, {@code null} if there is no dependency for it
+     */
+    public Object getFieldValue(int fieldIndex) {
+        int slot = fieldSlots[fieldIndex];
+        return slot == NO_DEPENDENCY ? null : getInstance(dependencies[slot]);
+    }
+
+    /**
+     * Lazy dependencies are injected as proxies, so they aren't created together with the beans depending on them
+     */
+    private static Object getInstance(BeanDefinition dependency) {
+        return dependency.isLazy() ? dependency.getInjectableInstance() : dependency.getInstance();
+    }
+
+    /**
+     * Binds every empty slot to the first unused dependency of exactly its type or assignable to it, unless
+     * the unused dependency at the position of the slot matches it too
+     */
+    private static void bindSlots(Class<?>[] slotTypes, int[] slots, BeanDefinition[] dependencies,
+                                  boolean[] usedDependencies, boolean exactType) {
+        for (int slot = 0; slot < slotTypes.length; slot++) {
+            if (slots[slot] != NO_DEPENDENCY) {
+                continue;
+            }
+            int match = NO_DEPENDENCY;
+            for (int i = 0; i < dependencies.length && match != slot; i++) {
+                Class<?> dependencyType = dependencies[i].type();
+                boolean matches = exactType
+                    ? slotTypes[slot] == dependencyType
+                    : slotTypes[slot].isAssignableFrom(dependencyType);
+                if (!usedDependencies[i] && matches && (match == NO_DEPENDENCY || i == slot)) {
+                    match = i;
+                }
+            }
+            if (match != NO_DEPENDENCY) {
+                slots[slot] = match;
+                usedDependencies[match] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.hoverla.bring.exception;
+
+public class AotContextCreationException extends RuntimeException {
+    public AotContextCreationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hoverla.bring.exception;
+
+public class BeanDefinitionValidationException extends RuntimeException {
+    public BeanDefinitionValidationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.hoverla.bring.exception;
+
+public class CdsTrainingException extends RuntimeException {
+    public CdsTrainingException(String message) {
+        super(message);
+    }
+
+    public CdsTrainingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hoverla.bring.exception;
+
+public class CircularDependencyException extends RuntimeException {
+    public CircularDependencyException(String message) {
+        super(message);
+    }
+}
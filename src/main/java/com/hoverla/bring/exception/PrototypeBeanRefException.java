@@ -0,0 +1,7 @@
+package com.hoverla.bring.exception;
+
+public class PrototypeBeanRefException extends RuntimeException {
+    public PrototypeBeanRefException(String message) {
+        super(message);
+    }
+}
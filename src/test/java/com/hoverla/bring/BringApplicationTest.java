@@ -1,5 +1,16 @@
 package com.hoverla.bring;
 
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.StartupListener;
+import com.hoverla.bring.context.StartupPhase;
+import com.hoverla.bring.context.fixtures.bean.success.A;
+import com.hoverla.bring.context.fixtures.bean.success.B;
+import com.hoverla.bring.context.fixtures.postprocessor.AuditedPaymentService;
+import com.hoverla.bring.context.fixtures.postprocessor.RecordingBeanPostProcessor;
+import com.hoverla.bring.context.fixtures.postprocessor.audit.AuditingBeanPostProcessor;
+import com.hoverla.bring.context.fixtures.postprocessor.audit.CheckoutService;
+import com.hoverla.bring.context.fixtures.postprocessor.audit.PaymentService;
+import com.hoverla.bring.exception.BeanDefinitionValidationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -7,8 +18,24 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.hoverla.bring.context.StartupPhase.DEPENDENCY_RESOLUTION;
+import static com.hoverla.bring.context.StartupPhase.INITIALIZATION;
+import static com.hoverla.bring.context.StartupPhase.POST_PROCESSING;
+import static com.hoverla.bring.context.StartupPhase.SCANNING;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class BringApplicationTest {
@@ -32,6 +59,178 @@ class BringApplicationTest {
             exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Loads context with beans from the given package")
+    void loadsContext() {
+        ApplicationContext context = BringApplication.loadContext("com.hoverla.bring.context.fixtures.bean.success");
+
+        assertNotNull(context.getBean(A.class));
+        assertNotNull(context.getBean("C", B.class));
+    }
+
+    @Test
+    @DisplayName("Loads context with parallel scanning")
+    void loadsContextWithParallelScanning() {
+        ApplicationContext context = BringApplication.getContextBuilder()
+            .packagesToScan("com.hoverla.bring.context.fixtures.bean.success")
+            .parallelScanning(4)
+            .build();
+
+        assertNotNull(context.getBean(A.class));
+    }
+
+    @Test
+    @DisplayName("Loads context with bytecode scanning")
+    void loadsContextWithBytecodeScanning() {
+        ApplicationContext context = BringApplication.getContextBuilder()
+            .packagesToScan("com.hoverla.bring.context.fixtures.bean.success")
+            .bytecodeScanning(true)
+            .build();
+
+        assertNotNull(context.getBean(A.class));
+    }
+
+    @Test
+    @DisplayName("Loads context with pipelined startup")
+    void loadsContextWithPipelinedStartup() {
+        ApplicationContext context = BringApplication.getContextBuilder()
+            .packagesToScan("com.hoverla.bring.context.fixtures.bean.success")
+            .bytecodeScanning(true)
+            .pipelinedStartup(true)
+            .build();
+
+        assertNotNull(context.getBean(A.class));
+        assertNotNull(context.getBean("C", B.class));
+    }
+
+    @Test
+    @DisplayName("Pipelined startup reports all the problems of bean definitions")
+    void validatesBeanDefinitionsWithPipelinedStartup() {
+        var builder = BringApplication.getContextBuilder()
+            .packagesToScan("com.hoverla.bring.context.fixtures.validation")
+            .bytecodeScanning(true)
+            .pipelinedStartup(true);
+
+        var exception = assertThrows(BeanDefinitionValidationException.class, builder::build);
+        assertTrue(exception.getMessage().startsWith("4 problems have been found in bean definitions:"));
+    }
+
+    @Test
+    @DisplayName("Scans the package when ahead-of-time context hasn't been generated")
+    void loadsContextWithoutGeneratedAotContext() {
+        ApplicationContext context = BringApplication.getContextBuilder()
+            .packagesToScan("com.hoverla.bring.context.fixtures.bean.success")
+            .aot(true)
+            .build();
+
+        assertNotNull(context.getBean(A.class));
+    }
+
+    @Test
+    @DisplayName("Applies post-processors registered at the builder")
+    void appliesRegisteredPostProcessor() {
+        var postProcessor = new RecordingBeanPostProcessor();
+        ApplicationContext context = BringApplication.getContextBuilder()
+            .packagesToScan("com.hoverla.bring.context.fixtures.bean.success")
+            .postProcessor(postProcessor)
+            .build();
+
+        assertTrue(postProcessor.getProcessedBeans().contains(context.getBean(A.class)));
+    }
+
+    @Test
+    @DisplayName("Post-processor sees only the supported beans and replaces them before they are injected")
+    void appliesPostProcessorToSupportedBeans() {
+        var postProcessor = new AuditingBeanPostProcessor();
+        ApplicationContext context = BringApplication.getContextBuilder()
+            .packagesToScan("com.hoverla.bring.context.fixtures.postprocessor.audit")
+            .postProcessor(postProcessor)
+            .build();
+
+        PaymentService paymentService = context.getBean(PaymentService.class);
+        assertInstanceOf(AuditedPaymentService.class, paymentService);
+        assertEquals("audited paid", paymentService.pay());
+        assertSame(paymentService, context.getBean(CheckoutService.class).getPaymentService());
+        assertEquals(List.of(PaymentService.class), postProcessor.getSupportedClasses());
+        assertEquals(1, postProcessor.getCreatedBeans().size());
+        assertEquals(postProcessor.getCreatedBeans(), postProcessor.getProcessedBeans());
+    }
+
+    @Test
+    @DisplayName("Bean replaced by a post-processor gets its value and setter injection")
+    void injectsReplacedBean() {
+        var postProcessor = new AuditingBeanPostProcessor();
+        ApplicationContext context = BringApplication.getContextBuilder()
+            .packagesToScan("com.hoverla.bring.context.fixtures.postprocessor.audit")
+            .postProcessor(postProcessor)
+            .build();
+
+        PaymentService paymentService = context.getBean(PaymentService.class);
+        assertInstanceOf(AuditedPaymentService.class, paymentService);
+        assertEquals("My message via card gateway", paymentService.receipt());
+    }
+
+    @Test
+    @DisplayName("Loads context asynchronously and reports every phase")
+    void loadsContextAsync() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        StartupListener listener = new StartupListener() {
+            @Override
+            public void onPhaseStarted(StartupPhase phase) {
+                events.add(phase + " started");
+            }
+
+            @Override
+            public void onPhaseCompleted(StartupPhase phase, Duration duration) {
+                events.add(phase + " completed");
+            }
+        };
+
+        CompletableFuture<ApplicationContext> context =
+            BringApplication.loadContextAsync(listener, "com.hoverla.bring.context.fixtures.bean.success");
+
+        assertNotNull(context.get(10, TimeUnit.SECONDS).getBean(A.class));
+        assertEquals(List.of(
+            SCANNING + " started", SCANNING + " completed",
+            DEPENDENCY_RESOLUTION + " started", DEPENDENCY_RESOLUTION + " completed",
+            INITIALIZATION + " started", INITIALIZATION + " completed",
+            POST_PROCESSING + " started", POST_PROCESSING + " completed"), events);
+    }
+
+    @Test
+    @DisplayName("Changes of the builder after building asynchronously don't affect the context")
+    void copiesBuilderSettingsBeforeBuildingAsync() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        var postProcessor = new RecordingBeanPostProcessor();
+        var builder = BringApplication.getContextBuilder()
+            .packagesToScan("com.hoverla.bring.context.fixtures.bean.success");
+
+        CompletableFuture<ApplicationContext> context = builder.buildAsync(tasks::add);
+        builder.packagesToScan("com.hoverla.bring?").postProcessor(postProcessor);
+        tasks.forEach(Runnable::run);
+
+        assertNotNull(context.get(10, TimeUnit.SECONDS).getBean(A.class));
+        assertTrue(postProcessor.getProcessedBeans().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Completes the future exceptionally when the context can't be created")
+    void completesAsyncLoadingExceptionally() {
+        CompletableFuture<ApplicationContext> context = BringApplication.loadContextAsync("com.hoverla.bring?");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> context.get(10, TimeUnit.SECONDS));
+
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Throws exception when parallelism is not positive")
+    void throwsExceptionWhenInvalidParallelism() {
+        var builder = BringApplication.getContextBuilder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.parallelScanning(0));
+    }
+
     @ParameterizedTest(name = "Throws exception when package names contain [{0}]")
     @ValueSource(strings = {"^","!","@","#","$","%","^","&","*","(",")","?","~","+","-","<",">","/",","})
     void throwsExceptionWhenInvalidPackageName(String packageName) {
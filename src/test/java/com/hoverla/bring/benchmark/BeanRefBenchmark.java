@@ -0,0 +1,68 @@
+package com.hoverla.bring.benchmark;
+
+import com.hoverla.bring.BringApplication;
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.BeanRef;
+import com.hoverla.bring.context.fixtures.bean.success.A;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a bean through {@link BeanRef} with a plain field read and with {@link ApplicationContext#getBean}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.hoverla.bring.benchmark.BeanRefBenchmark} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanRefBenchmark {
+    private ApplicationContext context;
+    private BeanRef<A> beanRef;
+    private A field;
+
+    @Setup
+    public void setUp() {
+        context = BringApplication.loadContext("com.hoverla.bring.context.fixtures.bean.success");
+        beanRef = context.beanRef(A.class);
+        field = context.getBean(A.class);
+    }
+
+    @Benchmark
+    public A fieldRead() {
+        return field;
+    }
+
+    @Benchmark
+    public A beanRef() {
+        return beanRef.get();
+    }
+
+    @Benchmark
+    public A getBeanByType() {
+        return context.getBean(A.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(BeanRefBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
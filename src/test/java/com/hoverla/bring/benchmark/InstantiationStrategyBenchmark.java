@@ -0,0 +1,93 @@
+package com.hoverla.bring.benchmark;
+
+import com.hoverla.bring.context.bean.instantiation.FieldAccessor;
+import com.hoverla.bring.context.bean.instantiation.InstantiationStrategy;
+import com.hoverla.bring.context.bean.instantiation.Instantiator;
+import com.hoverla.bring.context.fixtures.instantiation.Car;
+import com.hoverla.bring.context.fixtures.instantiation.Engine;
+import com.hoverla.bring.context.fixtures.instantiation.Garage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link InstantiationStrategy} implementations: creating a bean through a constructor
+ * and a configuration method, and injecting a field.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.hoverla.bring.benchmark.InstantiationStrategyBenchmark} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationStrategyBenchmark {
+
+    @Param({"reflective", "methodHandles", "generated"})
+    private String strategy;
+
+    private Instantiator constructor;
+    private Instantiator method;
+    private FieldAccessor field;
+    private Engine engine;
+    private Car car;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        InstantiationStrategy instantiationStrategy = getStrategy();
+        constructor = instantiationStrategy.getInstantiator(Car.class.getConstructor(Engine.class, int.class));
+        method = instantiationStrategy.getInstantiator(new Garage(), Garage.class.getMethod("car", Engine.class));
+        field = instantiationStrategy.getFieldAccessor(Car.class.getDeclaredField("spareEngine"));
+        engine = new Engine();
+        car = new Car(engine, 4);
+    }
+
+    @Benchmark
+    public Object constructor() throws Exception {
+        return constructor.instantiate(engine, 4);
+    }
+
+    @Benchmark
+    public Object configurationMethod() throws Exception {
+        return method.instantiate(engine);
+    }
+
+    @Benchmark
+    public Object fieldInjection() throws Exception {
+        field.set(car, engine);
+        return car;
+    }
+
+    private InstantiationStrategy getStrategy() {
+        switch (strategy) {
+            case "methodHandles":
+                return InstantiationStrategy.methodHandles();
+            case "generated":
+                return InstantiationStrategy.generated();
+            default:
+                return InstantiationStrategy.reflective();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(InstantiationStrategyBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
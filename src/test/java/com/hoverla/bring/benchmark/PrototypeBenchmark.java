@@ -0,0 +1,80 @@
+package com.hoverla.bring.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.hoverla.bring.BringApplication;
+import com.hoverla.bring.annotation.Prototype;
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.fixtures.prototype.Session;
+import com.hoverla.bring.context.fixtures.prototype.SessionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the creation of a {@link Prototype} bean by the context with a plain constructor call.
+ * The context also applies the post-processors to every instance.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.hoverla.bring.benchmark.PrototypeBenchmark} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeBenchmark {
+    private static final String SESSION_NAME = Session.class.getName();
+
+    private ApplicationContext context;
+    private SessionRegistry registry;
+
+    @Setup
+    public void setUp() {
+        // the post-processors log every processed field at the debug level
+        ((Logger) LoggerFactory.getLogger("com.hoverla.bring")).setLevel(Level.INFO);
+        context = BringApplication.loadContext("com.hoverla.bring.context.fixtures.prototype");
+        registry = context.getBean(SessionRegistry.class);
+    }
+
+    @Benchmark
+    public Session plainNew() {
+        return new Session(registry);
+    }
+
+    @Benchmark
+    public Session getBeanByType() {
+        return context.getBean(Session.class);
+    }
+
+    @Benchmark
+    public Session getBeanByName() {
+        return context.getBean(SESSION_NAME, Session.class);
+    }
+
+    @Benchmark
+    public StringBuilder getConfigurationBean() {
+        return context.getBean(StringBuilder.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PrototypeBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
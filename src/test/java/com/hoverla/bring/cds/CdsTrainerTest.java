@@ -0,0 +1,45 @@
+package com.hoverla.bring.cds;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CdsTrainerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Records classes loaded by the context, dumps the archive and measures the start")
+    void trainsArchive() throws IOException {
+        var trainer = new CdsTrainer(tempDir, System.getProperty("java.class.path"), 1);
+
+        CdsReport report = trainer.train("com.hoverla.bring.context.fixtures.bean.success");
+
+        assertThat(Files.readAllLines(report.getClassListFile()))
+            .contains("com/hoverla/bring/BringApplication", "com/hoverla/bring/context/fixtures/bean/success/A");
+        assertThat(report.getLoadedClassCount()).isPositive();
+        assertThat(report.getArchiveFile()).exists();
+        assertThat(report.getLauncherFile()).exists();
+        assertThat(Files.readString(report.getLauncherFile()))
+            .contains("-XX:SharedArchiveFile=", report.getClassPath());
+        assertThat(report.getClassPath().split(File.pathSeparator)).allMatch(entry -> entry.endsWith(".jar"));
+        assertThat(report.getStartWithoutArchive()).isPositive();
+        assertThat(report.getStartWithArchive()).isPositive().isLessThan(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Throws exception when number of timing runs is not positive")
+    void throwsExceptionWhenInvalidTimingRuns() {
+        assertThrows(IllegalArgumentException.class, () -> new CdsTrainer(tempDir, "", 0));
+    }
+}
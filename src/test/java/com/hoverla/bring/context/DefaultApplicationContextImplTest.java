@@ -1,6 +1,7 @@
 
 package com.hoverla.bring.context;
 
+import com.hoverla.bring.BringApplication;
 import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
 import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
 import com.hoverla.bring.context.bean.initializer.BeanInitializer;
@@ -21,20 +22,43 @@ import com.hoverla.bring.context.fixtures.bean.primary.AnimalService;
 import com.hoverla.bring.context.fixtures.bean.primary.Tiger;
 import com.hoverla.bring.context.fixtures.bean.primary.Wolf;
 import com.hoverla.bring.context.fixtures.bean.primary.error.AnimalError;
+import com.hoverla.bring.context.fixtures.background.CacheClient;
+import com.hoverla.bring.context.fixtures.background.CacheWarmer;
+import com.hoverla.bring.context.fixtures.background.WarmupGate;
+import com.hoverla.bring.context.fixtures.lazy.ReportController;
+import com.hoverla.bring.context.fixtures.lazy.ReportCounter;
+import com.hoverla.bring.context.fixtures.lazy.ReportService;
+import com.hoverla.bring.context.fixtures.prototype.Session;
+import com.hoverla.bring.context.fixtures.prototype.SessionRegistry;
+import com.hoverla.bring.context.fixtures.prototype.SessionService;
 import com.hoverla.bring.context.fixtures.value.success.BeanWithValueAnnotation;
+import com.hoverla.bring.exception.BeanDefinitionValidationException;
 import com.hoverla.bring.exception.MissingDependencyException;
 import com.hoverla.bring.exception.NoSuchBeanException;
 import com.hoverla.bring.exception.NoUniqueBeanException;
+import com.hoverla.bring.exception.PrototypeBeanRefException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -274,6 +298,164 @@ class DefaultApplicationContextImplTest {
         assertThrows(NoUniqueBeanException.class, () -> applicationContext.getBean(AnimalError.class));
     }
 
+    @Test
+    @DisplayName("Bean handle returns the same bean as the lookup by type")
+    void beanRefReturnsResolvedBean() {
+        applicationContext = getApplicationContext("com.hoverla.bring.context.fixtures.bean");
+        BeanRef<A> beanRef = applicationContext.beanRef(A.class);
+
+        assertSame(applicationContext.getBean(A.class), beanRef.get());
+        assertSame(beanRef.get(), beanRef.get());
+    }
+
+    @Test
+    @DisplayName("NoSuchBeanException is thrown when the bean handle is created for a missing bean")
+    void beanRefIfThereIsNoSuchBean() {
+        applicationContext = getApplicationContext("com.hoverla.bring.context.fixtures.bean");
+        assertThrows(NoSuchBeanException.class, () -> applicationContext.beanRef(NotABean.class));
+    }
+
+    @Test
+    @DisplayName("PrototypeBeanRefException is thrown when the bean handle is created for a prototype bean")
+    void beanRefIfBeanIsPrototype() {
+        applicationContext = BringApplication.loadContext("com.hoverla.bring.context.fixtures.prototype");
+
+        assertThrows(PrototypeBeanRefException.class, () -> applicationContext.beanRef(Session.class));
+        assertThrows(PrototypeBeanRefException.class, () -> applicationContext.beanRef(
+            "com.hoverla.bring.context.fixtures.prototype.Session", Session.class));
+        assertSame(applicationContext.getBean(SessionRegistry.class),
+            applicationContext.beanRef(SessionRegistry.class).get());
+    }
+
+    @Test
+    @DisplayName("Every lookup of a prototype bean creates a new post-processed instance with the same dependencies")
+    void getBeanCreatesPrototypeInstances() {
+        applicationContext = BringApplication.loadContext("com.hoverla.bring.context.fixtures.prototype");
+
+        Session first = applicationContext.getBean(Session.class);
+        Session second = applicationContext.getBean("com.hoverla.bring.context.fixtures.prototype.Session",
+            Session.class);
+
+        assertNotSame(first, second);
+        assertNotEquals(first.getId(), second.getId());
+        assertSame(first.getRegistry(), second.getRegistry());
+        assertSame(applicationContext.getBean(SessionRegistry.class), first.getRegistry());
+        assertEquals("My message", first.getMessage());
+        assertEquals("My message", second.getMessage());
+        assertNotSame(applicationContext.getBean(StringBuilder.class), applicationContext.getBean(StringBuilder.class));
+    }
+
+    @Test
+    @DisplayName("Singleton bean gets its own post-processed instance of a prototype dependency")
+    void injectsPrototypeIntoSingleton() {
+        applicationContext = BringApplication.loadContext("com.hoverla.bring.context.fixtures.prototype");
+
+        SessionService sessionService = applicationContext.getBean(SessionService.class);
+
+        assertSame(sessionService, applicationContext.getBean(SessionService.class));
+        assertNotSame(sessionService.getSession(), applicationContext.getBean(Session.class));
+        assertEquals("My message", sessionService.getSession().getMessage());
+    }
+
+    @Test
+    @DisplayName("Lazy beans are created on the first call of the injected proxy or the first lookup")
+    void createsLazyBeansOnFirstUse() {
+        applicationContext = BringApplication.loadContext("com.hoverla.bring.context.fixtures.lazy");
+        ReportCounter counter = applicationContext.getBean(ReportCounter.class);
+        ReportController controller = applicationContext.getBean(ReportController.class);
+
+        assertEquals(0, counter.getCreatedReports());
+        assertEquals("Report: My message", controller.report());
+        assertEquals(1, counter.getCreatedReports());
+
+        ReportService reportService = applicationContext.getBean(ReportService.class);
+        assertNotSame(reportService, controller.getReportService());
+        assertEquals("Report: My message", reportService.render());
+        assertEquals(1, counter.getCreatedReports());
+
+        assertTrue(applicationContext.getBean("reportArchive", List.class).isEmpty());
+        assertEquals(2, counter.getCreatedReports());
+    }
+
+    @Test
+    @DisplayName("Lazy bean looked up concurrently is created once")
+    void createsLazyBeanOnceForConcurrentLookups() throws Exception {
+        applicationContext = BringApplication.loadContext("com.hoverla.bring.context.fixtures.lazy");
+        Callable<ReportService> lookup = () -> applicationContext.getBean(ReportService.class);
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ReportService>> lookups = executor.invokeAll(
+                IntStream.range(0, 32).mapToObj(i -> lookup).collect(Collectors.toList()));
+
+            ReportService reportService = lookups.get(0).get();
+            for (Future<ReportService> result : lookups) {
+                assertSame(reportService, result.get());
+            }
+            assertEquals(1, applicationContext.getBean(ReportCounter.class).getCreatedReports());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Background beans are created after the context is returned and reported to the listeners")
+    void createsBackgroundBeansAfterContextIsReady() throws Exception {
+        applicationContext = BringApplication.loadContext("com.hoverla.bring.context.fixtures.background");
+        WarmupGate gate = applicationContext.getBean(WarmupGate.class);
+        Map<String, Object> readyBeans = new ConcurrentHashMap<>();
+        applicationContext.addBeanReadyListener(readyBeans::put);
+
+        assertFalse(applicationContext.getReadiness().isDone());
+        assertEquals(0, gate.getWarmups());
+
+        gate.open();
+        applicationContext.getReadiness().get(5, TimeUnit.SECONDS);
+
+        CacheWarmer cacheWarmer = applicationContext.getBean(CacheWarmer.class);
+        String beanName = CacheWarmer.class.getName();
+        assertEquals(Map.of(beanName, cacheWarmer), readyBeans);
+        assertEquals(1, gate.getWarmups());
+        assertEquals("My message", applicationContext.getBean(CacheClient.class).read());
+
+        Map<String, Object> lateListenerBeans = new ConcurrentHashMap<>();
+        applicationContext.addBeanReadyListener(lateListenerBeans::put);
+        assertEquals(Map.of(beanName, cacheWarmer), lateListenerBeans);
+    }
+
+    @Test
+    @DisplayName("Lookup of a background bean waits for it to be created once")
+    void lookupWaitsForBackgroundBean() throws Exception {
+        applicationContext = BringApplication.loadContext("com.hoverla.bring.context.fixtures.background");
+        WarmupGate gate = applicationContext.getBean(WarmupGate.class);
+
+        CompletableFuture<CacheWarmer> lookup =
+            CompletableFuture.supplyAsync(() -> applicationContext.getBean(CacheWarmer.class));
+        gate.open();
+
+        assertEquals("My message", lookup.get(5, TimeUnit.SECONDS).getCached());
+        applicationContext.getReadiness().get(5, TimeUnit.SECONDS);
+        assertSame(lookup.get(), applicationContext.getBean(CacheWarmer.class));
+        assertEquals(1, gate.getWarmups());
+    }
+
+    @Test
+    @DisplayName("All the problems of bean definitions are reported together before any bean is instantiated")
+    void reportsAllBeanDefinitionProblems() {
+        var exception = assertThrows(BeanDefinitionValidationException.class, () ->
+            getApplicationContext("com.hoverla.bring.context.fixtures.validation"));
+
+        assertThat(exception.getMessage()).startsWith("4 problems have been found in bean definitions:")
+            .contains("Bean name 'archive' is used by more than one bean",
+                "Bean 'com.hoverla.bring.context.fixtures.validation.AbstractReport' can't be instantiated",
+                "There is more than one bean matching the Notifier type",
+                "Dependency of type class com.hoverla.bring.context.fixtures.validation.AuditLog");
+        assertThat(exception.getSuppressed())
+            .extracting(Throwable::getClass)
+            .containsExactlyInAnyOrder(BeanDefinitionValidationException.class,
+                BeanDefinitionValidationException.class, NoUniqueBeanException.class,
+                MissingDependencyException.class);
+    }
+
     private ApplicationContext getApplicationContext(String packageToScan) {
         return new DefaultApplicationContextImpl(
             List.of(new BeanAnnotationScanner(new BeanDefinitionMapper(), packageToScan)),
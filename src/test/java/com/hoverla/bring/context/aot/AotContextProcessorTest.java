@@ -0,0 +1,131 @@
+package com.hoverla.bring.context.aot;
+
+import com.hoverla.bring.context.ApplicationContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AotContextProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Generated context creates beans in the order of dependencies and injects them")
+    void generatesContext() throws Exception {
+        writeSource("Repository.java",
+            "package com.example;\n" +
+            "public interface Repository {}\n");
+        writeSource("InMemoryRepository.java",
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Bean\n" +
+            "public class InMemoryRepository implements Repository {}\n");
+        writeSource("Service.java",
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Bean(\"service\")\n" +
+            "public class Service {\n" +
+            "    public final Repository repository;\n" +
+            "    @com.hoverla.bring.annotation.Autowired\n" +
+            "    private Clock clock;\n" +
+            "    public Service(Repository repository) { this.repository = repository; }\n" +
+            "    public Clock getClock() { return clock; }\n" +
+            "}\n");
+        writeSource("Clock.java",
+            "package com.example;\n" +
+            "public class Clock {}\n");
+        writeSource("AppConfig.java",
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Configuration\n" +
+            "public class AppConfig {\n" +
+            "    @com.hoverla.bring.annotation.Bean\n" +
+            "    public Clock clock() { return new Clock(); }\n" +
+            "}\n");
+
+        Path output = compile();
+
+        assertThat(output.resolve("com/example/" + AotContext.CONTEXT_CLASS_NAME + ".class")).exists();
+        try (var classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Optional<ApplicationContext> context = AotContext.load(classLoader, List.of(), "com.example");
+
+            assertThat(context).isPresent();
+            Map<String, Object> beans = context.get().getAllBeans(Object.class);
+            assertThat(beans).containsOnlyKeys("com.example.InMemoryRepository", "service", "clock");
+
+            Object service = beans.get("service");
+            assertSame(beans.get("com.example.InMemoryRepository"), service.getClass().getField("repository").get(service));
+            assertSame(beans.get("clock"), service.getClass().getMethod("getClock").invoke(service));
+        }
+    }
+
+    @Test
+    @DisplayName("Compilation fails when beans depend on each other")
+    void failsOnCircularDependency() throws IOException {
+        writeSource("First.java",
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Bean\n" +
+            "public class First { public First(Second second) {} }\n");
+        writeSource("Second.java",
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Bean\n" +
+            "public class Second { public Second(First first) {} }\n");
+
+        var errors = new ByteArrayOutputStream();
+        int result = runCompiler(Files.createDirectories(tempDir.resolve("classes")), errors);
+
+        assertNotEquals(0, result);
+        assertThat(errors.toString(StandardCharsets.UTF_8))
+            .contains("Circular dependency between beans: com.example.First -> com.example.Second -> com.example.First");
+    }
+
+    @Test
+    @DisplayName("Context is not loaded when it hasn't been generated for the package")
+    void contextIsAbsent() throws IOException {
+        try (var classLoader = new URLClassLoader(new URL[]{tempDir.toUri().toURL()}, null)) {
+            assertThat(AotContext.load(classLoader, List.of(), "com.example")).isEmpty();
+        }
+    }
+
+    private void writeSource(String fileName, String source) throws IOException {
+        Path sources = Files.createDirectories(tempDir.resolve("src/com/example"));
+        Files.writeString(sources.resolve(fileName), source);
+    }
+
+    private Path compile() throws IOException {
+        Path output = Files.createDirectories(tempDir.resolve("classes"));
+        var errors = new ByteArrayOutputStream();
+        assertEquals(0, runCompiler(output, errors), errors.toString(StandardCharsets.UTF_8));
+        return output;
+    }
+
+    private int runCompiler(Path output, ByteArrayOutputStream errors) throws IOException {
+        List<String> arguments = new ArrayList<>(List.of(
+            "-processor", AotContextProcessor.class.getName(),
+            "-A" + AotContextProcessor.PACKAGE_OPTION + "=com.example",
+            "-classpath", System.getProperty("java.class.path"),
+            "-d", output.toString()));
+        try (var sources = Files.list(tempDir.resolve("src/com/example"))) {
+            sources.map(Path::toString).forEach(arguments::add);
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        return compiler.run(null, null, errors, arguments.toArray(String[]::new));
+    }
+}
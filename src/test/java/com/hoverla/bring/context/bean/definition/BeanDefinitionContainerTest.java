@@ -0,0 +1,97 @@
+package com.hoverla.bring.context.bean.definition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BeanDefinitionContainerTest {
+
+    @Test
+    @DisplayName("Finds beans by their superclasses and interfaces in the order of bean definitions")
+    void findsBeansAssignableFromType() {
+        BeanDefinition string = getDefinition("string", String.class);
+        BeanDefinition list = getDefinition("list", ArrayList.class);
+        BeanDefinition integer = getDefinition("integer", Integer.class);
+        var container = new BeanDefinitionContainer(List.of(string, list, integer));
+        List<BeanDefinition> orderedDefinitions = new ArrayList<>(container.getBeanDefinitions());
+
+        assertThat(container.getBeansAssignableFromType(CharSequence.class)).containsExactly(string);
+        assertThat(container.getBeansAssignableFromType(Iterable.class)).containsExactly(list);
+        assertThat(container.getBeansAssignableFromType(Number.class)).containsExactly(integer);
+        assertThat(container.getBeansAssignableFromType(Serializable.class))
+            .containsExactlyElementsOf(orderedDefinitions);
+        assertThat(container.getBeansAssignableFromType(Object.class)).containsExactlyElementsOf(orderedDefinitions);
+        assertThat(container.getBeansAssignableFromType(Runnable.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Finds beans by exact type and array types")
+    void findsBeansWithExactType() {
+        BeanDefinition string = getDefinition("string", String.class);
+        BeanDefinition strings = getDefinition("strings", String[].class);
+        var container = new BeanDefinitionContainer(List.of(string, strings));
+
+        assertThat(container.getBeansWithExactType(String.class)).containsExactly(string);
+        assertThat(container.getBeansWithExactType(CharSequence.class)).isEmpty();
+        assertThat(container.getBeansAssignableFromType(Object[].class)).containsExactly(strings);
+        assertThat(container.getBeansAssignableFromType(CharSequence[].class)).containsExactly(strings);
+        assertThat(container.getBeansAssignableFromType(Cloneable.class)).containsExactly(strings);
+        assertThat(container.getBeansAssignableFromType(Object.class)).hasSize(2);
+        assertThat(container.getBeansAssignableFromType(Number[].class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Nested and primitive arrays are indexed under the types they are assignable to")
+    void indexesArrayTypes() {
+        BeanDefinition matrix = getDefinition("matrix", Integer[][].class);
+        BeanDefinition numbers = getDefinition("numbers", int[].class);
+        var container = new BeanDefinitionContainer(List.of(matrix, numbers));
+
+        assertThat(container.getBeansAssignableFromType(Number[][].class)).containsExactly(matrix);
+        assertThat(container.getBeansAssignableFromType(Object[].class)).containsExactly(matrix);
+        assertThat(container.getBeansAssignableFromType(Serializable[].class)).containsExactly(matrix);
+        assertThat(container.getBeansAssignableFromType(int[].class)).containsExactly(numbers);
+        assertThat(container.getBeansAssignableFromType(Cloneable.class)).containsExactlyInAnyOrder(matrix, numbers);
+        assertThat(container.getBeansAssignableFromType(Integer[].class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Lookups of types without beans aren't kept in the indexes")
+    void doesNotCacheMisses() {
+        var container = new BeanDefinitionContainer(List.of(getDefinition("string", String.class)));
+        int indexedTypes = container.getAssignableTypeIndex().size();
+
+        assertThat(container.getBeansAssignableFromType(Runnable.class)).isEmpty();
+        assertThat(container.getBeansWithExactType(Runnable.class)).isEmpty();
+        assertThat(container.getBeansAssignableFromType(String[].class)).isEmpty();
+        assertThat(container.getAssignableTypeIndex()).hasSize(indexedTypes);
+    }
+
+    @Test
+    @DisplayName("Type lookups return the same immutable list")
+    void cachesImmutableResults() {
+        var container = new BeanDefinitionContainer(List.of(getDefinition("string", String.class)));
+
+        List<BeanDefinition> beans = container.getBeansAssignableFromType(CharSequence.class);
+
+        assertSame(beans, container.getBeansAssignableFromType(CharSequence.class));
+        assertThrows(UnsupportedOperationException.class, beans::clear);
+    }
+
+    private BeanDefinition getDefinition(String name, Class<?> type) {
+        BeanDefinition beanDefinition = mock(BeanDefinition.class);
+        doReturn(type).when(beanDefinition).type();
+        when(beanDefinition.name()).thenReturn(name);
+        return beanDefinition;
+    }
+}
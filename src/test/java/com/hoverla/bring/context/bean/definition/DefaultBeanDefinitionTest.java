@@ -14,8 +14,11 @@ import com.hoverla.bring.context.fixtures.autowired.definition.success.BeanWithC
 import com.hoverla.bring.context.fixtures.autowired.definition.success.BeanWithMultipleAutowiredFields;
 import com.hoverla.bring.context.fixtures.autowired.definition.success.BeanWithSetterAutowiring;
 import com.hoverla.bring.context.fixtures.bean.success.TestBeanWithoutName;
+import com.hoverla.bring.context.fixtures.lazy.ReportCounter;
+import com.hoverla.bring.context.fixtures.lazy.ReportService;
 import com.hoverla.bring.exception.BeanDependencyInjectionException;
 import com.hoverla.bring.exception.BeanInstanceCreationException;
+import com.hoverla.bring.exception.CircularDependencyException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -195,6 +198,18 @@ class DefaultBeanDefinitionTest {
 
     }
 
+    @Test
+    @DisplayName("Lookup of a lazy bean while it is being created fails instead of creating another instance")
+    void failsOnLookupOfLazyBeanInCreation() {
+        var beanDefinition = new DefaultBeanDefinition(ReportService.class);
+        var counter = new ReportCounter();
+        beanDefinition.instantiate(getDefinition(ReportCounter.class, ReportCounter.class.getName(), counter));
+        beanDefinition.setInstancePostProcessor(bean -> beanDefinition.getInstance());
+
+        assertThrows(CircularDependencyException.class, beanDefinition::getInstance);
+        assertEquals(1, counter.getCreatedReports());
+    }
+
     private Stream<Arguments> resolveDependencies() {
         return Stream.of(
             Arguments.of(BeanWithConstructor.class,
@@ -0,0 +1,71 @@
+package com.hoverla.bring.context.bean.definition;
+
+import com.hoverla.bring.context.fixtures.bean.primary.Animal;
+import com.hoverla.bring.context.fixtures.bean.primary.Tiger;
+import com.hoverla.bring.context.fixtures.bean.primary.Wolf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FrozenBeanRegistryTest {
+
+    @Test
+    @DisplayName("Every bean is found by its name")
+    void findsBeansByName() {
+        List<BeanDefinition> beanDefinitions = IntStream.range(0, 100)
+            .mapToObj(i -> getDefinition("bean" + i, Integer.valueOf(i)))
+            .collect(toList());
+        var registry = FrozenBeanRegistry.freeze(new BeanDefinitionContainer(beanDefinitions));
+
+        assertEquals(100, registry.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, registry.getInstance(registry.getBeanId("bean" + i)));
+        }
+        assertEquals(-1, registry.getBeanId("bean100"));
+    }
+
+    @Test
+    @DisplayName("Lookup by type returns the single bean or the primary one, nothing when it is ambiguous")
+    void resolvesBeansByType() {
+        var tiger = new Tiger();
+        var wolf = new Wolf();
+        var registry = FrozenBeanRegistry.freeze(new BeanDefinitionContainer(List.of(
+            getDefinition("tiger", tiger), getDefinition("wolf", wolf),
+            getDefinition("string", "value"), getDefinition("text", "text"))));
+
+        assertSame(tiger, registry.getBean(Animal.class));
+        assertSame(wolf, registry.getBean(Wolf.class));
+        assertSame(tiger, registry.getBean(Object.class));
+        assertNull(registry.getBean(CharSequence.class));
+        assertNull(registry.getBean(Runnable.class));
+        assertThat(registry.getBeans(Animal.class)).containsOnlyKeys("tiger", "wolf");
+        assertThat(registry.getBeanDefinitions(Animal.class)).extracting(BeanDefinition::name)
+            .containsExactlyInAnyOrder("tiger", "wolf");
+    }
+
+    @Test
+    @DisplayName("Array beans are found by covariant array types")
+    void findsArrayBeans() {
+        String[] strings = {"value"};
+        var registry = FrozenBeanRegistry.freeze(new BeanDefinitionContainer(List.of(
+            getDefinition("strings", strings), getDefinition("list", new ArrayList<>()))));
+
+        assertSame(strings, registry.getBeans(Object[].class).get("strings"));
+        assertThat(registry.getBeanDefinitions(CharSequence[].class)).extracting(BeanDefinition::name)
+            .containsExactly("strings");
+        assertNull(registry.getBean(Object.class));
+    }
+
+    private BeanDefinition getDefinition(String name, Object instance) {
+        return new InstanceBeanDefinition(name, instance.getClass(), false, instance);
+    }
+}
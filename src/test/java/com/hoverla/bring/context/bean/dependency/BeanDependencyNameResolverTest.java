@@ -2,12 +2,16 @@ package com.hoverla.bring.context.bean.dependency;
 
 import com.hoverla.bring.context.bean.definition.BeanDefinition;
 import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
+import com.hoverla.bring.exception.MissingDependencyException;
+import com.hoverla.bring.exception.NoUniqueBeanException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,9 +19,13 @@ import static java.util.Collections.emptyMap;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class BeanDependencyNameResolverTest {
@@ -73,6 +81,105 @@ class BeanDependencyNameResolverTest {
             .doesNotContainKeys(Integer.class.getName(), nonPrimaryDependency.name());
     }
 
+    @Test
+    @DisplayName("Candidates of a type are looked up once and the plan holds the injected bean definitions")
+    void resolvesEachTypeOnce() {
+        BeanDefinition dateDefinition = getDefinition("date", LocalDate.class, emptyMap());
+        List<BeanDefinition> dependentDefinitions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            BeanDependency dependency = new BeanDependency(LocalDate.class.getName(), LocalDate.class);
+            Map<String, BeanDependency> dependencies = new HashMap<>(Map.of(dependency.getName(), dependency));
+            dependentDefinitions.add(getDefinition("bean" + i, Object.class, dependencies));
+        }
+        List<BeanDefinition> beans = new ArrayList<>(dependentDefinitions);
+        beans.add(dateDefinition);
+        BeanDefinitionContainer container = spy(new BeanDefinitionContainer(beans));
+
+        BeanDependencyResolutionPlan plan = nameResolver.resolveDependencyNames(container);
+
+        verify(container, times(1)).getBeansWithExactType(LocalDate.class);
+        for (BeanDefinition dependentDefinition : dependentDefinitions) {
+            assertThat(dependentDefinition.dependencies()).containsOnlyKeys("date");
+            assertThat(plan.getDependencies(dependentDefinition)).containsExactly(dateDefinition);
+        }
+        assertThat(plan.getDependencies(dateDefinition)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Dependencies keep the order they are declared in when only some of them are renamed")
+    void keepsDeclaredOrderOfDependencies() {
+        BeanDependency date = new BeanDependency(LocalDate.class.getName(), LocalDate.class);
+        BeanDependency string = new BeanDependency("string", String.class);
+        Map<String, BeanDependency> dependencies = new LinkedHashMap<>();
+        dependencies.put(date.getName(), date);
+        dependencies.put(string.getName(), string);
+        BeanDefinition dependentDefinition = getDefinition("bean", Object.class, dependencies);
+        BeanDefinition dateDefinition = getDefinition("date", LocalDate.class, emptyMap());
+        BeanDefinition stringDefinition = getDefinition("string", String.class, emptyMap());
+
+        BeanDependencyResolutionPlan plan = nameResolver.resolveDependencyNames(
+            new BeanDefinitionContainer(List.of(dependentDefinition, dateDefinition, stringDefinition)));
+
+        assertThat(dependentDefinition.dependencies().keySet()).containsExactly("date", "string");
+        assertThat(plan.getDependencies(dependentDefinition)).containsExactly(dateDefinition, stringDefinition);
+    }
+
+    @Test
+    @DisplayName("Bean isn't injected into itself when it is assignable to its dependency")
+    void skipsBeanAssignableToItsDependency() {
+        BeanDependency dependency = new BeanDependency(CharSequence.class.getName(), CharSequence.class);
+        Map<String, BeanDependency> dependencies = new HashMap<>(Map.of(dependency.getName(), dependency));
+        BeanDefinition decoratorDefinition = getDefinition("decorator", StringBuilder.class, dependencies);
+        BeanDefinition stringDefinition = getDefinition("string", String.class, emptyMap());
+
+        BeanDependencyResolutionPlan plan = nameResolver.resolveDependencyNames(
+            new BeanDefinitionContainer(List.of(decoratorDefinition, stringDefinition)));
+
+        assertThat(plan.getDependencies(decoratorDefinition)).containsExactly(stringDefinition);
+        assertThat(decoratorDefinition.dependencies()).containsOnlyKeys("string");
+    }
+
+    @Test
+    @DisplayName("NoUniqueBeanException is thrown when several beans match and none of them is primary")
+    void throwsWhenDependencyIsAmbiguous() {
+        BeanDependency dependency = new BeanDependency(CharSequence.class.getName(), CharSequence.class);
+        Map<String, BeanDependency> dependencies = new HashMap<>(Map.of(dependency.getName(), dependency));
+        var container = new BeanDefinitionContainer(List.of(
+            getDefinition("bean", Object.class, dependencies),
+            getDefinition("string", String.class, emptyMap()),
+            getDefinition("builder", StringBuilder.class, emptyMap())));
+
+        var exception = assertThrows(NoUniqueBeanException.class, () -> nameResolver.resolveDependencyNames(container));
+
+        assertThat(exception.getMessage()).contains("CharSequence", "string: String", "builder: StringBuilder");
+    }
+
+    @Test
+    @DisplayName("Problems of all the beans are collected into the plan and their dependencies aren't renamed")
+    void collectsProblemsIntoPlan() {
+        BeanDependency missing = new BeanDependency(LocalDate.class.getName(), LocalDate.class);
+        BeanDefinition missingDefinition = getDefinition("missing", Object.class,
+            new HashMap<>(Map.of(missing.getName(), missing)));
+        BeanDependency ambiguous = new BeanDependency(CharSequence.class.getName(), CharSequence.class);
+        BeanDefinition ambiguousDefinition = getDefinition("ambiguous", Object.class,
+            new HashMap<>(Map.of(ambiguous.getName(), ambiguous)));
+        BeanDependency valid = new BeanDependency(String.class.getName(), String.class);
+        BeanDefinition validDefinition = getDefinition("valid", Object.class,
+            new HashMap<>(Map.of(valid.getName(), valid)));
+        BeanDefinition stringDefinition = getDefinition("string", String.class, emptyMap());
+        var container = new BeanDefinitionContainer(List.of(missingDefinition, ambiguousDefinition, validDefinition,
+            stringDefinition, getDefinition("builder", StringBuilder.class, emptyMap())));
+
+        BeanDependencyResolutionPlan plan = nameResolver.createResolutionPlan(container);
+
+        assertThat(plan.getProblems()).extracting(Object::getClass)
+            .containsExactlyInAnyOrder(MissingDependencyException.class, NoUniqueBeanException.class);
+        assertThat(plan.getDependencies(validDefinition)).containsExactly(stringDefinition);
+        assertThat(plan.getDependencies(ambiguousDefinition)).isEmpty();
+        assertThat(ambiguousDefinition.dependencies()).containsOnlyKeys(CharSequence.class.getName());
+        assertThat(plan.getContainer()).isSameAs(container);
+    }
+
     private BeanDefinition getDefinition(String beanName, Class<?> type, Map<String, BeanDependency> dependencies) {
         BeanDefinition beanDefinition = mock(BeanDefinition.class);
         doReturn(type).when(beanDefinition).type();
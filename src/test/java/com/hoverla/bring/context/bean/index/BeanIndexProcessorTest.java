@@ -0,0 +1,132 @@
+package com.hoverla.bring.context.bean.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BeanIndexProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Classes annotated with @Bean and @Configuration are written to the bean index")
+    void writesBeanIndex() throws IOException {
+        Path sources = Files.createDirectories(tempDir.resolve("src/com/example"));
+        Files.writeString(sources.resolve("Service.java"),
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Bean\n" +
+            "public class Service {\n" +
+            "    @com.hoverla.bring.annotation.Bean\n" +
+            "    public static class Nested {}\n" +
+            "}\n");
+        Files.writeString(sources.resolve("AppConfig.java"),
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Configuration\n" +
+            "public class AppConfig {\n" +
+            "    @com.hoverla.bring.annotation.Bean\n" +
+            "    public String text() { return \"text\"; }\n" +
+            "}\n");
+        Files.writeString(sources.resolve("NotABean.java"),
+            "package com.example;\n" +
+            "public class NotABean {}\n");
+        Path output = Files.createDirectories(tempDir.resolve("classes"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null,
+            "-proc:only",
+            "-processor", BeanIndexProcessor.class.getName(),
+            "-classpath", System.getProperty("java.class.path"),
+            "-d", output.toString(),
+            sources.resolve("Service.java").toString(),
+            sources.resolve("AppConfig.java").toString(),
+            sources.resolve("NotABean.java").toString());
+        assertEquals(0, result);
+
+        assertThat(output.resolve(BeanIndex.INDEX_LOCATION)).exists();
+        try (var classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, null)) {
+            Optional<BeanIndex> index = BeanIndex.load(classLoader);
+
+            assertThat(index).isPresent();
+            assertEquals(List.of("com.example.Service", "com.example.Service$Nested"),
+                index.get().getCandidates(com.hoverla.bring.annotation.Bean.class, "com.example"));
+            assertEquals(List.of("com.example.AppConfig"),
+                index.get().getCandidates(com.hoverla.bring.annotation.Configuration.class, "com.example"));
+            assertTrue(index.get().covers("com.example"));
+            assertFalse(index.get().covers("com.other"));
+        }
+    }
+
+    @Test
+    @DisplayName("Incremental compilation merges the previous index and drops the classes which no longer exist")
+    void mergesPreviousIndex() throws IOException {
+        Path sources = Files.createDirectories(tempDir.resolve("src/com/example"));
+        Files.writeString(sources.resolve("Service.java"),
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Bean\n" +
+            "public class Service {}\n");
+        Files.writeString(sources.resolve("Removed.java"),
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Bean\n" +
+            "public class Removed {}\n");
+        Files.writeString(sources.resolve("BeanConfig.java"),
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Bean\n" +
+            "@com.hoverla.bring.annotation.Configuration\n" +
+            "public class BeanConfig {}\n");
+        Path output = Files.createDirectories(tempDir.resolve("classes"));
+        compile(output, sources.resolve("Service.java"), sources.resolve("Removed.java"),
+            sources.resolve("BeanConfig.java"));
+
+        Files.delete(output.resolve("com/example/Removed.class"));
+        Files.writeString(sources.resolve("Added.java"),
+            "package com.example;\n" +
+            "@com.hoverla.bring.annotation.Bean\n" +
+            "public class Added {}\n");
+        compile(output, sources.resolve("Added.java"));
+
+        try (var classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, null)) {
+            BeanIndex index = BeanIndex.load(classLoader).orElseThrow();
+
+            assertEquals(List.of("com.example.Added", "com.example.BeanConfig", "com.example.Service"),
+                index.getCandidates(com.hoverla.bring.annotation.Bean.class, "com.example"));
+            assertEquals(List.of("com.example.BeanConfig"),
+                index.getCandidates(com.hoverla.bring.annotation.Configuration.class, "com.example"));
+        }
+    }
+
+    @Test
+    @DisplayName("Bean index is absent when there is no index file on the classpath")
+    void indexIsAbsent() throws IOException {
+        try (var classLoader = new URLClassLoader(new URL[]{tempDir.toUri().toURL()}, null)) {
+            assertThat(BeanIndex.load(classLoader)).isEmpty();
+        }
+    }
+
+    private static void compile(Path output, Path... sourceFiles) {
+        List<String> arguments = new ArrayList<>(List.of(
+            "-processor", BeanIndexProcessor.class.getName(),
+            "-classpath", System.getProperty("java.class.path") + File.pathSeparator + output,
+            "-d", output.toString()));
+        Arrays.stream(sourceFiles).map(Path::toString).forEach(arguments::add);
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(String[]::new)));
+    }
+}
@@ -1,24 +1,34 @@
 package com.hoverla.bring.context.bean.initializer;
 
+import com.hoverla.bring.context.StartupListener;
 import com.hoverla.bring.context.bean.definition.BeanDefinition;
 import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
 import com.hoverla.bring.context.bean.dependency.BeanDependency;
 import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyResolutionPlan;
+import com.hoverla.bring.exception.BeanInitializePhaseException;
+import com.hoverla.bring.exception.CircularDependencyException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,7 +45,7 @@ class BeanInitializerTest {
 
     @BeforeEach
     void setUp() {
-        nameResolver = mock(BeanDependencyNameResolver.class);
+        nameResolver = spy(new BeanDependencyNameResolver());
         beanInitializer = new BeanInitializer(nameResolver);
     }
 
@@ -77,6 +87,75 @@ class BeanInitializerTest {
         }
     }
 
+    @Test
+    @DisplayName("Beans are returned in the order of initialization, every bean follows its dependencies")
+    void returnsInitializationOrder() {
+        var service = new TestBeanDefinition("service", "repository", "clock");
+        var repository = new TestBeanDefinition("repository", "dataSource");
+        var dataSource = new TestBeanDefinition("dataSource");
+        var clock = new TestBeanDefinition("clock");
+
+        List<BeanDefinition> order = new BeanInitializer(new BeanDependencyNameResolver())
+            .initialize(new BeanDefinitionContainer(List.of(service, repository, dataSource, clock)));
+
+        assertThat(order).containsExactlyInAnyOrder(service, repository, dataSource, clock);
+        assertThat(order.indexOf(dataSource)).isLessThan(order.indexOf(repository));
+        assertThat(order.indexOf(repository)).isLessThan(order.indexOf(service));
+        assertThat(order.indexOf(clock)).isLessThan(order.indexOf(service));
+        assertTrue(service.dependenciesWereInstantiated);
+    }
+
+    @Test
+    @DisplayName("Beans are initialized with the dependencies of the given plan without resolving them again")
+    void initializesWithResolutionPlan() {
+        var service = new TestBeanDefinition("service", "repository");
+        var repository = new TestBeanDefinition("repository");
+        var container = new BeanDefinitionContainer(List.of(service, repository));
+        BeanDependencyResolutionPlan resolutionPlan = new BeanDependencyNameResolver().resolveDependencyNames(container);
+
+        List<BeanDefinition> order = beanInitializer.initialize(resolutionPlan, StartupListener.NONE);
+
+        assertThat(order).containsExactly(repository, service);
+        assertTrue(service.dependenciesWereInstantiated);
+        verify(nameResolver, never()).resolveDependencyNames(any());
+        verify(nameResolver, never()).createResolutionPlan(any());
+    }
+
+    @Test
+    @DisplayName("Long chain of dependencies is initialized without recursion")
+    void initializesLongDependencyChain() {
+        List<BeanDefinition> chain = new ArrayList<>();
+        chain.add(new TestBeanDefinition("bean0"));
+        for (int i = 1; i < 20_000; i++) {
+            chain.add(new TestBeanDefinition("bean" + i, "bean" + (i - 1)));
+        }
+
+        List<BeanDefinition> order = new BeanInitializer(new BeanDependencyNameResolver())
+            .initialize(new BeanDefinitionContainer(chain));
+
+        assertThat(order).containsExactlyElementsOf(chain);
+    }
+
+    @Test
+    @DisplayName("Every group of beans depending on each other is reported")
+    void reportsCircularDependencies() {
+        var container = new BeanDefinitionContainer(List.of(
+            new TestBeanDefinition("first", "second"),
+            new TestBeanDefinition("second", "third"),
+            new TestBeanDefinition("third", "first"),
+            new TestBeanDefinition("self", "self"),
+            new TestBeanDefinition("dependent", "first"),
+            new TestBeanDefinition("independent")));
+
+        var exception = assertThrows(BeanInitializePhaseException.class,
+            () -> new BeanInitializer(new BeanDependencyNameResolver()).initialize(container));
+
+        assertInstanceOf(CircularDependencyException.class, exception.getCause());
+        assertThat(exception.getCause().getMessage())
+            .startsWith("Beans can't be initialized because of circular dependencies: ")
+            .endsWith("[first, second, third] (first -> second -> third -> first), [self] (self -> self)");
+    }
+
     private BeanDefinition getDefinition(String beanDefinitionName, String... dependencyNames) {
         BeanDefinition beanDefinition = mock(BeanDefinition.class);
         doReturn(BeanDefinition.class).when(beanDefinition).type();
@@ -0,0 +1,116 @@
+package com.hoverla.bring.context.bean.initializer;
+
+import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
+import com.hoverla.bring.exception.BeanInitializePhaseException;
+import com.hoverla.bring.exception.CircularDependencyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelBeanInitializerTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ParallelBeanInitializer initializer =
+        new ParallelBeanInitializer(new BeanDependencyNameResolver(), executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Beans are instantiated after their dependencies and receive them")
+    void instantiatesDependenciesFirst() {
+        var first = new TestBeanDefinition("first", "second", "third");
+        var second = new TestBeanDefinition("second", "third", "fourth");
+        var third = new TestBeanDefinition("third", "fourth");
+        var fourth = new TestBeanDefinition("fourth");
+
+        initializer.initialize(new BeanDefinitionContainer(List.of(first, second, third, fourth)));
+
+        assertThat(first.receivedDependencies).containsExactlyInAnyOrder(second, third);
+        assertThat(second.receivedDependencies).containsExactlyInAnyOrder(third, fourth);
+        assertThat(third.receivedDependencies).containsExactly(fourth);
+        assertThat(fourth.receivedDependencies).isEmpty();
+        List.of(first, second, third, fourth).forEach(bean -> assertTrue(bean.dependenciesWereInstantiated));
+    }
+
+    @Test
+    @DisplayName("Independent beans are instantiated concurrently")
+    void instantiatesIndependentBeansConcurrently() {
+        var barrier = new CyclicBarrier(3);
+        Consumer<TestBeanDefinition> awaitOthers = bean -> {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("Beans haven't been instantiated concurrently", e);
+            }
+        };
+        var first = new TestBeanDefinition("first").onInstantiate(awaitOthers);
+        var second = new TestBeanDefinition("second").onInstantiate(awaitOthers);
+        var third = new TestBeanDefinition("third").onInstantiate(awaitOthers);
+        var dependent = new TestBeanDefinition("dependent", "first", "second", "third");
+
+        initializer.initialize(new BeanDefinitionContainer(List.of(first, second, third, dependent)));
+
+        assertTrue(dependent.isInstantiated());
+        assertTrue(dependent.dependenciesWereInstantiated);
+    }
+
+    @Test
+    @DisplayName("The first failure is reported and dependent beans are not instantiated")
+    void reportsFailure() {
+        var failing = new TestBeanDefinition("failing").onInstantiate(bean -> {
+            throw new IllegalStateException("Pool can't be opened");
+        });
+        var dependent = new TestBeanDefinition("dependent", "failing");
+        var container = new BeanDefinitionContainer(List.of(failing, dependent));
+
+        var exception = assertThrows(BeanInitializePhaseException.class, () -> initializer.initialize(container));
+
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals("Pool can't be opened", exception.getCause().getMessage());
+        assertFalse(dependent.isInstantiated());
+    }
+
+    @Test
+    @DisplayName("CircularDependencyException is thrown when beans depend on each other")
+    void detectsCircularDependencies() {
+        var container = new BeanDefinitionContainer(List.of(
+            new TestBeanDefinition("first", "second"),
+            new TestBeanDefinition("second", "first"),
+            new TestBeanDefinition("independent")));
+
+        var exception = assertThrows(BeanInitializePhaseException.class, () -> initializer.initialize(container));
+
+        assertInstanceOf(CircularDependencyException.class, exception.getCause());
+        assertThat(exception.getCause().getMessage()).contains("first", "second").doesNotContain("independent");
+    }
+
+    @Test
+    @DisplayName("Beans are instantiated on the default executor")
+    void instantiatesOnDefaultExecutor() {
+        var first = new TestBeanDefinition("first", "second");
+        var second = new TestBeanDefinition("second");
+
+        new ParallelBeanInitializer(new BeanDependencyNameResolver())
+            .initialize(new BeanDefinitionContainer(List.of(first, second)));
+
+        assertTrue(first.isInstantiated());
+        assertTrue(first.dependenciesWereInstantiated);
+    }
+}
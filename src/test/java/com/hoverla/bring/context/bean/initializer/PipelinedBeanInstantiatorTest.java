@@ -0,0 +1,76 @@
+package com.hoverla.bring.context.bean.initializer;
+
+import com.hoverla.bring.context.bean.definition.BeanDefinitionContainer;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
+import com.hoverla.bring.exception.BeanInitializePhaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipelinedBeanInstantiatorTest {
+    private final PipelinedBeanInstantiator instantiator = new PipelinedBeanInstantiator();
+
+    @AfterEach
+    void tearDown() {
+        instantiator.close();
+    }
+
+    @Test
+    @DisplayName("Beans without dependencies are instantiated when offered, the others by the initializer")
+    void instantiatesBeansWithoutDependencies() throws InterruptedException {
+        var offered = new CountDownLatch(1);
+        var independent = new TestBeanDefinition("independent").onInstantiate(bean -> offered.countDown());
+        var dependent = new TestBeanDefinition("dependent", "independent");
+
+        instantiator.offer(independent);
+        instantiator.offer(dependent);
+
+        assertTrue(offered.await(5, TimeUnit.SECONDS));
+        instantiator.awaitInstantiated();
+        assertTrue(independent.isInstantiated());
+        assertFalse(dependent.isInstantiated());
+
+        new BeanInitializer(new BeanDependencyNameResolver())
+            .initialize(new BeanDefinitionContainer(List.of(independent, dependent)));
+
+        assertEquals(List.of(), independent.receivedDependencies);
+        assertEquals(List.of(independent), dependent.receivedDependencies);
+    }
+
+    @Test
+    @DisplayName("Failure of a bean instantiated while scanning is reported when it is awaited")
+    void reportsFailure() {
+        var failing = new TestBeanDefinition("failing").onInstantiate(bean -> {
+            throw new IllegalStateException("Pool can't be opened");
+        });
+
+        instantiator.offer(failing);
+
+        var exception = assertThrows(BeanInitializePhaseException.class, instantiator::awaitInstantiated);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertNull(failing.getInstance());
+    }
+
+    @Test
+    @DisplayName("Error of a bean instantiated while scanning is rethrown as is")
+    void rethrowsError() {
+        var failing = new TestBeanDefinition("failing").onInstantiate(bean -> {
+            throw new NoClassDefFoundError("com/example/Pool");
+        });
+
+        instantiator.offer(failing);
+
+        assertThrows(NoClassDefFoundError.class, instantiator::awaitInstantiated);
+    }
+}
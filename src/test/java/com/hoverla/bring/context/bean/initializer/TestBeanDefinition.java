@@ -0,0 +1,45 @@
+package com.hoverla.bring.context.bean.initializer;
+
+import com.hoverla.bring.context.bean.definition.AbstractBeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.dependency.BeanDependency;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Bean definition whose dependency names are already resolved, it records how it has been instantiated
+ */
+class TestBeanDefinition extends AbstractBeanDefinition {
+    private Consumer<TestBeanDefinition> instantiateAction = bean -> { };
+    volatile List<BeanDefinition> receivedDependencies;
+    volatile boolean dependenciesWereInstantiated;
+
+    TestBeanDefinition(String name, String... dependencyNames) {
+        this.name = name;
+        this.type = TestBeanDefinition.class;
+        this.dependencies = new HashMap<>();
+        for (String dependencyName : dependencyNames) {
+            dependencies.put(dependencyName, new BeanDependency(dependencyName, TestBeanDefinition.class));
+        }
+    }
+
+    TestBeanDefinition onInstantiate(Consumer<TestBeanDefinition> instantiateAction) {
+        this.instantiateAction = instantiateAction;
+        return this;
+    }
+
+    @Override
+    public void instantiate(BeanDefinition... dependencies) {
+        receivedDependencies = List.of(dependencies);
+        dependenciesWereInstantiated = receivedDependencies.stream().allMatch(BeanDefinition::isInstantiated);
+        instantiateAction.accept(this);
+        instance = this;
+    }
+
+    @Override
+    public boolean isPrimary() {
+        return false;
+    }
+}
@@ -0,0 +1,133 @@
+package com.hoverla.bring.context.bean.instantiation;
+
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.DefaultApplicationContextImpl;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyNameResolver;
+import com.hoverla.bring.context.bean.initializer.BeanInitializer;
+import com.hoverla.bring.context.bean.scanner.BeanAnnotationScanner;
+import com.hoverla.bring.context.fixtures.autowired.success.TestService;
+import com.hoverla.bring.context.fixtures.instantiation.Car;
+import com.hoverla.bring.context.fixtures.instantiation.Engine;
+import com.hoverla.bring.context.fixtures.instantiation.Garage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class InstantiationStrategyTest {
+
+    static Stream<Arguments> strategies() {
+        return Stream.of(
+            Arguments.of("reflective", InstantiationStrategy.reflective()),
+            Arguments.of("method handles", InstantiationStrategy.methodHandles()),
+            Arguments.of("generated", InstantiationStrategy.generated()));
+    }
+
+    static Stream<Arguments> methodHandleStrategies() {
+        return strategies().skip(1);
+    }
+
+    @ParameterizedTest(name = "{0} strategy creates beans through constructors")
+    @MethodSource("strategies")
+    void createsBeansThroughConstructors(String name, InstantiationStrategy strategy) throws Exception {
+        Engine engine = (Engine) strategy.getInstantiator(Engine.class.getConstructor()).instantiate();
+        Car car = (Car) strategy.getInstantiator(Car.class.getConstructor(Engine.class, int.class))
+            .instantiate(engine, 3);
+
+        assertSame(engine, car.getEngine());
+        assertEquals(3, car.getDoors());
+    }
+
+    @ParameterizedTest(name = "{0} strategy creates beans of package-private classes")
+    @MethodSource("methodHandleStrategies")
+    void createsBeansOfPackagePrivateClasses(String name, InstantiationStrategy strategy) throws Exception {
+        Class<?> workshopClass = Class.forName("com.hoverla.bring.context.fixtures.instantiation.Workshop");
+        Engine engine = new Engine();
+
+        Object workshop = strategy.getInstantiator(workshopClass.getConstructor(Engine.class)).instantiate(engine);
+
+        assertSame(engine, strategy.getFieldAccessor(workshopClass.getDeclaredField("engine")).get(workshop));
+    }
+
+    @ParameterizedTest(name = "{0} strategy creates beans through configuration methods")
+    @MethodSource("strategies")
+    void createsBeansThroughMethods(String name, InstantiationStrategy strategy) throws Exception {
+        Garage garage = new Garage();
+        Engine engine = (Engine) strategy.getInstantiator(garage, Garage.class.getMethod("engine")).instantiate();
+
+        Car car = (Car) strategy.getInstantiator(garage, Garage.class.getMethod("car", Engine.class))
+            .instantiate(engine);
+
+        assertSame(engine, car.getEngine());
+        assertEquals(4, car.getDoors());
+    }
+
+    @ParameterizedTest(name = "{0} strategy reports the exception thrown by a configuration method")
+    @MethodSource("strategies")
+    void reportsMethodException(String name, InstantiationStrategy strategy) throws Exception {
+        Instantiator instantiator = strategy.getInstantiator(new Garage(), Garage.class.getMethod("brokenEngine"));
+
+        Exception exception = assertThrows(Exception.class, instantiator::instantiate);
+
+        Throwable cause = exception instanceof InvocationTargetException ? exception.getCause() : exception;
+        assertInstanceOf(IllegalStateException.class, cause);
+        assertEquals("Engine is broken", cause.getMessage());
+    }
+
+    @ParameterizedTest(name = "{0} strategy reads and writes private fields")
+    @MethodSource("strategies")
+    void accessesPrivateFields(String name, InstantiationStrategy strategy) throws Exception {
+        Engine engine = new Engine();
+        Car car = new Car(engine, 2);
+        FieldAccessor spareEngine = strategy.getFieldAccessor(Car.class.getDeclaredField("spareEngine"));
+
+        spareEngine.set(car, engine);
+
+        assertSame(engine, car.getSpareEngine());
+        assertSame(engine, spareEngine.get(car));
+        assertSame(engine, strategy.getFieldAccessor(Car.class.getDeclaredField("engine")).get(car));
+    }
+
+    @Test
+    @DisplayName("Generated strategy uses method handles only for members a generated factory can't call")
+    void generatesFactoriesForPublicMembers() throws Exception {
+        MethodHandleInstantiationStrategy methodHandles = spy(new MethodHandleInstantiationStrategy());
+        var strategy = new GeneratedInstantiationStrategy(methodHandles);
+        Class<?> workshopClass = Class.forName("com.hoverla.bring.context.fixtures.instantiation.Workshop");
+        Garage garage = new Garage();
+
+        strategy.getInstantiator(Car.class.getConstructor(Engine.class, int.class)).instantiate(new Engine(), 4);
+        strategy.getInstantiator(garage, Garage.class.getMethod("car", Engine.class)).instantiate(new Engine());
+        verifyNoInteractions(methodHandles);
+
+        strategy.getInstantiator(workshopClass.getConstructor(Engine.class)).instantiate(new Engine());
+        strategy.getInstantiator(garage, Garage.class.getMethod("engine")).instantiate();
+        verify(methodHandles).getInstantiator(workshopClass.getConstructor(Engine.class));
+        verify(methodHandles).getInstantiator(garage, Garage.class.getMethod("engine"));
+    }
+
+    @ParameterizedTest(name = "{0} strategy creates and autowires beans of the context")
+    @MethodSource("strategies")
+    void createsContext(String name, InstantiationStrategy strategy) {
+        ApplicationContext context = new DefaultApplicationContextImpl(
+            List.of(new BeanAnnotationScanner(new BeanDefinitionMapper(strategy),
+                "com.hoverla.bring.context.fixtures.autowired.success")),
+            new BeanInitializer(new BeanDependencyNameResolver()));
+
+        assertEquals("A,B,C", context.getBean(TestService.class).getLetters());
+    }
+}
@@ -0,0 +1,80 @@
+package com.hoverla.bring.context.bean.postprocessor;
+
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.fixtures.postprocessor.RecordingBeanPostProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeanPostProcessorRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Registry with defaults contains built-in post-processors")
+    void containsBuiltInPostProcessors() {
+        assertThat(BeanPostProcessorRegistry.withDefaults().getPostProcessors())
+            .extracting(Object::getClass)
+            .containsExactly(SetterAutowiringBeanPostProcessor.class, ValueAnnotationBeanPostProcessor.class);
+    }
+
+    @Test
+    @DisplayName("Post-processors are sorted by order, post-processors with the same order keep registration order")
+    void sortsPostProcessorsByOrder() {
+        BeanPostProcessor first = new OrderedBeanPostProcessor(-300);
+        BeanPostProcessor second = new OrderedBeanPostProcessor(0);
+        BeanPostProcessor third = new OrderedBeanPostProcessor(0);
+
+        var registry = BeanPostProcessorRegistry.withDefaults()
+            .register(second)
+            .register(third)
+            .register(first);
+
+        assertThat(registry.getPostProcessors())
+            .element(0).isSameAs(first);
+        assertThat(registry.getPostProcessors())
+            .endsWith(second, third);
+    }
+
+    @Test
+    @DisplayName("Post-processors are discovered through ServiceLoader")
+    void registersServiceProviders() throws IOException {
+        Path servicesFile = tempDir.resolve("META-INF/services/" + BeanPostProcessor.class.getName());
+        Files.createDirectories(servicesFile.getParent());
+        Files.writeString(servicesFile, RecordingBeanPostProcessor.class.getName() + "\n");
+
+        try (var classLoader = new URLClassLoader(new URL[]{tempDir.toUri().toURL()}, getClass().getClassLoader())) {
+            var registry = new BeanPostProcessorRegistry().registerServiceProviders(classLoader);
+
+            assertThat(registry.getPostProcessors())
+                .singleElement()
+                .isInstanceOf(RecordingBeanPostProcessor.class);
+        }
+    }
+
+    private static class OrderedBeanPostProcessor implements BeanPostProcessor {
+        private final int order;
+
+        OrderedBeanPostProcessor(int order) {
+            this.order = order;
+        }
+
+        @Override
+        public void process(Object bean, ApplicationContext applicationContext) {
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hoverla.bring.context.bean.postprocessor;
+
+import com.hoverla.bring.context.fixtures.setter.success.Container;
+import com.hoverla.bring.context.fixtures.setter.success.MessageService;
+import com.hoverla.bring.context.fixtures.setter.success.NumberService;
+import com.hoverla.bring.context.fixtures.setter.success.ServiceWithPrivateSetter;
+import com.hoverla.bring.context.fixtures.value.success.BeanWithValueAnnotation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class InjectionMetadataTest {
+
+    @Test
+    @DisplayName("Metadata is computed once per class")
+    void cachesMetadataPerClass() {
+        assertSame(InjectionMetadata.forClass(Container.class), InjectionMetadata.forClass(Container.class));
+    }
+
+    @Test
+    @DisplayName("Autowired setters are found with their parameter types")
+    void findsAutowiredSetters() {
+        InjectionMetadata.SetterTarget[] setters = InjectionMetadata.forClass(Container.class).getSetters();
+
+        assertThat(setters).hasSize(1);
+        assertThat(setters[0].getParameterTypes()).containsExactly(MessageService.class, NumberService.class);
+        assertThat(InjectionMetadata.forClass(ServiceWithPrivateSetter.class).getSetters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Value fields are found with their property names and are set through the metadata")
+    void findsValueFields() {
+        InjectionMetadata.ValueTarget[] valueFields =
+            InjectionMetadata.forClass(BeanWithValueAnnotation.class).getValueFields();
+        var bean = new BeanWithValueAnnotation();
+
+        for (InjectionMetadata.ValueTarget field : valueFields) {
+            field.set(bean, field.getPropertyName());
+        }
+
+        assertThat(valueFields).extracting(InjectionMetadata.ValueTarget::getPropertyName)
+            .containsExactlyInAnyOrder("message", "value.message");
+        assertThat(bean.getMessage()).isEqualTo("message");
+        assertThat(bean.getValueMessage()).isEqualTo("value.message");
+        assertThat(InjectionMetadata.forClass(Container.class).getValueFields()).isEmpty();
+    }
+}
@@ -0,0 +1,118 @@
+package com.hoverla.bring.context.bean.scanner;
+
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
+import com.hoverla.bring.context.fixtures.bean.NotABean;
+import com.hoverla.bring.context.fixtures.bean.success.A;
+import com.hoverla.bring.context.fixtures.config.TestConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BytecodeBeanScannerTest {
+
+    private static final String BEAN_PACKAGE = "com.hoverla.bring.context.fixtures.bean";
+    private static final String CONFIG_PACKAGE = "com.hoverla.bring.context.fixtures.config";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Finds the same bean classes as the annotation scanner")
+    void scansSameClassesAsAnnotationScanner() {
+        var mapper = new BeanDefinitionMapper();
+        List<Class<?>> expectedTypes = new BeanAnnotationScanner(mapper, BEAN_PACKAGE).scan()
+            .stream()
+            .map(BeanDefinition::type)
+            .collect(toList());
+
+        var beanScanner = new BytecodeBeanScanner(mapper, getClass().getClassLoader(), BEAN_PACKAGE);
+
+        assertThat(beanScanner.scan()).extracting(BeanDefinition::type)
+            .containsExactlyInAnyOrderElementsOf(expectedTypes);
+    }
+
+    @Test
+    @DisplayName("Passes every bean definition to the consumer as it is created and returns them in the scan order")
+    void passesDiscoveredBeanDefinitions() {
+        var beanScanner = new BytecodeBeanScanner(new BeanDefinitionMapper(), getClass().getClassLoader(),
+            BEAN_PACKAGE);
+        List<BeanDefinition> discovered = new ArrayList<>();
+
+        List<BeanDefinition> beanDefinitions = beanScanner.scan(discovered::add);
+
+        assertThat(discovered).containsExactlyInAnyOrderElementsOf(beanDefinitions);
+        assertThat(beanDefinitions).extracting(BeanDefinition::type)
+            .containsExactlyElementsOf(beanScanner.scan().stream().map(BeanDefinition::type).collect(toList()));
+    }
+
+    @Test
+    @DisplayName("Loads only classes annotated with @Bean or @Configuration")
+    void loadsOnlyBeanClasses() throws IOException {
+        Set<String> requestedClasses = ConcurrentHashMap.newKeySet();
+        try (var classLoader = recordingClassLoader(new URL[0], getClass().getClassLoader(), requestedClasses)) {
+            new BytecodeBeanScanner(mock(BeanDefinitionMapper.class), classLoader, BEAN_PACKAGE, CONFIG_PACKAGE)
+                .scan();
+        }
+
+        assertThat(requestedClasses)
+            .contains(A.class.getName(), TestConfiguration.class.getName())
+            .doesNotContain(NotABean.class.getName());
+    }
+
+    @Test
+    @DisplayName("Reads class files from jars")
+    void scansJar() throws IOException, URISyntaxException {
+        Path classesRoot = Paths.get(A.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path jar = tempDir.resolve("beans.jar");
+        try (var output = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> classFiles = Files.walk(classesRoot.resolve(CONFIG_PACKAGE.replace('.', '/')))) {
+            for (Path file : (Iterable<Path>) classFiles::iterator) {
+                String entryName = classesRoot.relativize(file).toString().replace('\\', '/');
+                if (Files.isDirectory(file)) {
+                    output.putNextEntry(new JarEntry(entryName + "/"));
+                } else {
+                    output.putNextEntry(new JarEntry(entryName));
+                    Files.copy(file, output);
+                }
+                output.closeEntry();
+            }
+        }
+
+        Set<String> requestedClasses = ConcurrentHashMap.newKeySet();
+        try (var classLoader = recordingClassLoader(new URL[]{jar.toUri().toURL()}, null, requestedClasses)) {
+            new BytecodeBeanScanner(mock(BeanDefinitionMapper.class), classLoader, CONFIG_PACKAGE).scan();
+        }
+
+        assertThat(requestedClasses).contains(TestConfiguration.class.getName());
+    }
+
+    private static URLClassLoader recordingClassLoader(URL[] urls, ClassLoader parent, Set<String> requestedClasses) {
+        return new URLClassLoader(urls, parent) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                requestedClasses.add(name);
+                return super.loadClass(name, resolve);
+            }
+        };
+    }
+}
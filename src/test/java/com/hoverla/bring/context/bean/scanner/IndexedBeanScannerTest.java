@@ -0,0 +1,57 @@
+package com.hoverla.bring.context.bean.scanner;
+
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
+import com.hoverla.bring.context.bean.index.BeanIndex;
+import com.hoverla.bring.context.fixtures.bean.success.A;
+import com.hoverla.bring.context.fixtures.bean.success.B;
+import com.hoverla.bring.context.fixtures.config.TestConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class IndexedBeanScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Scans only indexed classes from the given packages")
+    void scansIndexedClasses() throws IOException {
+        Path indexFile = tempDir.resolve(BeanIndex.INDEX_LOCATION);
+        Files.createDirectories(indexFile.getParent());
+        Files.writeString(indexFile,
+            A.class.getName() + "=com.hoverla.bring.annotation.Bean\n" +
+            B.class.getName() + "=com.hoverla.bring.annotation.Bean\n" +
+            TestConfiguration.class.getName() + "=com.hoverla.bring.annotation.Configuration\n");
+
+        try (var classLoader = new URLClassLoader(new URL[]{tempDir.toUri().toURL()}, getClass().getClassLoader())) {
+            BeanIndex index = BeanIndex.load(classLoader).orElseThrow();
+
+            var beanScanner = new IndexedBeanScanner(new BeanDefinitionMapper(), index, classLoader,
+                "com.hoverla.bring.context.fixtures.bean");
+            List<BeanDefinition> beanDefinitions = beanScanner.scan();
+
+            assertThat(beanDefinitions).extracting(BeanDefinition::type).containsExactly(A.class, B.class);
+
+            BeanDefinitionMapper mapper = mock(BeanDefinitionMapper.class);
+            var configurationScanner = new IndexedBeanScanner(mapper, index, classLoader,
+                "com.hoverla.bring.context.fixtures.config");
+            assertThat(configurationScanner.scan()).hasSize(4);
+            verify(mapper, never()).mapToBeanDefinition(any(Class.class));
+        }
+    }
+}
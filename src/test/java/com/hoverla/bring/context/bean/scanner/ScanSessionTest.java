@@ -0,0 +1,149 @@
+package com.hoverla.bring.context.bean.scanner;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Configuration;
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
+import com.hoverla.bring.context.bean.postprocessor.BeanPostProcessor;
+import com.hoverla.bring.context.bean.postprocessor.SetterAutowiringBeanPostProcessor;
+import com.hoverla.bring.context.bean.postprocessor.ValueAnnotationBeanPostProcessor;
+import com.hoverla.bring.context.fixtures.bean.success.A;
+import com.hoverla.bring.context.fixtures.bean.success.B;
+import com.hoverla.bring.context.fixtures.bean.success.ChildServiceBeanOne;
+import com.hoverla.bring.context.fixtures.bean.success.ChildServiceBeanTwo;
+import com.hoverla.bring.context.fixtures.bean.success.TestBeanWithName;
+import com.hoverla.bring.context.fixtures.bean.success.TestBeanWithoutName;
+import com.hoverla.bring.context.fixtures.config.TestConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.FilterBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.hoverla.bring.common.StringConstants.BASE_BRING_PACKAGE;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScanSessionTest {
+
+    private static final String BEAN_PACKAGE = "com.hoverla.bring.context.fixtures.bean.success";
+    private static final String CONFIG_PACKAGE = "com.hoverla.bring.context.fixtures.config";
+
+    @Test
+    @DisplayName("One session answers queries of all scanners narrowed down to their packages")
+    void sharesStoreBetweenQueries() {
+        try (var scanSession = new ScanSession(BEAN_PACKAGE, CONFIG_PACKAGE, BASE_BRING_PACKAGE)) {
+            assertThat(scanSession.getTypesAnnotatedWith(Bean.class, BEAN_PACKAGE))
+                .containsExactly(A.class, B.class, ChildServiceBeanOne.class, ChildServiceBeanTwo.class,
+                    TestBeanWithName.class, TestBeanWithoutName.class);
+            assertThat(scanSession.getTypesAnnotatedWith(Configuration.class, CONFIG_PACKAGE))
+                .containsExactly(TestConfiguration.class);
+            assertThat(scanSession.getTypesAnnotatedWith(Configuration.class, BEAN_PACKAGE))
+                .isEmpty();
+            assertThat(scanSession.getSubTypesOf(BeanPostProcessor.class, BASE_BRING_PACKAGE))
+                .contains(SetterAutowiringBeanPostProcessor.class, ValueAnnotationBeanPostProcessor.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel session produces bean definitions in the same order as sequential one")
+    void parallelSessionKeepsOrder() {
+        List<Class<?>> sequentialTypes;
+        try (var scanSession = new ScanSession(BEAN_PACKAGE)) {
+            sequentialTypes = scanTypes(scanSession);
+        }
+        try (var scanSession = new ScanSession(4, BEAN_PACKAGE)) {
+            assertEquals(sequentialTypes, scanTypes(scanSession));
+        }
+    }
+
+    @Test
+    @DisplayName("Scan results are written to the cache and unchanged classpath entries are taken from it")
+    void cachesScanResults(@TempDir Path tempDir) {
+        Path cacheFile = tempDir.resolve("scan.cache");
+        List<Class<?>> scannedTypes;
+        try (var scanSession = new ScanSession(1, cacheFile, BEAN_PACKAGE)) {
+            scannedTypes = scanTypes(scanSession);
+        }
+        assertThat(cacheFile).exists();
+
+        ScanCache cache = ScanCache.read(cacheFile, BEAN_PACKAGE);
+        FilterBuilder inputsFilter = new FilterBuilder().includePackage(BEAN_PACKAGE);
+        assertThat(ClasspathHelper.forPackage(BEAN_PACKAGE))
+            .isNotEmpty()
+            .allMatch(url -> ClasspathEntryFingerprint.of(url, inputsFilter)
+                .flatMap(fingerprint -> cache.find(url.toExternalForm(), fingerprint))
+                .isPresent());
+
+        try (var scanSession = new ScanSession(1, cacheFile, BEAN_PACKAGE)) {
+            assertEquals(scannedTypes, scanTypes(scanSession));
+        }
+    }
+
+    @Test
+    @DisplayName("Cache written for other packages is ignored")
+    void ignoresCacheOfOtherPackages(@TempDir Path tempDir) {
+        Path cacheFile = tempDir.resolve("scan.cache");
+        try (var scanSession = new ScanSession(1, cacheFile, CONFIG_PACKAGE)) {
+            assertThat(scanSession.getTypesAnnotatedWith(Configuration.class, CONFIG_PACKAGE))
+                .containsExactly(TestConfiguration.class);
+        }
+
+        assertEquals(0, ScanCache.read(cacheFile, BEAN_PACKAGE).size());
+        try (var scanSession = new ScanSession(1, cacheFile, BEAN_PACKAGE)) {
+            assertThat(scanSession.getTypesAnnotatedWith(Configuration.class, BEAN_PACKAGE)).isEmpty();
+            assertThat(scanSession.getTypesAnnotatedWith(Bean.class, BEAN_PACKAGE)).contains(A.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Corrupted cache is ignored and rewritten")
+    void rewritesCorruptedCache(@TempDir Path tempDir) throws IOException {
+        Path cacheFile = tempDir.resolve("scan.cache");
+        List<Class<?>> scannedTypes;
+        try (var scanSession = new ScanSession(1, cacheFile, BEAN_PACKAGE)) {
+            scannedTypes = scanTypes(scanSession);
+        }
+        byte[] content = Files.readAllBytes(cacheFile);
+        int entryCountPosition = 3 * Integer.BYTES + BEAN_PACKAGE.length();
+        ByteBuffer.wrap(content).putInt(entryCountPosition, -1);
+        Files.write(cacheFile, content);
+
+        assertEquals(0, ScanCache.read(cacheFile, BEAN_PACKAGE).size());
+        try (var scanSession = new ScanSession(1, cacheFile, BEAN_PACKAGE)) {
+            assertEquals(scannedTypes, scanTypes(scanSession));
+        }
+        assertThat(ScanCache.read(cacheFile, BEAN_PACKAGE).size()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Parallelism must be positive")
+    void invalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new ScanSession(0, BEAN_PACKAGE));
+    }
+
+    @Test
+    @DisplayName("Closed session can't be queried")
+    void closedSessionThrowsException() {
+        var scanSession = new ScanSession(BEAN_PACKAGE);
+        scanSession.close();
+
+        assertThrows(IllegalStateException.class, () -> scanSession.getTypesAnnotatedWith(Bean.class, BEAN_PACKAGE));
+    }
+
+    private List<Class<?>> scanTypes(ScanSession scanSession) {
+        return new BeanAnnotationScanner(new BeanDefinitionMapper(), scanSession, BEAN_PACKAGE)
+            .scan()
+            .stream()
+            .map(BeanDefinition::type)
+            .collect(toList());
+    }
+}
@@ -0,0 +1,137 @@
+package com.hoverla.bring.context.bean.snapshot;
+
+import com.hoverla.bring.BringApplication;
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.StartupListener;
+import com.hoverla.bring.context.StartupPhase;
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.BeanDefinitionMapper;
+import com.hoverla.bring.context.bean.dependency.BeanDependency;
+import com.hoverla.bring.context.bean.dependency.BeanDependencyResolutionPlan;
+import com.hoverla.bring.context.fixtures.prototype.Session;
+import com.hoverla.bring.context.fixtures.prototype.SessionRegistry;
+import com.hoverla.bring.context.fixtures.prototype.SessionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WiringPlanSnapshotTest {
+
+    private static final String PROTOTYPE_PACKAGE = "com.hoverla.bring.context.fixtures.prototype";
+    private static final String BEAN_PACKAGE = "com.hoverla.bring.context.fixtures.bean.success";
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+    private final BeanDefinitionMapper mapper = new BeanDefinitionMapper();
+
+    @Test
+    @DisplayName("The first start writes the snapshot, the next one creates the beans from it without scanning")
+    void restoresContextFromSnapshot(@TempDir Path directory) {
+        Path file = directory.resolve("wiring-plan.bin");
+        List<StartupPhase> phases = new ArrayList<>();
+
+        loadContext(file);
+        Optional<BeanDependencyResolutionPlan> restored = restore(file, PROTOTYPE_PACKAGE);
+        ApplicationContext context = BringApplication.getContextBuilder()
+            .packagesToScan(PROTOTYPE_PACKAGE)
+            .wiringPlanSnapshot(file)
+            .startupListener(new StartupListener() {
+                @Override
+                public void onPhaseStarted(StartupPhase phase) {
+                    phases.add(phase);
+                }
+            })
+            .build();
+
+        assertTrue(restored.isPresent());
+        assertThat(restored.get().getProblems()).isEmpty();
+        Collection<BeanDefinition> beanDefinitions = restored.get().getContainer().getBeanDefinitions();
+        assertThat(beanDefinitions.stream().map(BeanDefinition::name).collect(toList()))
+            .containsExactlyInAnyOrder(SessionRegistry.class.getName(), Session.class.getName(),
+                SessionService.class.getName(), "sessionLog");
+        BeanDefinition sessionService = getBeanDefinition(beanDefinitions, SessionService.class);
+        assertThat(sessionService.dependencies().values().stream().map(BeanDependency::getName).collect(toList()))
+            .containsExactly(Session.class.getName());
+        assertThat(restored.get().getDependencies(sessionService))
+            .containsExactly(getBeanDefinition(beanDefinitions, Session.class));
+        assertThat(phases).doesNotContain(StartupPhase.SCANNING);
+        Session session = context.getBean(SessionService.class).getSession();
+        assertSame(context.getBean(SessionRegistry.class), session.getRegistry());
+        assertThat(context.getBean("sessionLog", StringBuilder.class)).startsWith("sessions: ");
+    }
+
+    @Test
+    @DisplayName("Snapshot of other packages is ignored")
+    void ignoresSnapshotOfOtherPackages(@TempDir Path directory) {
+        Path file = directory.resolve("wiring-plan.bin");
+
+        loadContext(file);
+
+        assertTrue(restore(file, BEAN_PACKAGE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Corrupted snapshot is ignored and rewritten")
+    void rewritesCorruptedSnapshot(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("wiring-plan.bin");
+        Files.write(file, new byte[]{0x42, 0x52, 0x57});
+
+        ApplicationContext context = loadContext(file);
+
+        assertThat(context.getBean(SessionService.class).getSession()).isNotNull();
+        assertTrue(restore(file, PROTOTYPE_PACKAGE).isPresent());
+    }
+
+    @Test
+    @DisplayName("Snapshot with a corrupted bean count is ignored and rewritten without leaving temporary files")
+    void rewritesSnapshotWithCorruptedCount(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("wiring-plan.bin");
+        loadContext(file);
+        byte[] content = Files.readAllBytes(file);
+        int beanCountPosition = 3 * Integer.BYTES + PROTOTYPE_PACKAGE.length() + Long.BYTES;
+        ByteBuffer.wrap(content).putInt(beanCountPosition, -1);
+        Files.write(file, content);
+
+        assertTrue(restore(file, PROTOTYPE_PACKAGE).isEmpty());
+        ApplicationContext context = loadContext(file);
+
+        assertThat(context.getBean(SessionService.class).getSession()).isNotNull();
+        assertTrue(restore(file, PROTOTYPE_PACKAGE).isPresent());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    private ApplicationContext loadContext(Path file) {
+        return BringApplication.getContextBuilder()
+            .packagesToScan(PROTOTYPE_PACKAGE)
+            .wiringPlanSnapshot(file)
+            .build();
+    }
+
+    private BeanDefinition getBeanDefinition(Collection<BeanDefinition> beanDefinitions, Class<?> type) {
+        return beanDefinitions.stream()
+            .filter(beanDefinition -> beanDefinition.type() == type)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private Optional<BeanDependencyResolutionPlan> restore(Path file, String packageToScan) {
+        long fingerprint = WiringPlanSnapshot.fingerprint(classLoader, packageToScan).orElseThrow();
+        return WiringPlanSnapshot.restore(file, fingerprint, mapper, classLoader, packageToScan);
+    }
+}
@@ -0,0 +1,14 @@
+package com.hoverla.bring.context.fixtures.background;
+
+import com.hoverla.bring.annotation.Autowired;
+import com.hoverla.bring.annotation.Bean;
+
+@Bean
+public class CacheClient {
+    @Autowired
+    private CacheWarmer cacheWarmer;
+
+    public String read() {
+        return cacheWarmer.getCached();
+    }
+}
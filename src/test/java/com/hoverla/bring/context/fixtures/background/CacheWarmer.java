@@ -0,0 +1,20 @@
+package com.hoverla.bring.context.fixtures.background;
+
+import com.hoverla.bring.annotation.Background;
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Value;
+
+@Bean
+@Background
+public class CacheWarmer {
+    @Value
+    private String message;
+
+    public CacheWarmer(WarmupGate gate) {
+        gate.awaitOpened();
+    }
+
+    public String getCached() {
+        return message;
+    }
+}
@@ -0,0 +1,30 @@
+package com.hoverla.bring.context.fixtures.background;
+
+import com.hoverla.bring.annotation.Bean;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Bean
+public class WarmupGate {
+    private final CountDownLatch opened = new CountDownLatch(1);
+    private final AtomicInteger warmups = new AtomicInteger();
+
+    public void open() {
+        opened.countDown();
+    }
+
+    public void awaitOpened() {
+        try {
+            opened.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        warmups.incrementAndGet();
+    }
+
+    public int getWarmups() {
+        return warmups.get();
+    }
+}
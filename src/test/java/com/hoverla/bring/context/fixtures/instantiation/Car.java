@@ -0,0 +1,24 @@
+package com.hoverla.bring.context.fixtures.instantiation;
+
+public class Car {
+    private final Engine engine;
+    private final int doors;
+    private Engine spareEngine;
+
+    public Car(Engine engine, int doors) {
+        this.engine = engine;
+        this.doors = doors;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public int getDoors() {
+        return doors;
+    }
+
+    public Engine getSpareEngine() {
+        return spareEngine;
+    }
+}
@@ -0,0 +1,4 @@
+package com.hoverla.bring.context.fixtures.instantiation;
+
+public class Engine {
+}
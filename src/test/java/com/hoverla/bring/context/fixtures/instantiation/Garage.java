@@ -0,0 +1,16 @@
+package com.hoverla.bring.context.fixtures.instantiation;
+
+public class Garage {
+
+    public Car car(Engine engine) {
+        return new Car(engine, 4);
+    }
+
+    public static Engine engine() {
+        return new Engine();
+    }
+
+    public Engine brokenEngine() {
+        throw new IllegalStateException("Engine is broken");
+    }
+}
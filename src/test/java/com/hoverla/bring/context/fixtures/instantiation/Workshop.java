@@ -0,0 +1,13 @@
+package com.hoverla.bring.context.fixtures.instantiation;
+
+class Workshop {
+    private final Engine engine;
+
+    public Workshop(Engine engine) {
+        this.engine = engine;
+    }
+
+    Engine getEngine() {
+        return engine;
+    }
+}
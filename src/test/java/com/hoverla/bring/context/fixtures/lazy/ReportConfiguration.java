@@ -0,0 +1,18 @@
+package com.hoverla.bring.context.fixtures.lazy;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Configuration;
+import com.hoverla.bring.annotation.Lazy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class ReportConfiguration {
+    @Bean
+    @Lazy
+    public List<String> reportArchive(ReportCounter counter) {
+        counter.register();
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,16 @@
+package com.hoverla.bring.context.fixtures.lazy;
+
+import com.hoverla.bring.annotation.Autowired;
+import com.hoverla.bring.annotation.Bean;
+import lombok.Getter;
+
+@Getter
+@Bean
+public class ReportController {
+    @Autowired
+    private ReportService reportService;
+
+    public String report() {
+        return reportService.render();
+    }
+}
@@ -0,0 +1,18 @@
+package com.hoverla.bring.context.fixtures.lazy;
+
+import com.hoverla.bring.annotation.Bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Bean
+public class ReportCounter {
+    private final AtomicInteger createdReports = new AtomicInteger();
+
+    public void register() {
+        createdReports.incrementAndGet();
+    }
+
+    public int getCreatedReports() {
+        return createdReports.get();
+    }
+}
@@ -0,0 +1,20 @@
+package com.hoverla.bring.context.fixtures.lazy;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Lazy;
+import com.hoverla.bring.annotation.Value;
+
+@Bean
+@Lazy
+public class ReportService {
+    @Value
+    private String message;
+
+    public ReportService(ReportCounter counter) {
+        counter.register();
+    }
+
+    public String render() {
+        return "Report: " + message;
+    }
+}
@@ -0,0 +1,21 @@
+package com.hoverla.bring.context.fixtures.postprocessor;
+
+import com.hoverla.bring.context.fixtures.postprocessor.audit.PaymentService;
+
+public class AuditedPaymentService extends PaymentService {
+    private final PaymentService target;
+
+    public AuditedPaymentService(PaymentService target) {
+        this.target = target;
+    }
+
+    @Override
+    public String pay() {
+        return "audited " + target.pay();
+    }
+
+    @Override
+    public String receipt() {
+        return target.receipt();
+    }
+}
@@ -0,0 +1,20 @@
+package com.hoverla.bring.context.fixtures.postprocessor;
+
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.bean.postprocessor.BeanPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecordingBeanPostProcessor implements BeanPostProcessor {
+    private final List<Object> processedBeans = new ArrayList<>();
+
+    @Override
+    public void process(Object bean, ApplicationContext applicationContext) {
+        processedBeans.add(bean);
+    }
+
+    public List<Object> getProcessedBeans() {
+        return processedBeans;
+    }
+}
@@ -0,0 +1,36 @@
+package com.hoverla.bring.context.fixtures.postprocessor.audit;
+
+import com.hoverla.bring.context.ApplicationContext;
+import com.hoverla.bring.context.bean.postprocessor.BeanPostProcessor;
+import com.hoverla.bring.context.fixtures.postprocessor.AuditedPaymentService;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Getter
+public class AuditingBeanPostProcessor implements BeanPostProcessor {
+    private final List<Class<?>> supportedClasses = new CopyOnWriteArrayList<>();
+    private final List<Object> createdBeans = new CopyOnWriteArrayList<>();
+    private final List<Object> processedBeans = new CopyOnWriteArrayList<>();
+
+    @Override
+    public boolean supports(Class<?> beanClass) {
+        boolean audited = beanClass.isAnnotationPresent(Audited.class);
+        if (audited) {
+            supportedClasses.add(beanClass);
+        }
+        return audited;
+    }
+
+    @Override
+    public Object processBeforeInitialization(Object bean, String beanName) {
+        createdBeans.add(bean);
+        return new AuditedPaymentService((PaymentService) bean);
+    }
+
+    @Override
+    public void process(Object bean, ApplicationContext applicationContext) {
+        processedBeans.add(bean);
+    }
+}
@@ -0,0 +1,14 @@
+package com.hoverla.bring.context.fixtures.postprocessor.audit;
+
+import com.hoverla.bring.annotation.Bean;
+import lombok.Getter;
+
+@Getter
+@Bean
+public class CheckoutService {
+    private final PaymentService paymentService;
+
+    public CheckoutService(PaymentService paymentService) {
+        this.paymentService = paymentService;
+    }
+}
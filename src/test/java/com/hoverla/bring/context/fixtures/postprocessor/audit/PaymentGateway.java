@@ -0,0 +1,10 @@
+package com.hoverla.bring.context.fixtures.postprocessor.audit;
+
+import com.hoverla.bring.annotation.Bean;
+
+@Bean
+public class PaymentGateway {
+    public String getName() {
+        return "card gateway";
+    }
+}
@@ -0,0 +1,27 @@
+package com.hoverla.bring.context.fixtures.postprocessor.audit;
+
+import com.hoverla.bring.annotation.Autowired;
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Value;
+
+@Bean
+@Audited
+public class PaymentService {
+    @Value("message")
+    private String receiptMessage;
+
+    private PaymentGateway gateway;
+
+    @Autowired
+    public void setGateway(PaymentGateway gateway) {
+        this.gateway = gateway;
+    }
+
+    public String pay() {
+        return "paid";
+    }
+
+    public String receipt() {
+        return receiptMessage + " via " + gateway.getName();
+    }
+}
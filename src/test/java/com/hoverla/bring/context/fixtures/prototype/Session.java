@@ -0,0 +1,22 @@
+package com.hoverla.bring.context.fixtures.prototype;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Prototype;
+import com.hoverla.bring.annotation.Value;
+import lombok.Getter;
+
+@Getter
+@Bean
+@Prototype
+public class Session {
+    private final SessionRegistry registry;
+    private final int id;
+
+    @Value
+    private String message;
+
+    public Session(SessionRegistry registry) {
+        this.registry = registry;
+        this.id = registry.register();
+    }
+}
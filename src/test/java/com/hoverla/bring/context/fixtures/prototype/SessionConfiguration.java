@@ -0,0 +1,14 @@
+package com.hoverla.bring.context.fixtures.prototype;
+
+import com.hoverla.bring.annotation.Bean;
+import com.hoverla.bring.annotation.Configuration;
+import com.hoverla.bring.annotation.Prototype;
+
+@Configuration
+public class SessionConfiguration {
+    @Bean
+    @Prototype
+    public StringBuilder sessionLog(SessionRegistry registry) {
+        return new StringBuilder("sessions: ").append(registry.getCreatedSessions());
+    }
+}
@@ -0,0 +1,18 @@
+package com.hoverla.bring.context.fixtures.prototype;
+
+import com.hoverla.bring.annotation.Bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Bean
+public class SessionRegistry {
+    private final AtomicInteger createdSessions = new AtomicInteger();
+
+    public int register() {
+        return createdSessions.incrementAndGet();
+    }
+
+    public int getCreatedSessions() {
+        return createdSessions.get();
+    }
+}
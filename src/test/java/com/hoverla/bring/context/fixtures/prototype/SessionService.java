@@ -0,0 +1,12 @@
+package com.hoverla.bring.context.fixtures.prototype;
+
+import com.hoverla.bring.annotation.Autowired;
+import com.hoverla.bring.annotation.Bean;
+import lombok.Getter;
+
+@Getter
+@Bean
+public class SessionService {
+    @Autowired
+    private Session session;
+}
@@ -0,0 +1,14 @@
+package com.hoverla.bring.context.fixtures.validation;
+
+import com.hoverla.bring.annotation.Bean;
+
+@Bean
+public class AlertService {
+    private final Notifier notifier;
+    private final AuditLog auditLog;
+
+    public AlertService(Notifier notifier, AuditLog auditLog) {
+        this.notifier = notifier;
+        this.auditLog = auditLog;
+    }
+}
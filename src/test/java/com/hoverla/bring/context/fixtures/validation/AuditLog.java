@@ -0,0 +1,4 @@
+package com.hoverla.bring.context.fixtures.validation;
+
+public class AuditLog {
+}
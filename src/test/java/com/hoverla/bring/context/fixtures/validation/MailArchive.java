@@ -0,0 +1,7 @@
+package com.hoverla.bring.context.fixtures.validation;
+
+import com.hoverla.bring.annotation.Bean;
+
+@Bean("archive")
+public class MailArchive {
+}
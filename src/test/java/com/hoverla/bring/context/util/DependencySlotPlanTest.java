@@ -0,0 +1,98 @@
+package com.hoverla.bring.context.util;
+
+import com.hoverla.bring.context.bean.definition.BeanDefinition;
+import com.hoverla.bring.context.bean.definition.InstanceBeanDefinition;
+import com.hoverla.bring.exception.BeanDependencyInjectionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DependencySlotPlanTest {
+    private final StringBuilder builder = new StringBuilder("builder");
+    private final BeanDefinition builderDefinition = getDefinition("builder", builder);
+    private final BeanDefinition stringDefinition = getDefinition("string", "string");
+    private final BeanDefinition numberDefinition = getDefinition("number", 42);
+
+    @Test
+    @DisplayName("Dependencies in any order are matched to the parameters of exactly their types first")
+    void matchesExactTypesFirst() {
+        Class<?>[] parameterTypes = {Number.class, CharSequence.class, String.class};
+
+        for (BeanDefinition[] dependencies : new BeanDefinition[][]{
+            {stringDefinition, builderDefinition, numberDefinition},
+            {numberDefinition, builderDefinition, stringDefinition},
+            {builderDefinition, stringDefinition, numberDefinition}}) {
+            var plan = DependencySlotPlan.create(dependencies, parameterTypes, new Class<?>[0], "bean");
+
+            assertArrayEquals(new Object[]{42, builder, "string"}, plan.getArguments());
+        }
+    }
+
+    @Test
+    @DisplayName("Parameters of a common supertype take the dependencies at their positions")
+    void bindsCommonSupertypesByPosition() {
+        BeanDefinition[] dependencies = {stringDefinition, builderDefinition, numberDefinition};
+        Class<?>[] parameterTypes = {Number.class, CharSequence.class, Comparable.class};
+
+        var plan = DependencySlotPlan.create(dependencies, parameterTypes, new Class<?>[0], "bean");
+
+        assertArrayEquals(new Object[]{42, builder, "string"}, plan.getArguments());
+    }
+
+    @Test
+    @DisplayName("Fields take the dependencies left after the parameters, a field without one is left empty")
+    void bindsFields() {
+        BeanDefinition[] dependencies = {builderDefinition, stringDefinition};
+
+        var plan = DependencySlotPlan.create(dependencies, new Class<?>[]{CharSequence.class},
+            new Class<?>[]{String.class, Integer.class}, "bean");
+
+        assertArrayEquals(new Object[]{builder}, plan.getArguments());
+        assertSame("string", plan.getFieldValue(0));
+        assertNull(plan.getFieldValue(1));
+    }
+
+    @Test
+    @DisplayName("Arguments are created once unless a dependency is a prototype")
+    void sharesArgumentsOfSingletons() {
+        Class<?>[] parameterTypes = {String.class};
+
+        var singletonPlan = DependencySlotPlan.create(new BeanDefinition[]{stringDefinition}, parameterTypes,
+            new Class<?>[0], "bean");
+        var prototypePlan = DependencySlotPlan.create(new BeanDefinition[]{getPrototypeDefinition("prototype")},
+            parameterTypes, new Class<?>[0], "bean");
+
+        assertSame(singletonPlan.getArguments(), singletonPlan.getArguments());
+        assertNotSame(prototypePlan.getArguments(), prototypePlan.getArguments());
+    }
+
+    @Test
+    @DisplayName("BeanDependencyInjectionException is thrown when no dependency matches a parameter")
+    void throwsWhenParameterHasNoDependency() {
+        BeanDefinition[] dependencies = {stringDefinition, builderDefinition};
+        Class<?>[] parameterTypes = {String.class, Integer.class};
+
+        assertThrows(BeanDependencyInjectionException.class,
+            () -> DependencySlotPlan.create(dependencies, parameterTypes, new Class<?>[0], "bean"));
+    }
+
+    private BeanDefinition getDefinition(String name, Object instance) {
+        return new InstanceBeanDefinition(name, instance.getClass(), false, instance);
+    }
+
+    private BeanDefinition getPrototypeDefinition(String instance) {
+        BeanDefinition beanDefinition = mock(BeanDefinition.class);
+        doReturn(String.class).when(beanDefinition).type();
+        when(beanDefinition.isPrototype()).thenReturn(true);
+        when(beanDefinition.getInstance()).thenReturn(instance);
+        return beanDefinition;
+    }
+}